@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
+import { UserSummary } from './user.service';
 
 /* ===== DTO (Data Transfer Objects) ===== */
 export interface CommentResponse {
@@ -13,6 +14,7 @@ export interface CommentResponse {
     createdAt: string;
     updatedAt: string;
     deleted: boolean;
+    author?: UserSummary | null;
 }
 
 export interface SliceResponse<T> {
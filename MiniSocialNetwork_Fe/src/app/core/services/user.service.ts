@@ -13,6 +13,14 @@ export interface UserProfile {
     updatedAt: string;
 }
 
+/** Compact author info embedded in post/comment responses */
+export interface UserSummary {
+    id: string;
+    username: string;
+    name: string;
+    avatarUrl: string | null;
+}
+
 export interface UpdateProfileRequest {
     name?: string;
     bio?: string;
@@ -40,6 +48,15 @@ export class UserService {
         return this.http.put<UserProfile>(`${this.apiUrl}/me`, request);
     }
 
+    /**
+     * Upload avatar for current user (multipart)
+     */
+    uploadAvatar(file: File): Observable<UserProfile> {
+        const formData = new FormData();
+        formData.append('file', file);
+        return this.http.post<UserProfile>(`${this.apiUrl}/me/avatar`, formData);
+    }
+
     getUserById(userId: string): Observable<UserProfile> {
         return this.http.get<UserProfile>(`${this.apiUrl}/${userId}`);
     }
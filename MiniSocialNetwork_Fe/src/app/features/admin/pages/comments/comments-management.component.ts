@@ -15,23 +15,30 @@ export class CommentsManagementComponent implements OnInit {
   items: CommentAdmin[] = [];
   filteredItems: CommentAdmin[] = [];
   searchTerm = '';
+  nextCursor: string | null = null;
   loading = false;
 
   ngOnInit(): void { this.load(); }
 
   load(): void {
     this.loading = true;
-    this.adminService.getAllComments().subscribe({
-      next: (data) => { this.items = data; this.filteredItems = data; this.loading = false; },
+    this.adminService.getComments({ q: this.searchTerm }).subscribe({
+      next: (page) => { this.items = page.content; this.filteredItems = this.items; this.nextCursor = page.nextCursor; this.loading = false; },
       error: (err) => { console.error('Failed to load:', err); this.loading = false; }
     });
   }
 
-  filter(): void {
-    const term = this.searchTerm.toLowerCase();
-    this.filteredItems = this.items.filter(i => i.content?.toLowerCase().includes(term) || i.userUsername?.toLowerCase().includes(term));
+  loadMore(): void {
+    if (!this.nextCursor) return;
+    this.adminService.getComments({ q: this.searchTerm, cursor: this.nextCursor }).subscribe({
+      next: (page) => { this.items = [...this.items, ...page.content]; this.filteredItems = this.items; this.nextCursor = page.nextCursor; },
+      error: (err) => console.error('Failed to load more:', err)
+    });
   }
 
+  // Lọc server-side theo tiền tố nội dung
+  filter(): void { this.load(); }
+
   delete(item: CommentAdmin): void {
     if (confirm('Are you sure you want to delete this comment?')) {
       this.adminService.deleteComment(item.id).subscribe({ next: () => this.load(), error: (err) => console.error('Failed to delete:', err) });
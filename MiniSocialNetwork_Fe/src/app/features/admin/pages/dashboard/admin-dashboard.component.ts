@@ -2,7 +2,9 @@ import { Component, inject, OnInit, AfterViewInit, ElementRef, ViewChild, OnDest
 import { CommonModule, isPlatformBrowser } from '@angular/common';
 import { RouterModule } from '@angular/router';
 import { FormsModule } from '@angular/forms';
-import { AdminService, AdminDashboard, PostStatistics } from '../../services/admin.service';
+import { Subscription } from 'rxjs';
+import { AdminService, AdminDashboard, PostStatistics, RealtimeMetrics } from '../../services/admin.service';
+import { AdminMetricsSocketService } from '../../services/admin-metrics-socket.service';
 import { Chart, registerables } from 'chart.js';
 
 // Register all Chart.js components
@@ -19,11 +21,14 @@ export class AdminDashboardComponent implements OnInit, AfterViewInit, OnDestroy
   @ViewChild('chartCanvas') chartCanvas!: ElementRef<HTMLCanvasElement>;
 
   private adminService = inject(AdminService);
+  private metricsSocket = inject(AdminMetricsSocketService);
+  private metricsSubscription?: Subscription;
   private platformId = inject(PLATFORM_ID);
   private chart: Chart | null = null;
 
   dashboard: AdminDashboard | null = null;
   statistics: PostStatistics | null = null;
+  realtime: RealtimeMetrics | null = null;
   loading = false;
   error = '';
   chartLoading = false;
@@ -43,6 +48,9 @@ export class AdminDashboardComponent implements OnInit, AfterViewInit, OnDestroy
   ngOnInit(): void {
     this.isBrowser = isPlatformBrowser(this.platformId);
     this.loadDashboard();
+    if (this.isBrowser) {
+      this.startRealtimeMetrics();
+    }
   }
 
   ngAfterViewInit(): void {
@@ -58,6 +66,17 @@ export class AdminDashboardComponent implements OnInit, AfterViewInit, OnDestroy
     if (this.chart) {
       this.chart.destroy();
     }
+    this.metricsSubscription?.unsubscribe();
+    this.metricsSocket.disconnect();
+  }
+
+  private startRealtimeMetrics(): void {
+    this.adminService.getRealtimeMetrics().subscribe({
+      next: (data) => this.realtime = data,
+      error: (err) => console.error('Failed to load realtime metrics:', err)
+    });
+    this.metricsSubscription = this.metricsSocket.metrics$.subscribe(data => this.realtime = data);
+    this.metricsSocket.connect();
   }
 
   loadDashboard(): void {
@@ -16,6 +16,7 @@ export class PostsManagementComponent implements OnInit {
   posts: PostAdmin[] = [];
   filteredPosts: PostAdmin[] = [];
   searchTerm = '';
+  nextCursor: string | null = null;
   loading = false;
 
   ngOnInit(): void {
@@ -24,17 +25,29 @@ export class PostsManagementComponent implements OnInit {
 
   loadPosts(): void {
     this.loading = true;
-    this.adminService.getAllPosts().subscribe({
-      next: (data) => { this.posts = data; this.filteredPosts = data; this.loading = false; },
+    this.adminService.getPosts({ q: this.searchTerm }).subscribe({
+      next: (page) => {
+        this.posts = page.content; this.filteredPosts = this.posts;
+        this.nextCursor = page.nextCursor; this.loading = false;
+      },
       error: (err) => { console.error('Failed to load posts:', err); this.loading = false; }
     });
   }
 
+  loadMore(): void {
+    if (!this.nextCursor) return;
+    this.adminService.getPosts({ q: this.searchTerm, cursor: this.nextCursor }).subscribe({
+      next: (page) => {
+        this.posts = [...this.posts, ...page.content]; this.filteredPosts = this.posts;
+        this.nextCursor = page.nextCursor;
+      },
+      error: (err) => console.error('Failed to load more posts:', err)
+    });
+  }
+
+  // Lọc server-side theo tiền tố nội dung
   filterPosts(): void {
-    const term = this.searchTerm.toLowerCase();
-    this.filteredPosts = this.posts.filter(p =>
-      p.content?.toLowerCase().includes(term) || p.authorUsername?.toLowerCase().includes(term)
-    );
+    this.loadPosts();
   }
 
   deletePost(post: PostAdmin): void {
@@ -16,6 +16,7 @@ export class UsersManagementComponent implements OnInit {
   users: UserAdmin[] = [];
   filteredUsers: UserAdmin[] = [];
   searchTerm = '';
+  nextCursor: string | null = null;
   loading = false;
 
   ngOnInit(): void {
@@ -24,10 +25,11 @@ export class UsersManagementComponent implements OnInit {
 
   loadUsers(): void {
     this.loading = true;
-    this.adminService.getAllUsers().subscribe({
-      next: (data) => {
-        this.users = data;
-        this.filteredUsers = data;
+    this.adminService.getUsers({ q: this.searchTerm }).subscribe({
+      next: (page) => {
+        this.users = page.content;
+        this.filteredUsers = this.users;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (err) => {
@@ -37,13 +39,21 @@ export class UsersManagementComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (!this.nextCursor) return;
+    this.adminService.getUsers({ q: this.searchTerm, cursor: this.nextCursor }).subscribe({
+      next: (page) => {
+        this.users = [...this.users, ...page.content];
+        this.filteredUsers = this.users;
+        this.nextCursor = page.nextCursor;
+      },
+      error: (err) => console.error('Failed to load more users:', err)
+    });
+  }
+
+  // Lọc server-side theo tiền tố username / name / email
   filterUsers(): void {
-    const term = this.searchTerm.toLowerCase();
-    this.filteredUsers = this.users.filter(u =>
-      u.username?.toLowerCase().includes(term) ||
-      u.name?.toLowerCase().includes(term) ||
-      u.email?.toLowerCase().includes(term)
-    );
+    this.loadUsers();
   }
 
   toggleUserStatus(user: UserAdmin): void {
@@ -69,7 +79,7 @@ export class UsersManagementComponent implements OnInit {
     if (confirm(confirmMessage)) {
       this.adminService.deleteUser(user.id).subscribe({
         next: () => {
-          alert(`✅ Đã xóa vĩnh viễn người dùng "${user.username}" và tất cả nội dung liên quan!`);
+          alert(`✅ Đã bắt đầu xóa vĩnh viễn người dùng "${user.username}". Nội dung liên quan sẽ được xóa dần trong nền.`);
           this.loadUsers();
         },
         error: (err) => {
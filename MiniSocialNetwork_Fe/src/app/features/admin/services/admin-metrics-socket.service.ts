@@ -0,0 +1,93 @@
+import { Injectable, OnDestroy } from '@angular/core';
+import { Client, StompSubscription } from '@stomp/stompjs';
+import SockJS from 'sockjs-client';
+import { Subject } from 'rxjs';
+import { KeycloakApiService } from '../../auth/services/keycloak-api.service';
+import { environment } from '../../../../environments/environment';
+import { RealtimeMetrics } from './admin.service';
+
+/**
+ * Service quản lý WebSocket connection cho metrics realtime của Admin Dashboard.
+ * Subscribe vào channel /topic/admin/metrics (chỉ admin) để nhận snapshot mỗi giây.
+ */
+@Injectable({
+    providedIn: 'root'
+})
+export class AdminMetricsSocketService implements OnDestroy {
+    private stompClient?: Client;
+    private subscription?: StompSubscription;
+    private isConnected = false;
+
+    private metricsSubject = new Subject<RealtimeMetrics>();
+    public metrics$ = this.metricsSubject.asObservable();
+
+    constructor(private keycloakApi: KeycloakApiService) { }
+
+    /**
+     * Kết nối WebSocket và subscribe vào metrics channel.
+     */
+    connect(): void {
+        if (this.stompClient?.active || this.isConnected) {
+            return;
+        }
+
+        const token = this.keycloakApi.getAccessToken();
+        if (!token) {
+            console.error('[AdminMetricsSocket] No access token – cannot connect WS');
+            return;
+        }
+
+        const wsUrl = environment.wsUrl || 'http://localhost:8080/ws';
+
+        this.stompClient = new Client({
+            webSocketFactory: () => new SockJS(wsUrl),
+            connectHeaders: {
+                Authorization: `Bearer ${token}`
+            },
+            reconnectDelay: 5000,
+            heartbeatIncoming: 4000,
+            heartbeatOutgoing: 4000
+        });
+
+        this.stompClient.onConnect = () => {
+            this.isConnected = true;
+            this.subscription = this.stompClient?.subscribe('/topic/admin/metrics', (message) => {
+                try {
+                    this.metricsSubject.next(JSON.parse(message.body));
+                } catch (e) {
+                    console.error('[AdminMetricsSocket] Failed to parse metrics:', e);
+                }
+            });
+        };
+
+        this.stompClient.onStompError = (frame) => {
+            console.error('[AdminMetricsSocket] STOMP error:', frame.headers['message']);
+            this.isConnected = false;
+        };
+
+        this.stompClient.onWebSocketClose = () => {
+            this.isConnected = false;
+        };
+
+        this.stompClient.activate();
+    }
+
+    /**
+     * Ngắt kết nối WebSocket.
+     */
+    disconnect(): void {
+        if (this.subscription) {
+            this.subscription.unsubscribe();
+            this.subscription = undefined;
+        }
+        if (this.stompClient) {
+            this.stompClient.deactivate();
+            this.stompClient = undefined;
+            this.isConnected = false;
+        }
+    }
+
+    ngOnDestroy(): void {
+        this.disconnect();
+    }
+}
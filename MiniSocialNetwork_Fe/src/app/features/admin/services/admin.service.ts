@@ -1,5 +1,5 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 // Interfaces for Admin DTOs
@@ -49,12 +49,44 @@ export interface CommentAdmin {
     updatedAt: string;
 }
 
+export interface CursorPage<T> {
+    content: T[];
+    nextCursor: string | null;
+    hasNext: boolean;
+}
+
+export interface AdminListQuery {
+    q?: string;
+    authorId?: string;
+    from?: string; // yyyy-MM-dd
+    to?: string; // yyyy-MM-dd
+    deleted?: boolean;
+    active?: boolean;
+    sort?: 'asc' | 'desc';
+    cursor?: string | null;
+    size?: number;
+}
+
 export interface PostStatistics {
     labels: string[];
     values: number[];
     totalPosts: number;
 }
 
+export interface RealtimeCounter {
+    delta: number;     // số sự kiện kể từ lần đẩy trước
+    perMinute: number; // số sự kiện trong 60 giây gần nhất
+    total: number;     // tổng kể từ khi server khởi động
+}
+
+export interface RealtimeMetrics {
+    timestamp: string;
+    posts: RealtimeCounter;
+    likes: RealtimeCounter;
+    messages: RealtimeCounter;
+    connectedSessions: number;
+}
+
 /**
  * Service để gọi Admin API endpoints
  * Quản lý Users, Posts, Comments
@@ -74,14 +106,19 @@ export class AdminService {
         return this.http.get<PostStatistics>(`${this.apiUrl}/statistics/posts?days=${days}`);
     }
 
+    // Realtime metrics snapshot (cập nhật tiếp theo qua WebSocket /topic/admin/metrics)
+    getRealtimeMetrics(): Observable<RealtimeMetrics> {
+        return this.http.get<RealtimeMetrics>(`${this.apiUrl}/metrics/realtime`);
+    }
+
     // Sync users from Keycloak to MySQL
     syncUsersFromKeycloak(): Observable<{ message: string; syncedCount: number }> {
         return this.http.post<{ message: string; syncedCount: number }>(`${this.apiUrl}/sync-users`, {});
     }
 
     // Users
-    getAllUsers(): Observable<UserAdmin[]> {
-        return this.http.get<UserAdmin[]>(`${this.apiUrl}/users`);
+    getUsers(query: AdminListQuery = {}): Observable<CursorPage<UserAdmin>> {
+        return this.http.get<CursorPage<UserAdmin>>(`${this.apiUrl}/users`, { params: this.toParams(query) });
     }
 
     getUserById(id: string): Observable<UserAdmin> {
@@ -97,8 +134,8 @@ export class AdminService {
     }
 
     // Posts
-    getAllPosts(): Observable<PostAdmin[]> {
-        return this.http.get<PostAdmin[]>(`${this.apiUrl}/posts`);
+    getPosts(query: AdminListQuery = {}): Observable<CursorPage<PostAdmin>> {
+        return this.http.get<CursorPage<PostAdmin>>(`${this.apiUrl}/posts`, { params: this.toParams(query) });
     }
 
     updatePost(id: string, data: Partial<PostAdmin>): Observable<PostAdmin> {
@@ -110,8 +147,8 @@ export class AdminService {
     }
 
     // Comments
-    getAllComments(): Observable<CommentAdmin[]> {
-        return this.http.get<CommentAdmin[]>(`${this.apiUrl}/comments`);
+    getComments(query: AdminListQuery = {}): Observable<CursorPage<CommentAdmin>> {
+        return this.http.get<CursorPage<CommentAdmin>>(`${this.apiUrl}/comments`, { params: this.toParams(query) });
     }
 
     updateComment(id: string, data: Partial<CommentAdmin>): Observable<CommentAdmin> {
@@ -121,4 +158,19 @@ export class AdminService {
     deleteComment(id: string): Observable<any> {
         return this.http.delete(`${this.apiUrl}/comments/${id}`);
     }
+
+    // Export CSV (streaming) theo cùng bộ lọc
+    exportCsv(resource: 'users' | 'posts' | 'comments', query: AdminListQuery = {}): Observable<Blob> {
+        return this.http.get(`${this.apiUrl}/${resource}/export`, { params: this.toParams(query), responseType: 'blob' });
+    }
+
+    private toParams(query: AdminListQuery): HttpParams {
+        let params = new HttpParams();
+        Object.entries(query).forEach(([key, value]) => {
+            if (value !== undefined && value !== null && value !== '') {
+                params = params.set(key, String(value));
+            }
+        });
+        return params;
+    }
 }
@@ -145,8 +145,8 @@ export class CommentPopupComponent implements OnInit {
             return;
         }
 
-        // Lấy unique userIds chưa có trong cache
-        const userIds = [...new Set(comments.map(c => c.userId))];
+        // Lấy unique userIds chưa được server nhúng sẵn và chưa có trong cache
+        const userIds = [...new Set(comments.filter(c => !c.author).map(c => c.userId))];
         const uncachedUserIds = userIds.filter(id => !this.userCache.has(id));
 
         // Nếu tất cả đã có trong cache, map trực tiếp
@@ -356,7 +356,7 @@ export class CommentPopupComponent implements OnInit {
      * Lấy user info từ cache (đã load qua getUserById)
      */
     private mapToViewModel(comment: CommentResponse): CommentViewModel {
-        const cachedUser = this.userCache.get(comment.userId);
+        const cachedUser = comment.author ?? this.userCache.get(comment.userId);
 
         // Nếu là comment của chính mình, dùng currentUserName
         const isOwnComment = comment.userId === this.currentUserId;
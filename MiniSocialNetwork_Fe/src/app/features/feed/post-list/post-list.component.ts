@@ -85,8 +85,8 @@ export class PostListComponent implements OnInit, OnDestroy {
    * Xử lý bài viết nhận từ WebSocket: Fetch user info -> Map -> Prepend
    */
   private fetchUserAndPrependPost(post: PostResponse): void {
-    // Nếu đã có thông tin user trong cache
-    if (this.userCache.has(post.authorId)) {
+    // Nếu response đã kèm author hoặc đã có thông tin user trong cache
+    if (post.author || this.userCache.has(post.authorId)) {
       const vm = this.mapToViewModel(post);
       this.posts.update(list => [vm, ...list]);
       this.totalElements++;
@@ -219,8 +219,8 @@ export class PostListComponent implements OnInit, OnDestroy {
       return;
     }
 
-    // Lấy unique authorIds chưa có trong cache
-    const authorIds = [...new Set(posts.map(p => p.authorId))];
+    // Lấy unique authorIds chưa được server nhúng sẵn và chưa có trong cache
+    const authorIds = [...new Set(posts.filter(p => !p.author).map(p => p.authorId))];
     const uncachedAuthorIds = authorIds.filter(id => !this.userCache.has(id));
 
     // Nếu tất cả đã có trong cache, map trực tiếp
@@ -412,7 +412,7 @@ export class PostListComponent implements OnInit, OnDestroy {
    * Lấy user info từ cache (đã load qua getUserById)
    */
   private mapToViewModel(post: PostResponse): PostViewModel {
-    const cachedUser = this.userCache.get(post.authorId);
+    const cachedUser = post.author ?? this.userCache.get(post.authorId);
 
     // Nếu là bài viết của chính mình, dùng currentUserName
     const isOwnPost = post.authorId === this.currentUserId;
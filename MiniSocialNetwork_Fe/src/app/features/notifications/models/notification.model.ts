@@ -11,6 +11,8 @@ export interface Notification {
   postId?: string;
   conversationId?: string;
   message: string;
+  actorCount?: number;
+  recentActorNames?: string[];
   isRead: boolean;
   createdAt: string;
 }
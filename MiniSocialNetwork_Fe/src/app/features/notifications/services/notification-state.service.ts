@@ -86,12 +86,19 @@ export class NotificationStateService {
     /**
      * Thêm notification mới vào đầu danh sách.
      * Cũng trigger toast notification.
+     * Notification gộp (cùng id, actorCount tăng) được thay thế và đưa lên đầu.
      */
     addNewNotification(notification: Notification): void {
         const current = this.notifications$.getValue();
+        const existing = current.find(n => n.id === notification.id);
 
-        // Kiểm tra trùng lặp
-        if (!current.some(n => n.id === notification.id)) {
+        if (existing) {
+            this.notifications$.next([notification, ...current.filter(n => n.id !== notification.id)]);
+            if (existing.isRead && !notification.isRead) {
+                this.incrementUnreadCount();
+            }
+            this.latestNotification$.next(notification);
+        } else {
             this.notifications$.next([notification, ...current]);
 
             // Tăng unread count nếu chưa đọc
@@ -25,6 +25,8 @@ export class PeoplePageComponent implements OnInit {
     isLoading = signal(false);
     isFollowersLoading = signal(false);
     isFollowingLoading = signal(false);
+    followersCursor = signal<string | null>(null);
+    followingCursor = signal<string | null>(null);
     error = signal<string | null>(null);
 
     // Search and Filter
@@ -130,12 +132,13 @@ export class PeoplePageComponent implements OnInit {
         this.isFollowersLoading.set(true);
         this.error.set(null);
 
-        this.peopleService.getFollowers(this.currentUserId)
+        this.peopleService.getFollowersPage(this.currentUserId)
             .pipe(finalize(() => this.isFollowersLoading.set(false)))
             .subscribe({
-                next: (data) => {
-                    console.log('Followers loaded:', data);
-                    this.followers.set(data);
+                next: (page) => {
+                    console.log('Followers loaded:', page.content);
+                    this.followers.set(page.content);
+                    this.followersCursor.set(page.nextCursor);
                 },
                 error: (err) => {
                     console.error('Error loading followers:', err);
@@ -151,12 +154,13 @@ export class PeoplePageComponent implements OnInit {
         this.isFollowingLoading.set(true);
         this.error.set(null);
 
-        this.peopleService.getFollowing(this.currentUserId)
+        this.peopleService.getFollowingPage(this.currentUserId)
             .pipe(finalize(() => this.isFollowingLoading.set(false)))
             .subscribe({
-                next: (data) => {
-                    console.log('Following loaded:', data);
-                    this.following.set(data);
+                next: (page) => {
+                    console.log('Following loaded:', page.content);
+                    this.following.set(page.content);
+                    this.followingCursor.set(page.nextCursor);
                 },
                 error: (err) => {
                     console.error('Error loading following:', err);
@@ -166,6 +170,40 @@ export class PeoplePageComponent implements OnInit {
             });
     }
 
+    loadMoreFollowers(): void {
+        const cursor = this.followersCursor();
+        if (!this.currentUserId || !cursor) return;
+
+        this.peopleService.getFollowersPage(this.currentUserId, cursor)
+            .subscribe({
+                next: (page) => {
+                    this.followers.set([...this.followers(), ...page.content]);
+                    this.followersCursor.set(page.nextCursor);
+                },
+                error: (err) => {
+                    console.error('Error loading more followers:', err);
+                    this.error.set('Failed to load followers');
+                }
+            });
+    }
+
+    loadMoreFollowing(): void {
+        const cursor = this.followingCursor();
+        if (!this.currentUserId || !cursor) return;
+
+        this.peopleService.getFollowingPage(this.currentUserId, cursor)
+            .subscribe({
+                next: (page) => {
+                    this.following.set([...this.following(), ...page.content]);
+                    this.followingCursor.set(page.nextCursor);
+                },
+                error: (err) => {
+                    console.error('Error loading more following:', err);
+                    this.error.set('Failed to load following');
+                }
+            });
+    }
+
     private loadSuggestions(): void {
         if (!this.currentUserId) return;
 
@@ -1,5 +1,5 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
 
@@ -15,6 +15,12 @@ export interface UserCard {
     followsYou?: boolean;
 }
 
+export interface CursorPage<T> {
+    content: T[];
+    nextCursor: string | null;
+    hasNext: boolean;
+}
+
 @Injectable({
     providedIn: 'root'
 })
@@ -37,6 +43,30 @@ export class PeopleService {
         return this.http.get<UserCard[]>(`${this.baseUrl}/follows/following/${userId}`);
     }
 
+    /**
+     * Get one page of followers (newest first)
+     */
+    getFollowersPage(userId: string, cursor: string | null = null, size = 20): Observable<CursorPage<UserCard>> {
+        return this.http.get<CursorPage<UserCard>>(`${this.baseUrl}/follows/followers/${userId}/page`,
+            { params: this.pageParams(cursor, size) });
+    }
+
+    /**
+     * Get one page of users that a user is following (newest first)
+     */
+    getFollowingPage(userId: string, cursor: string | null = null, size = 20): Observable<CursorPage<UserCard>> {
+        return this.http.get<CursorPage<UserCard>>(`${this.baseUrl}/follows/following/${userId}/page`,
+            { params: this.pageParams(cursor, size) });
+    }
+
+    private pageParams(cursor: string | null, size: number): HttpParams {
+        let params = new HttpParams().set('size', size);
+        if (cursor) {
+            params = params.set('cursor', cursor);
+        }
+        return params;
+    }
+
     /**
      * Follow a user
      */
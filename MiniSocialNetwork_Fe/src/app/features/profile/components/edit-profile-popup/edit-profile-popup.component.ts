@@ -1,6 +1,7 @@
 import { Component, EventEmitter, Input, Output, signal, inject, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
+import { switchMap } from 'rxjs/operators';
 import { UserService, UpdateProfileRequest, UserProfile } from '../../../../core/services/user.service';
 
 @Component({
@@ -100,13 +101,13 @@ export class EditProfilePopupComponent implements OnInit {
             bio: this.bio.trim()
         };
 
-        // If avatar was selected, use data URL (for demo purposes)
-        // In production, you would upload to a file server first
-        if (this.avatarPreview) {
-            request.avatarUrl = this.avatarPreview;
-        }
+        // Avatar is uploaded as a file (resized and stored server-side), never inlined in the profile
+        const avatarFile = this.selectedAvatarFile;
+        const save$ = avatarFile
+            ? this.userService.uploadAvatar(avatarFile).pipe(switchMap(() => this.userService.updateProfile(request)))
+            : this.userService.updateProfile(request);
 
-        this.userService.updateProfile(request).subscribe({
+        save$.subscribe({
             next: (updatedProfile) => {
                 this.isLoading.set(false);
                 this.saved.emit(updatedProfile);
@@ -0,0 +1,92 @@
+package com.mini.socialnetwork.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Chặn regression về cấp phát bộ nhớ của các benchmark JMH.
+ * <p>
+ * So sánh {@code gc.alloc.rate.norm} (bytes/op, đo bằng {@code -prof gc}) trong kết quả JMH
+ * với baseline đã commit. Khác với thời gian chạy, bytes/op gần như không phụ thuộc máy
+ * đo nên dùng được làm gate trước mỗi release. Benchmark vượt baseline quá
+ * {@code tolerance} (tỉ lệ, cộng thêm {@link #SLACK_BYTES}) làm build fail.
+ * </p>
+ * Cách dùng: {@code AllocationGate <jmh-result.json> <baseline.json> <tolerance> [--check|--update]};
+ * {@code --update} ghi đè baseline bằng kết quả hiện tại.
+ */
+public final class AllocationGate {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+    private static final double SLACK_BYTES = 64;
+
+    private AllocationGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException(
+                    "Usage: AllocationGate <jmh-result.json> <baseline.json> <tolerance> [--check|--update]");
+        }
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, Double> current = readResults(mapper.readTree(new File(args[0])));
+        File baselineFile = new File(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+
+        if (args.length > 3 && "--update".equals(args[3])) {
+            mapper.writeValue(baselineFile, current);
+            System.out.printf("Allocation baseline updated with %d benchmarks: %s%n", current.size(), baselineFile);
+            return;
+        }
+
+        Map<String, Double> baseline = new TreeMap<>();
+        mapper.readTree(baselineFile).fields()
+                .forEachRemaining(e -> baseline.put(e.getKey(), e.getValue().asDouble()));
+
+        int failures = 0;
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.printf("[NEW]  %-70s %10.1f B/op (no baseline)%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            double limit = expected * (1 + tolerance) + SLACK_BYTES;
+            boolean regressed = entry.getValue() > limit;
+            if (regressed) {
+                failures++;
+            }
+            System.out.printf("[%s] %-70s %10.1f B/op (baseline %.1f, limit %.1f)%n",
+                    regressed ? "FAIL" : " OK ", entry.getKey(), entry.getValue(), expected, limit);
+        }
+        if (failures > 0) {
+            System.err.printf("%d benchmark(s) allocate more than the baseline allows%n", failures);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Đọc bytes/op của từng benchmark (tên + params) từ kết quả JMH dạng JSON.
+     */
+    private static Map<String, Double> readResults(JsonNode results) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (JsonNode result : results) {
+            JsonNode alloc = result.path("secondaryMetrics").path(ALLOC_METRIC);
+            if (alloc.isMissingNode()) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> it = result.path("params").fields();
+            it.forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            params.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+            scores.put(key.toString(), Math.round(alloc.path("score").asDouble() * 10) / 10.0);
+        }
+        return scores;
+    }
+}
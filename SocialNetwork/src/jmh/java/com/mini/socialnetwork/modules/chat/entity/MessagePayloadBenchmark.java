@@ -0,0 +1,71 @@
+package com.mini.socialnetwork.modules.chat.entity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+/**
+ * Serialize {@link Message} thành payload STOMP (/user/queue/messages) bằng
+ * converter Jackson như message broker (ObjectMapper cấu hình theo Spring Boot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagePayloadBenchmark {
+
+    @Param({ "0", "4" })
+    private int attachments;
+
+    private MappingJackson2MessageConverter converter;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        List<Message.Attachment> files = new ArrayList<>();
+        message = Message.builder()
+                .id(123456L)
+                .conversationId(42L)
+                .senderId("kc-user-1")
+                .content("Hello! This is a benchmark message with a typical chat length.")
+                .messageType(attachments > 0 ? Message.MessageType.ATTACHMENT : Message.MessageType.TEXT)
+                .attachments(files)
+                .createdAt(Instant.now())
+                .build();
+        for (int i = 0; i < attachments; i++) {
+            files.add(Message.Attachment.builder()
+                    .id((long) i)
+                    .fileName("photo-" + i + ".jpg")
+                    .objectKey("chat/42/photo-" + i + ".jpg")
+                    .fileType("image/jpeg")
+                    .fileSize(245_000L)
+                    .fileUrl("https://cdn.example.com/chat/42/photo-" + i + ".jpg")
+                    .message(message)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public org.springframework.messaging.Message<?> toStompPayload() {
+        return converter.toMessage(message, null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.mini.socialnetwork.modules.chat.service;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mini.socialnetwork.modules.chat.dto.ConversationDTO;
+import com.mini.socialnetwork.modules.chat.entity.Conversation;
+import com.mini.socialnetwork.modules.chat.entity.Message;
+
+/**
+ * {@link ConversationService#toDto(Conversation)}: map conversation sang DTO cho danh sách hội thoại.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversationServiceBenchmark {
+
+    @Param({ "2", "100" })
+    private int participants;
+
+    private ConversationService service;
+    private Conversation conversation;
+
+    @Setup
+    public void setUp() {
+        // toDto không dùng repository
+        service = new ConversationService(null, null);
+        Set<String> participantIds = new HashSet<>();
+        for (int i = 0; i < participants; i++) {
+            participantIds.add("kc-user-" + i);
+        }
+        conversation = Conversation.builder()
+                .id(42L)
+                .name("Benchmark group")
+                .participantIds(participantIds)
+                .type(participants > 2 ? Conversation.ConversationType.GROUP
+                        : Conversation.ConversationType.ONE_TO_ONE)
+                .createdBy("kc-user-0")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .lastMessageContent("See you tomorrow")
+                .lastMessageSenderId("kc-user-1")
+                .lastMessageType(Message.MessageType.TEXT)
+                .build();
+    }
+
+    @Benchmark
+    public ConversationDTO toDto() {
+        return service.toDto(conversation);
+    }
+}
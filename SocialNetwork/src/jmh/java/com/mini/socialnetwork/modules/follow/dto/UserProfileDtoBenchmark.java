@@ -0,0 +1,47 @@
+package com.mini.socialnetwork.modules.follow.dto;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link UserProfileDto#fromKeycloakUser}: map user Keycloak sang DTO (followers/following/suggestions).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserProfileDtoBenchmark {
+
+    private Map<String, Object> keycloakUser;
+
+    @Setup
+    public void setUp() {
+        keycloakUser = Map.of(
+                "id", UUID.randomUUID().toString(),
+                "username", "benchmark.user",
+                "email", "benchmark.user@example.com",
+                "firstName", "Benchmark",
+                "lastName", "User",
+                "enabled", true,
+                "createdTimestamp", 1700000000000L);
+    }
+
+    @Benchmark
+    public UserProfileDto fromKeycloakUser() {
+        return UserProfileDto.fromKeycloakUser(keycloakUser, 1250, 310, true, false);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mini.socialnetwork.modules.post.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+
+/**
+ * {@link PostResponse#from(Post, UserSummary)}: chuyển UUID → String cho danh sách likes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostResponseBenchmark {
+
+    @Param({ "0", "100", "10000" })
+    private int likes;
+
+    private Post post;
+    private UserSummary author;
+
+    @Setup
+    public void setUp() {
+        List<UUID> likeIds = new ArrayList<>(likes);
+        for (int i = 0; i < likes; i++) {
+            likeIds.add(UUID.randomUUID());
+        }
+        UUID authorId = UUID.randomUUID();
+        post = Post.builder()
+                .id(UUID.randomUUID())
+                .authorId(authorId)
+                .content("Benchmark post content")
+                .imageUrls(List.of("https://cdn.example.com/a.jpg", "https://cdn.example.com/b.jpg"))
+                .likes(likeIds)
+                .likeCount(likes)
+                .commentCount(12)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        author = new UserSummary(authorId, "author", "Post Author", "https://cdn.example.com/avatar.jpg");
+    }
+
+    @Benchmark
+    public PostResponse from() {
+        return PostResponse.from(post, author);
+    }
+}
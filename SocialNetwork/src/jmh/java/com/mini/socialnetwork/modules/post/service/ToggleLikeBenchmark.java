@@ -0,0 +1,58 @@
+package com.mini.socialnetwork.modules.post.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Thao tác tập likes của {@link PostService#toggleLike(String, String)} (like mới và bỏ like).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToggleLikeBenchmark {
+
+    @Param({ "100", "10000" })
+    private int likes;
+
+    private List<UUID> likeIds;
+    private UUID newUser;
+    private UUID existingUser;
+
+    @Setup
+    public void setUp() {
+        likeIds = new ArrayList<>(likes);
+        for (int i = 0; i < likes; i++) {
+            likeIds.add(UUID.randomUUID());
+        }
+        newUser = UUID.randomUUID();
+        existingUser = likeIds.get(likes / 2);
+    }
+
+    @Benchmark
+    public Set<UUID> like() {
+        return PostService.toggleLike(likeIds, newUser);
+    }
+
+    @Benchmark
+    public Set<UUID> unlike() {
+        return PostService.toggleLike(likeIds, existingUser);
+    }
+}
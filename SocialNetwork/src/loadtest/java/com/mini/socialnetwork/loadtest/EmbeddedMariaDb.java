@@ -0,0 +1,50 @@
+package com.mini.socialnetwork.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * MariaDB nhúng (MariaDB4j) thay cho MySQL, không cần Docker/Testcontainers.
+ * <p>
+ * Server chạy từ binary đi kèm thư viện, data dir tạm bị xóa khi dừng. Schema
+ * do Flyway của ứng dụng tạo như môi trường thật; database được tạo qua
+ * {@code createDatabaseIfNotExist} của JDBC driver thay vì client
+ * {@code mariadb} đi kèm (cần libncurses, không phải máy nào cũng có).
+ * </p>
+ */
+final class EmbeddedMariaDb implements AutoCloseable {
+
+    private static final String DATABASE = "socialnetwork_db";
+
+    private final DB db;
+
+    private EmbeddedMariaDb(DB db) {
+        this.db = db;
+    }
+
+    static EmbeddedMariaDb start() throws ManagedProcessException {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        config.addArg("--character-set-server=utf8mb4");
+        config.addArg("--collation-server=utf8mb4_unicode_ci");
+        config.addArg("--max-connections=500");
+        if ("root".equals(System.getProperty("user.name"))) {
+            // mariadbd từ chối chạy bằng root nếu không chỉ định rõ
+            config.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        return new EmbeddedMariaDb(db);
+    }
+
+    String jdbcUrl() {
+        return "jdbc:mariadb://127.0.0.1:" + db.getConfiguration().getPort() + "/" + DATABASE
+                + "?createDatabaseIfNotExist=true";
+    }
+
+    @Override
+    public void close() throws ManagedProcessException {
+        db.stop();
+    }
+}
@@ -0,0 +1,169 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Keycloak giả lập cho load test.
+ * <p>
+ * Cung cấp đúng các endpoint mà backend gọi: JWKS
+ * ({@code /realms/{realm}/protocol/openid-connect/certs}) để xác minh JWT,
+ * token endpoint (client credentials) và Admin REST API cho users
+ * ({@code /admin/realms/{realm}/users[/{id}]}, lọc theo first/max). Events và
+ * admin-events luôn rỗng. Token của user ảo được ký bằng khóa RSA sinh lúc
+ * khởi động, có {@code realm_access.roles} giống token Keycloak thật.
+ * </p>
+ */
+final class FakeKeycloakServer extends StubServer {
+
+    private static final String SERVICE_ACCOUNT_ID = "00000000-0000-0000-0000-000000000001";
+
+    private final String realm;
+    private final RSAKey signingKey;
+    private final RSASSASigner signer;
+    private final String jwks;
+    private final NavigableMap<String, Map<String, Object>> users = new ConcurrentSkipListMap<>();
+
+    FakeKeycloakServer(String realm) throws JOSEException {
+        this.realm = realm;
+        this.signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        this.signer = new RSASSASigner(signingKey);
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString();
+    }
+
+    String jwkSetUri() {
+        return baseUrl() + "/realms/" + realm + "/protocol/openid-connect/certs";
+    }
+
+    /**
+     * Tạo user trong realm giả lập.
+     *
+     * @return id (sub) của user
+     */
+    String register(String username) {
+        String id = UUID.randomUUID().toString();
+        users.put(id, representation(id, username));
+        return id;
+    }
+
+    /**
+     * Ký access token cho user đã đăng ký (hết hạn sau 1 giờ).
+     */
+    String issueToken(String userId) {
+        Map<String, Object> user = users.get(userId);
+        if (user == null) {
+            throw new IllegalArgumentException("Unknown user: " + userId);
+        }
+        return sign(userId, (String) user.get("username"), List.of("user"));
+    }
+
+    private String sign(String subject, String username, List<String> roles) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(baseUrl() + "/realms/" + realm)
+                .subject(subject)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .claim("typ", "Bearer")
+                .claim("azp", "social-network-frontend")
+                .claim("preferred_username", username)
+                .claim("name", username)
+                .claim("email", username + "@loadtest.local")
+                .claim("realm_access", Map.of("roles", roles))
+                .build();
+        try {
+            SignedJWT jwt = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+            jwt.sign(signer);
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String oidc = "/realms/" + realm + "/protocol/openid-connect/";
+        String admin = "/admin/realms/" + realm + "/";
+        exchange.getRequestBody().readAllBytes();
+
+        if (path.equals(oidc + "certs")) {
+            send(exchange, 200, "application/json", jwks.getBytes());
+        } else if (path.equals(oidc + "token")) {
+            sendJson(exchange, 200, Map.of(
+                    "access_token", sign(SERVICE_ACCOUNT_ID, "service-account-social-network-backend", List.of("admin")),
+                    "expires_in", 3600,
+                    "token_type", "Bearer"));
+        } else if (path.equals(admin + "users")) {
+            handleUsers(exchange);
+        } else if (path.startsWith(admin + "users/")) {
+            handleUser(exchange, path.substring((admin + "users/").length()));
+        } else if (path.startsWith(admin)) {
+            // admin-events, events: realm giả lập không lưu sự kiện
+            sendJson(exchange, 200, List.of());
+        } else {
+            sendEmpty(exchange, 404);
+        }
+    }
+
+    private void handleUsers(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            // Body đã bị bỏ qua: chỉ cần một user mới với id ngẫu nhiên
+            String id = register("user-" + users.size());
+            exchange.getResponseHeaders().set("Location", baseUrl() + exchange.getRequestURI().getPath() + "/" + id);
+            sendEmpty(exchange, 201);
+            return;
+        }
+        Map<String, String> params = query(exchange);
+        int first = Integer.parseInt(params.getOrDefault("first", "0"));
+        int max = Integer.parseInt(params.getOrDefault("max", "100"));
+        sendJson(exchange, 200, users.values().stream().skip(first).limit(max).toList());
+    }
+
+    private void handleUser(HttpExchange exchange, String id) throws IOException {
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                Map<String, Object> user = users.get(id);
+                if (user == null) {
+                    sendJson(exchange, 404, Map.of("error", "User not found"));
+                } else {
+                    sendJson(exchange, 200, user);
+                }
+            }
+            case "DELETE" -> sendEmpty(exchange, users.remove(id) != null ? 204 : 404);
+            default -> sendEmpty(exchange, 204);
+        }
+    }
+
+    private static Map<String, Object> representation(String id, String username) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", id);
+        user.put("username", username);
+        user.put("email", username + "@loadtest.local");
+        user.put("firstName", username);
+        user.put("lastName", "");
+        user.put("enabled", true);
+        user.put("emailVerified", true);
+        user.put("createdTimestamp", System.currentTimeMillis());
+        return user;
+    }
+}
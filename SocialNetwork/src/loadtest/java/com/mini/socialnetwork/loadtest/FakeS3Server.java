@@ -0,0 +1,99 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * S3 giả lập trong bộ nhớ thay cho MinIO (path-style, không kiểm tra chữ ký).
+ * <p>
+ * Hỗ trợ các lệnh mà MinIO client của backend dùng: tra region
+ * ({@code GET ?location}), kiểm tra/tạo bucket, đặt policy, và
+ * PUT/GET/DELETE object. Các lệnh khác trả 200 rỗng.
+ * </p>
+ */
+final class FakeS3Server extends StubServer {
+
+    private static final String XML_NS = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    private final Set<String> buckets = ConcurrentHashMap.newKeySet();
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    int objectCount() {
+        return objects.size();
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String[] parts = exchange.getRequestURI().getPath().substring(1).split("/", 2);
+        String bucket = parts[0];
+        String key = parts.length > 1 && !parts[1].isEmpty() ? parts[1] : null;
+        byte[] body = exchange.getRequestBody().readAllBytes();
+
+        if (key == null) {
+            handleBucket(exchange, bucket);
+        } else {
+            handleObject(exchange, bucket + "/" + key, body);
+        }
+    }
+
+    private void handleBucket(HttpExchange exchange, String bucket) throws IOException {
+        Map<String, String> params = query(exchange);
+        String method = exchange.getRequestMethod();
+        if (params.containsKey("location")) {
+            sendXml(exchange, 200, "<LocationConstraint xmlns=\"" + XML_NS + "\">us-east-1</LocationConstraint>");
+        } else if (params.containsKey("delete")) {
+            sendXml(exchange, 200, "<DeleteResult xmlns=\"" + XML_NS + "\"></DeleteResult>");
+        } else if ("HEAD".equals(method)) {
+            sendEmpty(exchange, buckets.contains(bucket) ? 200 : 404);
+        } else if ("PUT".equals(method) && !params.containsKey("policy")) {
+            buckets.add(bucket);
+            sendEmpty(exchange, 200);
+        } else {
+            sendEmpty(exchange, "PUT".equals(method) ? 204 : 200);
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String path, byte[] body) throws IOException {
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                objects.put(path, body);
+                exchange.getResponseHeaders().set("ETag", "\"" + md5(body) + "\"");
+                sendEmpty(exchange, 200);
+            }
+            case "GET", "HEAD" -> {
+                byte[] data = objects.get(path);
+                if (data == null) {
+                    sendXml(exchange, 404, "<Error><Code>NoSuchKey</Code><Key>" + path + "</Key></Error>");
+                } else {
+                    send(exchange, 200, "application/octet-stream", data);
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(path);
+                sendEmpty(exchange, 204);
+            }
+            default -> sendEmpty(exchange, 200);
+        }
+    }
+
+    private static void sendXml(HttpExchange exchange, int status, String xml) throws IOException {
+        send(exchange, status, "application/xml",
+                ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String md5(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
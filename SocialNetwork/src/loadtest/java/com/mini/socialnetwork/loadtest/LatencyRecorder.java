@@ -0,0 +1,101 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ghi nhận độ trễ theo endpoint trong cửa sổ đo.
+ * <p>
+ * Giữ toàn bộ mẫu (nanosecond) để percentile chính xác, không xấp xỉ theo
+ * bucket; với vài trăm nghìn request mỗi lần chạy bộ nhớ vẫn nhỏ. Mẫu và lỗi
+ * ngoài cửa sổ ({@link #start()} ... {@link #stop()}, tức trong warmup/seed)
+ * bị bỏ qua.
+ * </p>
+ */
+final class LatencyRecorder {
+
+    /**
+     * Kết quả của một endpoint; độ trễ tính bằng mili giây.
+     */
+    record EndpointStats(String endpoint, long count, long errors, double throughput,
+            double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    void start() {
+        series.clear();
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    double elapsedSeconds() {
+        long end = recording ? System.nanoTime() : stopNanos;
+        return (end - startNanos) / 1e9;
+    }
+
+    void record(String endpoint, long nanos) {
+        if (recording) {
+            series.computeIfAbsent(endpoint, k -> new Series()).add(nanos);
+        }
+    }
+
+    void error(String endpoint) {
+        if (recording) {
+            series.computeIfAbsent(endpoint, k -> new Series()).errors.increment();
+        }
+    }
+
+    List<EndpointStats> snapshot() {
+        double seconds = Math.max(elapsedSeconds(), 1e-9);
+        return series.entrySet().stream()
+                .map(e -> e.getValue().stats(e.getKey(), seconds))
+                .sorted(Comparator.comparing(EndpointStats::endpoint))
+                .toList();
+    }
+
+    private static final class Series {
+        private final LongAdder errors = new LongAdder();
+        private long[] samples = new long[1024];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        EndpointStats stats(String endpoint, double seconds) {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, sorted.length, errors.sum(), sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        /** Percentile theo nearest-rank. */
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mini.socialnetwork.loadtest.LoadTestConfig.Operation;
+
+/**
+ * Sinh tải lên ứng dụng đang chạy bằng các user ảo.
+ * <p>
+ * Mỗi user ảo là một virtual thread chạy vòng lặp đóng: chọn thao tác theo
+ * trọng số ({@link LoadTestConfig#mix()}), chờ kết quả rồi mới làm thao tác
+ * tiếp theo. Mỗi user giữ một phiên STOMP (SockJS raw WebSocket
+ * {@code /ws/websocket}) và subscribe {@code /user/queue/messages},
+ * {@code /user/queue/feed} như frontend.
+ * </p>
+ * <p>
+ * Nội dung tin nhắn/bài viết mang {@code System.nanoTime()} lúc gửi (cùng
+ * JVM nên so sánh được), nhờ đó đo được độ trễ fan-out tới từng người nhận:
+ * tin nhắn chat tới đối phương, bài viết mới tới từng follower. Gửi chat được
+ * tính xong khi người gửi nhận lại bản echo của chính tin nhắn đó.
+ * </p>
+ */
+final class LoadDriver implements AutoCloseable {
+
+    static final String ME = "GET /api/users/me";
+    static final String FOLLOW = "POST /api/follows/{id}";
+    static final String FEED = "GET /api/posts/feed";
+    static final String LIKE = "POST /api/posts/{id}/like";
+    static final String COMMENT = "POST /api/comments";
+    static final String POST = "POST /api/posts";
+    static final String POST_IMAGE = "POST /api/posts (image)";
+    static final String FOLLOWERS = "GET /api/follows/followers/{id}/page";
+    static final String UPLOAD = "POST /api/attachments";
+    static final String CHAT_SEND = "STOMP /app/chat.sendMessage (ack)";
+    static final String CHAT_FANOUT = "STOMP /user/queue/messages (fan-out)";
+    static final String FEED_FANOUT = "STOMP /user/queue/feed (fan-out)";
+
+    /** Prefix nội dung mang thời điểm gửi: {@code "lt <nanoTime> ..."} */
+    private static final String STAMP = "lt ";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long CHAT_ACK_TIMEOUT_MS = 5000;
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final FakeKeycloakServer keycloak;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient http;
+    private final WebSocketStompClient stompClient;
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final List<String> postIds = Collections.synchronizedList(new ArrayList<>());
+    private final byte[] image = tinyPng();
+
+    LoadDriver(LoadTestConfig config, int port, FakeKeycloakServer keycloak, LatencyRecorder recorder) {
+        this.config = config;
+        this.baseUrl = "http://127.0.0.1:" + port;
+        this.keycloak = keycloak;
+        this.recorder = recorder;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        this.stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        this.stompClient.setDefaultHeartbeat(new long[] { 0, 0 });
+    }
+
+    /**
+     * Tạo dữ liệu ban đầu qua chính API của ứng dụng: user (Keycloak giả lập +
+     * {@code /api/users/me}), quan hệ follow, bài viết, rồi mở phiên STOMP.
+     */
+    void seed() throws Exception {
+        for (int i = 0; i < config.users(); i++) {
+            String username = "lt-user-" + i;
+            String id = keycloak.register(username);
+            users.add(new VirtualUser(id, username, keycloak.issueToken(id)));
+        }
+        forEachUser(user -> require(call(ME, get(user, "/api/users/me")), "Create profile"));
+        forEachUser(this::followRandomUsers);
+        forEachUser(user -> {
+            for (int i = 0; i < config.postsPerUser(); i++) {
+                require(createPost(user, false), "Create post");
+            }
+        });
+        forEachUser(this::connect);
+    }
+
+    /**
+     * Chạy warmup rồi đo trong {@link LoadTestConfig#duration()}.
+     */
+    void run() throws Exception {
+        long end = System.nanoTime() + config.warmup().plus(config.duration()).toNanos();
+        List<Future<?>> loops = users.stream()
+                .<Future<?>>map(user -> executor.submit(() -> loop(user, end)))
+                .toList();
+        Thread.sleep(config.warmup());
+        recorder.start();
+        for (Future<?> loop : loops) {
+            loop.get();
+        }
+        recorder.stop();
+    }
+
+    private void loop(VirtualUser user, long end) {
+        while (System.nanoTime() < end) {
+            execute(user, config.nextOperation());
+            if (!config.thinkTime().isZero()) {
+                try {
+                    Thread.sleep(config.thinkTime());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void execute(VirtualUser user, Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case FEED -> call(FEED, get(user, "/api/posts/feed?page=" + random.nextInt(3) + "&size=10"));
+            case LIKE -> call(LIKE, request(user, "/api/posts/" + randomPostId() + "/like")
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+            case COMMENT -> call(COMMENT, multipart(user, "/api/comments", new MultipartBody()
+                    .field("postId", randomPostId())
+                    .field("userId", user.id)
+                    .field("userName", user.username)
+                    .field("content", "load test comment by " + user.username)));
+            case POST -> createPost(user, random.nextDouble() < config.imageRatio());
+            case CHAT -> sendChat(user);
+            case FOLLOWERS -> call(FOLLOWERS, get(user,
+                    "/api/follows/followers/" + users.get(random.nextInt(users.size())).id + "/page?size=20"));
+            case UPLOAD -> uploadAttachment(user);
+        }
+    }
+
+    private HttpResponse<byte[]> createPost(VirtualUser user, boolean withImage) {
+        MultipartBody body = new MultipartBody().field("content", stamp() + " load test post by " + user.username);
+        if (withImage) {
+            body.file("images", "image.png", "image/png", image);
+        }
+        HttpResponse<byte[]> response = call(withImage ? POST_IMAGE : POST, multipart(user, "/api/posts", body));
+        if (isOk(response)) {
+            try {
+                postIds.add(mapper.readTree(response.body()).path("id").asText());
+            } catch (IOException e) {
+                // Body không phải JSON: bỏ qua, request đã được tính
+            }
+        }
+        return response;
+    }
+
+    private void uploadAttachment(VirtualUser user) {
+        String partner = user.randomFollowee();
+        Long conversationId = user.conversations.get(partner);
+        MultipartBody body = new MultipartBody()
+                .file("files", "note.txt", "text/plain",
+                        ("load test attachment from " + user.username).getBytes(StandardCharsets.UTF_8));
+        if (conversationId != null) {
+            body.field("conversationId", conversationId.toString());
+        } else {
+            body.field("recipientId", partner);
+        }
+        call(UPLOAD, multipart(user, "/api/attachments", body));
+    }
+
+    private void sendChat(VirtualUser user) {
+        String partner = user.randomFollowee();
+        String content = stamp() + " " + partner;
+        Map<String, Object> payload = new HashMap<>();
+        Long conversationId = user.conversations.get(partner);
+        if (conversationId != null) {
+            payload.put("conversationId", conversationId);
+        } else {
+            payload.put("recipientId", partner);
+        }
+        payload.put("content", content);
+
+        PendingAck ack = new PendingAck(content, new CompletableFuture<>());
+        user.pendingAck = ack;
+        try {
+            user.session.send("/app/chat.sendMessage", payload);
+            ack.future().get(CHAT_ACK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException | RuntimeException e) {
+            recorder.error(CHAT_SEND);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void followRandomUsers(VirtualUser user) {
+        List<VirtualUser> others = new ArrayList<>(users);
+        others.remove(user);
+        Collections.shuffle(others);
+        for (VirtualUser other : others.subList(0, config.followsPerUser())) {
+            require(call(FOLLOW, request(user, "/api/follows/" + other.id + "?followerId=" + user.id)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build()), "Follow");
+            user.followees.add(other.id);
+        }
+    }
+
+    private void connect(VirtualUser user) throws Exception {
+        StompHeaders headers = new StompHeaders();
+        headers.add("Authorization", "Bearer " + user.token);
+        String url = baseUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+        user.session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), headers,
+                new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+        user.session.subscribe("/user/queue/messages", frameHandler(node -> onChatMessage(user, node)));
+        user.session.subscribe("/user/queue/feed", frameHandler(this::onFeedPost));
+    }
+
+    private void onChatMessage(VirtualUser user, JsonNode message) {
+        String content = message.path("content").asText("");
+        long sentAt = sentAt(content);
+        if (sentAt < 0) {
+            return;
+        }
+        long latency = System.nanoTime() - sentAt;
+        if (!user.id.equals(message.path("senderId").asText())) {
+            recorder.record(CHAT_FANOUT, latency);
+            return;
+        }
+        recorder.record(CHAT_SEND, latency);
+        String partner = content.substring(content.lastIndexOf(' ') + 1);
+        user.conversations.putIfAbsent(partner, message.path("conversationId").asLong());
+        PendingAck ack = user.pendingAck;
+        if (ack != null && ack.content().equals(content)) {
+            ack.future().complete(null);
+        }
+    }
+
+    private void onFeedPost(JsonNode post) {
+        long sentAt = sentAt(post.path("content").asText(""));
+        if (sentAt >= 0) {
+            recorder.record(FEED_FANOUT, System.nanoTime() - sentAt);
+        }
+    }
+
+    private HttpResponse<byte[]> call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (isOk(response)) {
+                recorder.record(endpoint, System.nanoTime() - start);
+            } else {
+                recorder.error(endpoint);
+            }
+            return response;
+        } catch (IOException e) {
+            recorder.error(endpoint);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.error(endpoint);
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(VirtualUser user, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + user.token);
+    }
+
+    private HttpRequest get(VirtualUser user, String path) {
+        return request(user, path).GET().build();
+    }
+
+    private HttpRequest multipart(VirtualUser user, String path, MultipartBody body) {
+        return request(user, path).header("Content-Type", body.contentType()).POST(body.publisher()).build();
+    }
+
+    private String randomPostId() {
+        synchronized (postIds) {
+            return postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+        }
+    }
+
+    private static boolean isOk(HttpResponse<byte[]> response) {
+        return response != null && response.statusCode() < 400;
+    }
+
+    private static void require(HttpResponse<byte[]> response, String action) {
+        if (!isOk(response)) {
+            throw new IllegalStateException(action + " failed during seeding: " + (response == null
+                    ? "no response"
+                    : response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static String stamp() {
+        return STAMP + System.nanoTime();
+    }
+
+    /**
+     * Thời điểm gửi mang trong nội dung, -1 nếu không phải nội dung của load test.
+     */
+    private static long sentAt(String content) {
+        if (!content.startsWith(STAMP)) {
+            return -1;
+        }
+        int end = content.indexOf(' ', STAMP.length());
+        try {
+            return Long.parseLong(end < 0 ? content.substring(STAMP.length()) : content.substring(STAMP.length(), end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static StompFrameHandler frameHandler(Consumer<JsonNode> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept((JsonNode) payload);
+            }
+        };
+    }
+
+    private void forEachUser(UserTask task) throws Exception {
+        List<Future<Void>> futures = users.stream()
+                .map(user -> executor.submit(() -> {
+                    task.run(user);
+                    return (Void) null;
+                }))
+                .toList();
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    private static byte[] tinyPng() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (VirtualUser user : users) {
+            if (user.session != null && user.session.isConnected()) {
+                user.session.disconnect();
+            }
+        }
+        stompClient.stop();
+        executor.shutdownNow();
+        http.close();
+    }
+
+    @FunctionalInterface
+    private interface UserTask {
+        void run(VirtualUser user) throws Exception;
+    }
+
+    /** Tin nhắn chat đang chờ echo của chính người gửi. */
+    private record PendingAck(String content, CompletableFuture<Void> future) {
+    }
+
+    private static final class VirtualUser {
+        final String id;
+        final String username;
+        final String token;
+        final List<String> followees = new ArrayList<>();
+        /** Đối tác chat -> conversationId (biết sau tin nhắn đầu tiên) */
+        final Map<String, Long> conversations = new ConcurrentHashMap<>();
+        volatile StompSession session;
+        volatile PendingAck pendingAck;
+
+        VirtualUser(String id, String username, String token) {
+            this.id = id;
+            this.username = username;
+            this.token = token;
+        }
+
+        String randomFollowee() {
+            return followees.get(ThreadLocalRandom.current().nextInt(followees.size()));
+        }
+    }
+}
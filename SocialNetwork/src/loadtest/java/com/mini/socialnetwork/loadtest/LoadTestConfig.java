@@ -0,0 +1,112 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cấu hình load test, đọc từ system properties {@code loadtest.*} (profile
+ * Maven {@code loadtest} truyền vào).
+ *
+ * @param users          số user ảo (mỗi user là một virtual thread, vòng lặp đóng)
+ * @param warmup         thời gian chạy trước khi bắt đầu đo
+ * @param duration       thời gian đo
+ * @param followsPerUser số user mỗi người follow khi seed (cũng là đối tác chat)
+ * @param postsPerUser   số bài viết mỗi user khi seed
+ * @param thinkTime      thời gian nghỉ giữa hai thao tác của một user
+ * @param imageRatio     tỉ lệ bài viết mới có ảnh (đi qua Cloudinary giả lập)
+ * @param mix            trọng số các thao tác
+ * @param virtualThreads chạy ứng dụng với {@code spring.threads.virtual.enabled}
+ * @param report         file JSON kết quả
+ */
+record LoadTestConfig(int users, Duration warmup, Duration duration, int followsPerUser, int postsPerUser,
+        Duration thinkTime, double imageRatio, Map<Operation, Integer> mix, boolean virtualThreads, String report) {
+
+    /**
+     * Các thao tác của user ảo; {@code key} là tên dùng trong {@code loadtest.mix}.
+     */
+    enum Operation {
+        FEED("feed"),
+        LIKE("like"),
+        COMMENT("comment"),
+        POST("post"),
+        CHAT("chat"),
+        FOLLOWERS("followers"),
+        UPLOAD("upload");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation op : values()) {
+                if (op.key.equals(key)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown load test operation: " + key);
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 100),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.follows-per-user", 10),
+                Integer.getInteger("loadtest.posts-per-user", 5),
+                Duration.ofMillis(Integer.getInteger("loadtest.think-time-ms", 0)),
+                Double.parseDouble(System.getProperty("loadtest.image-ratio", "0.1")),
+                parseMix(System.getProperty("loadtest.mix",
+                        "feed=50,like=20,comment=10,post=5,chat=12,followers=2,upload=1")),
+                Boolean.getBoolean("loadtest.virtual-threads"),
+                System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        if (config.users() < 2) {
+            throw new IllegalArgumentException("loadtest.users must be at least 2");
+        }
+        if (config.followsPerUser() < 1 || config.followsPerUser() >= config.users()) {
+            throw new IllegalArgumentException("loadtest.follows-per-user must be between 1 and users - 1");
+        }
+        return config;
+    }
+
+    /**
+     * Parse chuỗi dạng {@code feed=50,like=20}; thao tác không có trong chuỗi có trọng số 0.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] kv = entry.trim().split("=", 2);
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + entry);
+            }
+            mix.put(Operation.of(kv[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no positive weight: " + value);
+        }
+        return mix;
+    }
+
+    /**
+     * Chọn ngẫu nhiên một thao tác theo trọng số.
+     */
+    Operation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
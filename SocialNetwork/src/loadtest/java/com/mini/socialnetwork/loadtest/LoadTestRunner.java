@@ -0,0 +1,143 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mini.socialnetwork.SocialNetworkApplication;
+import com.mini.socialnetwork.loadtest.LatencyRecorder.EndpointStats;
+
+/**
+ * Load test end-to-end: khởi động ứng dụng thật trên các dịch vụ giả lập cục bộ
+ * rồi sinh tải qua HTTP và STOMP.
+ * <p>
+ * Thay thế: MySQL bằng MariaDB nhúng ({@link EmbeddedMariaDb}), Keycloak bằng
+ * {@link FakeKeycloakServer} (JWKS + Admin API), MinIO bằng
+ * {@link FakeS3Server}, Cloudinary bằng {@link FakeCloudinaryServer}. Các bean
+ * của ứng dụng giữ nguyên, chỉ đổi cấu hình kết nối (và tắt log DEBUG/SQL để
+ * log không chi phối kết quả). Kết quả (throughput, p50/p99/p999 theo
+ * endpoint) được in ra console và ghi JSON vào {@code loadtest.report}.
+ * </p>
+ * Chạy bằng {@code mvn -Ploadtest verify}; tham số xem {@link LoadTestConfig}.
+ */
+public final class LoadTestRunner {
+
+    private static final String REALM = "social-network";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        try (EmbeddedMariaDb db = EmbeddedMariaDb.start();
+                FakeKeycloakServer keycloak = new FakeKeycloakServer(REALM);
+                FakeS3Server s3 = new FakeS3Server();
+                FakeCloudinaryServer cloudinary = new FakeCloudinaryServer()) {
+            keycloak.start();
+            s3.start();
+            cloudinary.start();
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SocialNetworkApplication.class)
+                    .run(applicationArgs(config, db, keycloak, s3, cloudinary));
+                    LoadDriver driver = new LoadDriver(config,
+                            ((WebServerApplicationContext) app).getWebServer().getPort(), keycloak, recorder)) {
+                System.out.printf("Seeding %d users (%d follows, %d posts each)...%n",
+                        config.users(), config.followsPerUser(), config.postsPerUser());
+                driver.seed();
+                System.out.printf("Running mix %s (%s threads): warmup %ds, measure %ds%n",
+                        System.getProperty("loadtest.mix"), config.virtualThreads() ? "virtual" : "platform",
+                        config.warmup().toSeconds(), config.duration().toSeconds());
+                driver.run();
+            }
+
+            List<EndpointStats> stats = recorder.snapshot();
+            print(stats, recorder.elapsedSeconds());
+            writeReport(config, stats, recorder.elapsedSeconds(), s3, cloudinary);
+        }
+        // Thread nền của thư viện (MariaDB4j, WebSocket client) không được giữ JVM sống
+        System.exit(0);
+    }
+
+    private static String[] applicationArgs(LoadTestConfig config, EmbeddedMariaDb db, FakeKeycloakServer keycloak,
+            FakeS3Server s3, FakeCloudinaryServer cloudinary) {
+        return new String[] {
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.threads.virtual.enabled=" + config.virtualThreads(),
+                // Mỗi virtual user giữ một kết nối STOMP và một kết nối HTTP keep-alive
+                "--server.tomcat.max-connections=" + Math.max(8192, config.users() * 2 + 100),
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=" + db.jdbcUrl(),
+                "--spring.datasource.username=root",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.mariadb.jdbc.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.MariaDBDialect",
+                // Schema lưu UUID dạng binary(16) như MySQL, không dùng kiểu uuid native của MariaDB
+                "--spring.jpa.properties.hibernate.type.preferred_uuid_jdbc_type=BINARY",
+                "--spring.jpa.show-sql=false",
+                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + keycloak.jwkSetUri(),
+                "--keycloak.auth-server-url=" + keycloak.baseUrl(),
+                "--keycloak.realm=" + REALM,
+                "--keycloak.admin.client-secret=loadtest",
+                "--minio.endpoint=" + s3.baseUrl(),
+                "--minio.external-url=" + s3.baseUrl(),
+                "--cloudinary.url=" + cloudinary.cloudinaryUrl(),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.messaging=WARN",
+                "--logging.level.org.springframework.web.socket=WARN",
+                "--logging.level.com.mini.socialnetwork=WARN",
+        };
+    }
+
+    private static void print(List<EndpointStats> stats, double seconds) {
+        System.out.printf("%nMeasured %.1f s%n", seconds);
+        System.out.printf("%-42s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointStats s : stats) {
+            System.out.printf("%-42s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint(), s.count(), s.errors(), s.throughput(), s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs());
+        }
+    }
+
+    private static void writeReport(LoadTestConfig config, List<EndpointStats> stats, double seconds,
+            FakeS3Server s3, FakeCloudinaryServer cloudinary) throws Exception {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", config.users());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("followsPerUser", config.followsPerUser());
+        settings.put("postsPerUser", config.postsPerUser());
+        settings.put("thinkTimeMs", config.thinkTime().toMillis());
+        settings.put("imageRatio", config.imageRatio());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((op, weight) -> mix.put(op.key, weight));
+        settings.put("mix", mix);
+        settings.put("virtualThreads", config.virtualThreads());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", settings);
+        report.put("measuredSeconds", seconds);
+        report.put("endpoints", stats);
+        report.put("stubs", Map.of(
+                "s3Objects", s3.objectCount(),
+                "cloudinaryUploads", cloudinary.uploadCount()));
+
+        File file = new File(config.report());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+}
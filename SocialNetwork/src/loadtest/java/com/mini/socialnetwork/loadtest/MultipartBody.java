@@ -0,0 +1,44 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Dựng body {@code multipart/form-data} cho {@link java.net.http.HttpClient}
+ * (JDK không có sẵn).
+ */
+final class MultipartBody {
+
+    private final String boundary = "loadtest-" + UUID.randomUUID();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    MultipartBody field(String name, String value) {
+        write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n");
+        write(value);
+        write("\r\n");
+        return this;
+    }
+
+    MultipartBody file(String name, String filename, String contentType, byte[] data) {
+        write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                + filename + "\"\r\nContent-Type: " + contentType + "\r\n\r\n");
+        out.writeBytes(data);
+        write("\r\n");
+        return this;
+    }
+
+    String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    HttpRequest.BodyPublisher publisher() {
+        write("--" + boundary + "--\r\n");
+        return HttpRequest.BodyPublishers.ofByteArray(out.toByteArray());
+    }
+
+    private void write(String s) {
+        out.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package com.mini.socialnetwork.loadtest;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * HTTP server giả lập dịch vụ ngoài (Keycloak, S3, Cloudinary) chạy trong cùng
+ * process với load test, lắng nghe trên loopback ở port ngẫu nhiên.
+ * Mỗi request được xử lý trên một virtual thread.
+ */
+abstract class StubServer implements AutoCloseable {
+
+    protected static final ObjectMapper JSON = new ObjectMapper();
+
+    private HttpServer server;
+
+    /**
+     * Mở port và bắt đầu nhận request.
+     */
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::dispatch);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Xử lý một request; exchange được đóng sau khi hàm trả về.
+     */
+    protected abstract void handle(HttpExchange exchange) throws IOException;
+
+    private void dispatch(HttpExchange exchange) {
+        try (exchange) {
+            handle(exchange);
+        } catch (Exception e) {
+            try {
+                send(exchange, 500, "text/plain", String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ignored) {
+                // Client đã đóng kết nối
+            }
+        }
+    }
+
+    protected static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        boolean noBody = body == null || body.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+        if (contentType != null && !noBody) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    protected static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json", JSON.writeValueAsBytes(body));
+    }
+
+    protected static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        send(exchange, status, null, null);
+    }
+
+    protected static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.putIfAbsent(key, value);
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
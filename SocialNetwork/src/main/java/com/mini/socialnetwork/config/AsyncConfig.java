@@ -0,0 +1,41 @@
+package com.mini.socialnetwork.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Cấu hình executor cho các job nền của admin (xóa user, ...).
+ * Pool nhỏ để job nền không tranh tài nguyên với request của người dùng.
+ * Khi bật {@code spring.threads.virtual.enabled}, worker là virtual thread
+ * (giữ nguyên giới hạn pool/queue); executor mặc định của {@code @Async} và
+ * scheduler do Spring Boot tự chuyển sang virtual thread. Scheduler dùng pool
+ * {@code spring.task.scheduling.pool.size} để job {@code @Scheduled} dài không
+ * chặn các job ngắn.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = "adminJobExecutor")
+    public Executor adminJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("admin-job-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("admin-job-", 0).factory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
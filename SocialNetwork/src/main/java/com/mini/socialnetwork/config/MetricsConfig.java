@@ -0,0 +1,114 @@
+package com.mini.socialnetwork.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Cấu hình Micrometer (xuất ra Prometheus tại {@code /actuator/prometheus}).
+ * <p>
+ * Spring Boot Actuator đã tự đo HTTP server ({@code http.server.requests}),
+ * repository ({@code spring.data.repository.invocations}), RestTemplate
+ * ({@code http.client.requests}), Hikari pool, executor và JVM. Lớp này bổ
+ * sung tag {@code module} (tên package dưới
+ * {@code com.mini.socialnetwork.modules}) cho request và repository để lọc
+ * hot path theo module, cùng các gauge/counter phiên WebSocket. Frame STOMP
+ * được đếm bởi {@link WebSocketMetricsInterceptor}.
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String MODULES_PACKAGE = "com.mini.socialnetwork.modules.";
+    private static final String APP_PACKAGE = "com.mini.socialnetwork";
+
+    /**
+     * Thêm tag {@code module} theo controller xử lý request.
+     */
+    @Bean
+    public ServerRequestObservationConvention moduleServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String module = handler instanceof HandlerMethod method ? moduleOf(method.getBeanType()) : "none";
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of("module", module));
+            }
+        };
+    }
+
+    /**
+     * Thêm tag {@code module} theo package của repository interface.
+     */
+    @Bean
+    public RepositoryTagsProvider moduleRepositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(super.repositoryTags(invocation))
+                        .and("module", moduleOf(invocation.getRepositoryInterface()));
+            }
+        };
+    }
+
+    /**
+     * Số phiên WebSocket/SockJS đang mở theo transport, tổng số phiên đã mở và
+     * số phiên bị đóng bất thường theo lý do.
+     */
+    @Bean
+    public MeterBinder webSocketSessionMetrics(
+            @Qualifier("subProtocolWebSocketHandler") WebSocketHandler webSocketHandler) {
+        return registry -> {
+            if (!(webSocketHandler instanceof SubProtocolWebSocketHandler handler)) {
+                return;
+            }
+            Gauge.builder("websocket.sessions", handler, h -> h.getStats().getWebSocketSessions())
+                    .tag("transport", "websocket").register(registry);
+            Gauge.builder("websocket.sessions", handler, h -> h.getStats().getHttpStreamingSessions())
+                    .tag("transport", "http_streaming").register(registry);
+            Gauge.builder("websocket.sessions", handler, h -> h.getStats().getHttpPollingSessions())
+                    .tag("transport", "http_polling").register(registry);
+            FunctionCounter.builder("websocket.sessions.opened", handler, h -> h.getStats().getTotalSessions())
+                    .register(registry);
+            FunctionCounter.builder("websocket.sessions.closed", handler, h -> h.getStats().getLimitExceededSessions())
+                    .tag("reason", "limit_exceeded").register(registry);
+            FunctionCounter.builder("websocket.sessions.closed", handler,
+                    h -> h.getStats().getNoMessagesReceivedSessions())
+                    .tag("reason", "no_messages_received").register(registry);
+            FunctionCounter.builder("websocket.sessions.closed", handler, h -> h.getStats().getTransportErrorSessions())
+                    .tag("reason", "transport_error").register(registry);
+        };
+    }
+
+    /**
+     * Tên module của một lớp: {@code modules.<module>...} → module, các package
+     * khác của ứng dụng → core, lớp của framework → none.
+     */
+    static String moduleOf(Class<?> type) {
+        String pkg = type.getPackageName();
+        if (pkg.startsWith(MODULES_PACKAGE)) {
+            String rest = pkg.substring(MODULES_PACKAGE.length());
+            int dot = rest.indexOf('.');
+            return dot < 0 ? rest : rest.substring(0, dot);
+        }
+        return pkg.startsWith(APP_PACKAGE) ? "core" : "none";
+    }
+}
@@ -0,0 +1,74 @@
+package com.mini.socialnetwork.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.mini.socialnetwork.infras.QueryCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đếm số câu SQL của mỗi HTTP request (kể cả lazy loading lúc serialize JSON do
+ * open-in-view) bằng {@link QueryCounter}.
+ * <p>
+ * Số câu được xuất ra summary {@code sql.statements.per.request} (tag
+ * {@code method}, {@code uri} là route pattern, {@code module}); request vượt
+ * ngưỡng {@code sql.query-count.warn-threshold} được log WARN để tìm N+1.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+            @Value("${sql.query-count.warn-threshold:20}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            chain.doFilter(request, response);
+            record(request, scope.count());
+        }
+    }
+
+    private void record(HttpServletRequest request, long count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        String module = handler instanceof HandlerMethod method ? MetricsConfig.moduleOf(method.getBeanType()) : "none";
+
+        DistributionSummary.builder("sql.statements.per.request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("module", module)
+                .register(meterRegistry)
+                .record(count);
+
+        if (count > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements (threshold {})", request.getMethod(), uri, count,
+                    warnThreshold);
+        }
+    }
+}
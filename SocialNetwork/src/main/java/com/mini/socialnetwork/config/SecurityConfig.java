@@ -1,6 +1,7 @@
 package com.mini.socialnetwork.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -16,6 +17,16 @@ import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import java.net.MalformedURLException;
+import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +44,30 @@ public class SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
     private String jwkSetUri;
 
+    /** Timeout kết nối/đọc khi tải JWK Set */
+    private static final int JWK_SET_TIMEOUT_MS = 5000;
+
+    /**
+     * Security filter chain cho Actuator (management port): health và
+     * prometheus (scrape) không cần JWT, các endpoint khác yêu cầu role admin
+     * (order 0)
+     */
+    @Bean
+    @Order(0)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        .anyRequest().hasRole("admin"))
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt
+                                .decoder(jwtDecoder())
+                                .jwtAuthenticationConverter(jwtAuthenticationConverter())));
+        return http.build();
+    }
+
     /**
      * Security filter chain cho các endpoint public (không cần JWT)
      * Có độ ưu tiên cao nhất (order 1)
@@ -98,11 +133,34 @@ public class SecurityConfig {
      * <li>Kiểm tra thời gian hết hạn (exp claim)</li>
      * </ol>
      *
+     * <p>
+     * JWK Set được lấy qua {@link JWKSourceBuilder} (cache, refresh trước khi hết
+     * hạn, khóa bằng ReentrantLock) thay vì RemoteJWKSet mặc định, vốn gọi HTTP
+     * bên trong {@code synchronized} và pin virtual thread vào carrier thread
+     * trong lúc tải key. Timeout HTTP đặt rõ (mặc định của builder chỉ 500 ms),
+     * lỗi tải được thử lại một lần. Claims do JwtValidators của Spring kiểm tra
+     * như trước.
+     * </p>
+     *
      * @return NimbusJwtDecoder đã được cấu hình với JWK Set URI
      */
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withJwkSetUri(this.jwkSetUri).build();
+        JWKSource<SecurityContext> jwkSource;
+        try {
+            jwkSource = JWKSourceBuilder.create(URI.create(this.jwkSetUri).toURL(),
+                    new DefaultResourceRetriever(JWK_SET_TIMEOUT_MS, JWK_SET_TIMEOUT_MS,
+                            JWKSourceBuilder.DEFAULT_HTTP_SIZE_LIMIT))
+                    .retrying(true)
+                    .build();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid jwk-set-uri: " + this.jwkSetUri, e);
+        }
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
     }
 
     /**
@@ -1,13 +1,17 @@
 package com.mini.socialnetwork.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import com.mini.socialnetwork.modules.chat.security.WebSocketAuthInterceptor;
 
 /**
@@ -96,6 +100,18 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private SecurityConfig securityConfig;
 
+    /** Registry Micrometer để đếm frame STOMP vào/ra */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Chạy kênh inbound/outbound trên virtual thread (cùng công tắc với Tomcat) */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /** Số message xử lý đồng thời tối đa mỗi kênh khi dùng virtual thread */
+    @Value("${websocket.channel.virtual-concurrency:256}")
+    private int virtualChannelConcurrency;
+
     /**
      * Cấu hình interceptor cho kênh inbound từ client.
      * <p>
@@ -107,12 +123,48 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      *   <li>Xác minh token qua JwtDecoder</li>
      *   <li>Tạo Authentication object và gắn vào WebSocket session</li>
      * </ul>
+     * <p>
+     * {@link WebSocketMetricsInterceptor} đứng trước để đếm cả frame bị từ chối.
+     * Ở chế độ virtual thread, handler (JDBC, publish event) chạy trên virtual
+     * thread thay vì pool 2 x số core mặc định.
+     * </p>
      *
      * @param registration registration để đăng ký channel interceptors
      * @see WebSocketAuthInterceptor
      */
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(new WebSocketAuthInterceptor(securityConfig.jwtDecoder(), securityConfig.jwtAuthenticationConverter()));
+        registration.interceptors(new WebSocketMetricsInterceptor(meterRegistry, "inbound"),
+                new WebSocketAuthInterceptor(securityConfig.jwtDecoder(), securityConfig.jwtAuthenticationConverter()));
+        if (virtualThreads) {
+            registration.taskExecutor(virtualChannelExecutor("clientInboundChannel-"));
+        }
+    }
+
+    /**
+     * Đếm frame STOMP server gửi xuống client (message, ack, heartbeat...).
+     *
+     * @param registration registration để đăng ký channel interceptors
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new WebSocketMetricsInterceptor(meterRegistry, "outbound"));
+        if (virtualThreads) {
+            registration.taskExecutor(virtualChannelExecutor("clientOutboundChannel-"));
+        }
+    }
+
+    /**
+     * Executor của kênh STOMP chạy mỗi worker trên một virtual thread. Vẫn là
+     * ThreadPoolTaskExecutor (API ChannelRegistration yêu cầu) nhưng số worker
+     * lớn vì virtual thread bị block I/O không giữ carrier thread.
+     */
+    private ThreadPoolTaskExecutor virtualChannelExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        executor.setCorePoolSize(virtualChannelConcurrency);
+        executor.setMaxPoolSize(virtualChannelConcurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
     }
 }
@@ -0,0 +1,45 @@
+package com.mini.socialnetwork.config;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Đếm frame STOMP đi qua client inbound/outbound channel
+ * ({@code websocket.frames}, tag {@code direction} và {@code type}: connect,
+ * subscribe, message...). Counter được tạo sẵn cho mọi loại message nên mỗi
+ * frame chỉ tốn một lần tra EnumMap.
+ */
+public class WebSocketMetricsInterceptor implements ChannelInterceptor {
+
+    private final Map<SimpMessageType, Counter> counters = new EnumMap<>(SimpMessageType.class);
+
+    /**
+     * @param registry  registry Micrometer
+     * @param direction inbound (client → server) hoặc outbound (server → client)
+     */
+    public WebSocketMetricsInterceptor(MeterRegistry registry, String direction) {
+        for (SimpMessageType type : SimpMessageType.values()) {
+            counters.put(type, Counter.builder("websocket.frames")
+                    .tag("direction", direction)
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        counters.get(type != null ? type : SimpMessageType.OTHER).increment();
+        return message;
+    }
+}
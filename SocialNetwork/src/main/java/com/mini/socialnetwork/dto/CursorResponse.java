@@ -0,0 +1,17 @@
+package com.mini.socialnetwork.dto;
+
+import java.util.List;
+
+/**
+ * Response cho phân trang keyset (cursor-based).
+ * {@code nextCursor} là null khi không còn trang tiếp theo.
+ */
+public record CursorResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext) {
+
+    public static <T> CursorResponse<T> of(List<T> content, String nextCursor) {
+        return new CursorResponse<>(content, nextCursor, nextCursor != null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mini.socialnetwork.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Vị trí keyset (createdAt, id) của bản ghi cuối cùng trong một trang.
+ * Được mã hóa Base64 URL-safe để client truyền lại nguyên vẹn.
+ */
+public record KeysetCursor(Instant createdAt, UUID id) {
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Giải mã cursor từ client.
+     *
+     * @param cursor chuỗi cursor, có thể null
+     * @return KeysetCursor hoặc null nếu cursor rỗng
+     * @throws IllegalArgumentException nếu cursor không hợp lệ
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new KeysetCursor(Instant.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
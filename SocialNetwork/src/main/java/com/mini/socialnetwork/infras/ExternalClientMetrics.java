@@ -0,0 +1,37 @@
+package com.mini.socialnetwork.infras;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Đo các lời gọi tới dịch vụ ngoài không có instrumentation sẵn (MinIO SDK,
+ * Cloudinary SDK).
+ * <p>
+ * Mỗi lời gọi là một observation {@code external.client.requests} với tag
+ * {@code client} (minio, cloudinary), {@code operation} (putObject, upload...)
+ * và {@code error} (tên exception hoặc none), xuất ra Prometheus dạng timer
+ * cùng với {@code http.client.requests} của Keycloak (RestTemplate).
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalClientMetrics {
+
+    public static final String METRIC_NAME = "external.client.requests";
+
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Chạy lời gọi trong một observation; exception được ghi nhận rồi ném lại nguyên vẹn.
+     */
+    public <T, E extends Throwable> T observe(String client, String operation, Observation.CheckedCallable<T, E> call)
+            throws E {
+        return Observation.createNotStarted(METRIC_NAME, observationRegistry)
+                .lowCardinalityKeyValue("client", client)
+                .lowCardinalityKeyValue("operation", operation)
+                .observeChecked(call);
+    }
+}
@@ -0,0 +1,27 @@
+package com.mini.socialnetwork.infras;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lấy mẫu log cho các đường nóng (mỗi tin nhắn chat...).
+ * <p>
+ * {@link #sample()} trả về true với xác suất 1/rate; rate &lt;= 1 nghĩa là log
+ * tất cả. Dùng ThreadLocalRandom nên không có tranh chấp giữa các thread.
+ * </p>
+ */
+public final class LogSampler {
+
+    private final int rate;
+
+    public LogSampler(int rate) {
+        this.rate = rate;
+    }
+
+    public boolean sample() {
+        return rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    public int rate() {
+        return rate;
+    }
+}
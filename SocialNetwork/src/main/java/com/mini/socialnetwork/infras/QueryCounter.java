@@ -0,0 +1,64 @@
+package com.mini.socialnetwork.infras;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Đếm số câu SQL Hibernate chuẩn bị trên thread hiện tại, dùng để phát hiện N+1.
+ * <p>
+ * Đăng ký qua {@code hibernate.session_factory.statement_inspector}. Chỉ đếm khi
+ * thread đang có {@link Scope} mở (mỗi HTTP request trong
+ * {@link com.mini.socialnetwork.config.QueryCountFilter}, hoặc trong test qua
+ * {@code assertMaxQueries}); ngoài scope inspector không làm gì. Batch JDBC
+ * được tính là một câu.
+ * </p>
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Mở scope đếm mới cho thread hiện tại; đóng scope khôi phục scope trước đó.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+        }
+        return sql;
+    }
+
+    /**
+     * Phạm vi đếm, dùng với try-with-resources.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope previous;
+        private long count;
+
+        private Scope(Scope previous) {
+            this.previous = previous;
+        }
+
+        /** Số câu SQL đã thực thi trong scope */
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                previous.count += count;
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
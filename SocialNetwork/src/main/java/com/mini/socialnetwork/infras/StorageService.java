@@ -2,12 +2,16 @@ package com.mini.socialnetwork.infras;
 
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import com.mini.socialnetwork.modules.chat.entity.Message.Attachment;
+import java.io.ByteArrayInputStream;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,9 +26,12 @@ import java.util.UUID;
  * <p>File được tổ chức theo cấu trúc thư mục:</p>
  * <pre>
  * {bucket}/
- *   └── conversations/
- *       └── {conversationId}/
- *           └── {uuid}_{filename}
+ *   ├── conversations/
+ *   │   └── {conversationId}/
+ *   │       └── {uuid}_{filename}
+ *   └── avatars/
+ *       └── {userId}/
+ *           └── {uuid}_{size}.jpg
  * </pre>
  *
  * <h2>URL công khai:</h2>
@@ -46,6 +53,9 @@ public class StorageService {
     /** Client MinIO đã được cấu hình */
     private final MinioClient minioClient;
 
+    /** Đo thời gian/lỗi các lời gọi MinIO */
+    private final ExternalClientMetrics externalClientMetrics;
+
     /** Tên bucket để lưu trữ file */
     @Value("${minio.bucket-name}")
     private String bucketName;
@@ -83,13 +93,13 @@ public class StorageService {
             String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename().replaceAll("\\s+", "_");
             String objectKey = "conversations/" + conversationId + "/" + fileName;
 
-            minioClient.putObject(
+            externalClientMetrics.observe("minio", "putObject", () -> minioClient.putObject(
                     PutObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectKey)
                             .stream(file.getInputStream(), file.getSize(), -1)
                             .contentType(file.getContentType())
-                            .build());
+                            .build()));
             
             String publicUrl = externalUrl + "/" + bucketName + "/" + objectKey;
 
@@ -106,6 +116,55 @@ public class StorageService {
         }
     }
 
+    /**
+     * Upload nội dung đã có sẵn trong bộ nhớ với object key cố định.
+     * <p>
+     * Object được gắn header {@code Cache-Control: immutable} vì key luôn chứa
+     * UUID mới: nội dung không bao giờ thay đổi nên CDN/trình duyệt có thể cache
+     * vĩnh viễn.
+     * </p>
+     *
+     * @param objectKey   key của object trong bucket
+     * @param data        nội dung file
+     * @param contentType MIME type
+     * @return URL công khai của object
+     * @throws RuntimeException nếu có lỗi trong quá trình upload
+     */
+    public String uploadBytes(String objectKey, byte[] data, String contentType) {
+        try {
+            externalClientMetrics.observe("minio", "putObject", () -> minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectKey)
+                            .stream(new ByteArrayInputStream(data), data.length, -1)
+                            .contentType(contentType)
+                            .headers(Map.of("Cache-Control", "public, max-age=31536000, immutable"))
+                            .build()));
+            return getPublicUrl(objectKey);
+        } catch (Exception e) {
+            log.error("Error during upload of {}", objectKey, e);
+            throw new RuntimeException("Upload error", e);
+        }
+    }
+
+    /**
+     * Xóa các object (best-effort: lỗi chỉ được ghi log).
+     *
+     * @param objectKeys danh sách key cần xóa
+     */
+    public void deleteObjects(Collection<String> objectKeys) {
+        for (String objectKey : objectKeys) {
+            try {
+                externalClientMetrics.observe("minio", "removeObject", () -> {
+                    minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(objectKey).build());
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("Failed to delete object {}: {}", objectKey, e.getMessage());
+            }
+        }
+    }
+
     /**
      * Xây dựng URL công khai cho một object key.
      * <p>
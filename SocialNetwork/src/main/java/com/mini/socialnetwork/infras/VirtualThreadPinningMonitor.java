@@ -0,0 +1,92 @@
+package com.mini.socialnetwork.infras;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Phát hiện virtual thread bị pin vào carrier thread (block trong
+ * {@code synchronized} hoặc native frame) khi bật virtual threads.
+ * <p>
+ * Đọc event JFR {@code jdk.VirtualThreadPinned} (dài hơn
+ * {@code virtual-threads.pinning.threshold-ms}) trong process, ghi timer
+ * {@code jvm.threads.virtual.pinned} với tag {@code site} là frame đầu tiên
+ * ngoài JDK (thường là driver/thư viện giữ monitor), và log WARN kèm stack đã
+ * lấy mẫu. Tương đương {@code -Djdk.tracePinnedThreads=short} nhưng đo được
+ * trên Prometheus.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final LogSampler logSampler;
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMs,
+            @Value("${virtual-threads.pinning.log-sample-rate:100}") int logSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.logSampler = new LogSampler(logSampleRate);
+    }
+
+    @PostConstruct
+    void start() {
+        recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        recording.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::methodName)
+                .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (logSampler.sample()) {
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES)
+                    .forEach(frame -> stack.append("\n\tat ").append(methodName(frame)).append(':')
+                            .append(frame.getLineNumber()));
+            log.warn("Virtual thread pinned for {} ms at {} (sampled 1/{}){}", event.getDuration().toMillis(), site,
+                    logSampler.rate(), stack);
+        }
+    }
+
+    private static String methodName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
@@ -1,13 +1,23 @@
 package com.mini.socialnetwork.modules.admin.controller;
 
+import com.mini.socialnetwork.dto.CursorResponse;
 import com.mini.socialnetwork.modules.admin.dto.*;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob;
 import com.mini.socialnetwork.modules.admin.service.AdminService;
+import com.mini.socialnetwork.modules.admin.service.UserDeletionJobService;
+import com.mini.socialnetwork.modules.follow.service.FollowCounterService;
+import com.mini.socialnetwork.modules.statistics.dto.RealtimeMetricsDto;
+import com.mini.socialnetwork.modules.statistics.service.RealtimeMetricsService;
+import com.mini.socialnetwork.modules.user.service.AvatarMigrationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,6 +32,10 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminService adminService;
+    private final UserDeletionJobService userDeletionJobService;
+    private final RealtimeMetricsService realtimeMetricsService;
+    private final AvatarMigrationService avatarMigrationService;
+    private final FollowCounterService followCounterService;
 
     // ==================== DASHBOARD ====================
 
@@ -37,21 +51,45 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getPostStatistics(days));
     }
 
+    /**
+     * Snapshot metrics realtime cho lần tải đầu; cập nhật tiếp theo được đẩy qua
+     * WebSocket tới /topic/admin/metrics.
+     */
+    @GetMapping("/metrics/realtime")
+    public ResponseEntity<RealtimeMetricsDto> getRealtimeMetrics() {
+        return ResponseEntity.ok(realtimeMetricsService.snapshot());
+    }
+
+    @PostMapping("/statistics/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildStatistics() {
+        log.info("Admin: Rebuilding statistics rollups");
+        adminService.rebuildStatistics();
+        return ResponseEntity.ok(Map.of("message", "Statistics rebuilt successfully"));
+    }
+
     @PostMapping("/sync-users")
     public ResponseEntity<Map<String, Object>> syncUsersFromKeycloak() {
         log.info("Admin: Syncing users from Keycloak to MySQL");
-        int syncedCount = adminService.syncUsersFromKeycloak();
+        KeycloakSyncResult result = adminService.syncUsersFromKeycloak();
         return ResponseEntity.ok(Map.of(
                 "message", "Sync completed successfully",
-                "syncedCount", syncedCount));
+                "syncedCount", result.created(),
+                "updatedCount", result.updated(),
+                "unchangedCount", result.unchanged()));
     }
 
     // ==================== USER MANAGEMENT ====================
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserAdminDto>> getAllUsers() {
-        log.info("Admin: Getting all users");
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<CursorResponse<UserAdminDto>> getUsers(AdminListFilter filter) {
+        log.info("Admin: Getting users page, filter: {}", filter);
+        return ResponseEntity.ok(adminService.getUsers(filter));
+    }
+
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(AdminListFilter filter) {
+        log.info("Admin: Exporting users, filter: {}", filter);
+        return csv("users.csv", out -> adminService.exportUsersCsv(filter, out));
     }
 
     @GetMapping("/users/{id}")
@@ -67,18 +105,58 @@ public class AdminController {
     }
 
     @DeleteMapping("/users/{id}")
-    public ResponseEntity<Map<String, String>> deleteUser(@PathVariable UUID id) {
+    public ResponseEntity<Map<String, Object>> deleteUser(@PathVariable UUID id) {
         log.info("Admin: Permanently deleting user: {}", id);
-        adminService.deleteUser(id);
-        return ResponseEntity.ok(Map.of("message", "User permanently deleted from system"));
+        UserDeletionJob job = adminService.deleteUser(id);
+        return ResponseEntity.accepted().body(Map.of(
+                "message", "User deletion started",
+                "jobId", job.getId(),
+                "status", job.getStatus()));
+    }
+
+    @GetMapping("/jobs/user-deletions/{jobId}")
+    public ResponseEntity<UserDeletionJob> getUserDeletionJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(userDeletionJobService.getJob(jobId));
+    }
+
+    @PostMapping("/jobs/user-deletions/{jobId}/resume")
+    public ResponseEntity<UserDeletionJob> resumeUserDeletionJob(@PathVariable UUID jobId) {
+        log.info("Admin: Resuming user deletion job: {}", jobId);
+        return ResponseEntity.ok(userDeletionJobService.resume(jobId));
+    }
+
+    /**
+     * Chuyển avatar inline (data-URL) sang object storage (chạy nền).
+     */
+    @PostMapping("/jobs/avatar-migration")
+    public ResponseEntity<Map<String, Object>> migrateAvatars() {
+        log.info("Admin: Starting inline avatar migration");
+        avatarMigrationService.migrateInlineAvatars();
+        return ResponseEntity.accepted().body(Map.of("message", "Avatar migration started"));
+    }
+
+    /**
+     * Đếm lại bộ đếm followers/following của toàn bộ users (chạy nền).
+     */
+    @PostMapping("/jobs/follow-counters/recount")
+    public ResponseEntity<Map<String, Object>> recountFollowCounters() {
+        log.info("Admin: Starting follow counter recount");
+        followCounterService.recountAllAsync();
+        return ResponseEntity.accepted().body(Map.of("message", "Follow counter recount started"));
     }
 
     // ==================== POST MANAGEMENT ====================
 
     @GetMapping("/posts")
-    public ResponseEntity<List<PostAdminDto>> getAllPosts() {
-        log.info("Admin: Getting all posts");
-        return ResponseEntity.ok(adminService.getAllPosts());
+    public ResponseEntity<CursorResponse<PostAdminDto>> getPosts(AdminListFilter filter) {
+        log.info("Admin: Getting posts page, filter: {}", filter);
+        return ResponseEntity.ok(adminService.getPosts(filter));
+    }
+
+    @GetMapping("/posts/export")
+    public ResponseEntity<StreamingResponseBody> exportPosts(AdminListFilter filter) {
+        log.info("Admin: Exporting posts, filter: {}", filter);
+        return csv("posts.csv", out -> adminService.exportPostsCsv(filter, out));
     }
 
     @GetMapping("/posts/{id}")
@@ -103,9 +181,15 @@ public class AdminController {
     // ==================== COMMENT MANAGEMENT ====================
 
     @GetMapping("/comments")
-    public ResponseEntity<List<CommentAdminDto>> getAllComments() {
-        log.info("Admin: Getting all comments");
-        return ResponseEntity.ok(adminService.getAllComments());
+    public ResponseEntity<CursorResponse<CommentAdminDto>> getComments(AdminListFilter filter) {
+        log.info("Admin: Getting comments page, filter: {}", filter);
+        return ResponseEntity.ok(adminService.getComments(filter));
+    }
+
+    @GetMapping("/comments/export")
+    public ResponseEntity<StreamingResponseBody> exportComments(AdminListFilter filter) {
+        log.info("Admin: Exporting comments, filter: {}", filter);
+        return csv("comments.csv", out -> adminService.exportCommentsCsv(filter, out));
     }
 
     @GetMapping("/comments/{id}")
@@ -126,4 +210,11 @@ public class AdminController {
         adminService.deleteComment(id);
         return ResponseEntity.ok(Map.of("message", "Comment deleted successfully"));
     }
+
+    private ResponseEntity<StreamingResponseBody> csv(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
 }
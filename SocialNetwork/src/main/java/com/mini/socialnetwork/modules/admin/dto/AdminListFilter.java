@@ -0,0 +1,35 @@
+package com.mini.socialnetwork.modules.admin.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Tham số lọc/phân trang cho các danh sách trong admin panel.
+ * Bind trực tiếp từ query string, ví dụ:
+ * {@code /api/admin/posts?authorId=...&from=2024-01-01&deleted=false&q=abc&size=50&cursor=...}
+ */
+@Data
+public class AdminListFilter {
+    private UUID authorId; // lọc theo tác giả (posts, comments)
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from; // ngày bắt đầu (bao gồm)
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to; // ngày kết thúc (bao gồm)
+
+    private Boolean deleted; // lọc theo cờ isDeleted (posts, comments)
+    private Boolean active; // lọc theo cờ isActive (users)
+    private String q; // tiền tố nội dung / username / name / email
+    private String sort = "desc"; // "desc" (mới nhất trước) hoặc "asc"
+    private String cursor; // cursor trả về từ trang trước
+    private int size = 50; // kích thước trang
+
+    public boolean isAscending() {
+        return "asc".equalsIgnoreCase(sort);
+    }
+}
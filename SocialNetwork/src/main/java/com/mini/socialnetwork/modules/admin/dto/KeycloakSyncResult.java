@@ -0,0 +1,27 @@
+package com.mini.socialnetwork.modules.admin.dto;
+
+/**
+ * Kết quả đồng bộ users từ Keycloak.
+ *
+ * @param created   số user được tạo mới
+ * @param updated   số user có thay đổi và được cập nhật
+ * @param unchanged số user không thay đổi (không ghi DB)
+ */
+public record KeycloakSyncResult(int created, int updated, int unchanged) {
+
+    public static KeycloakSyncResult empty() {
+        return new KeycloakSyncResult(0, 0, 0);
+    }
+
+    public KeycloakSyncResult plus(KeycloakSyncResult other) {
+        return new KeycloakSyncResult(created + other.created, updated + other.updated,
+                unchanged + other.unchanged);
+    }
+
+    /**
+     * Tổng số user đã xử lý.
+     */
+    public int total() {
+        return created + updated + unchanged;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mini.socialnetwork.modules.admin.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mốc đồng bộ incremental với Keycloak (một dòng mỗi nguồn event), lưu trong DB
+ * để event phát sinh khi ứng dụng dừng vẫn được xử lý ở lần chạy sau.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "keycloak_sync_state")
+public class KeycloakSyncState {
+
+    /** Nguồn event đã đồng bộ (admin events và user events dùng chung một mốc) */
+    public static final String EVENTS = "events";
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    /** Thời điểm (epoch ms, theo đồng hồ Keycloak) của event mới nhất đã xử lý */
+    @Column(nullable = false)
+    private long lastEventTime;
+
+    /** Khóa (mỗi dòng một khóa) các event đã xử lý có thời điểm đúng bằng {@link #lastEventTime} */
+    @Column(columnDefinition = "TEXT")
+    private String lastEventKeys;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,84 @@
+package com.mini.socialnetwork.modules.admin.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Job xóa hoàn toàn một user chạy nền.
+ * <p>
+ * Lưu checkpoint theo {@link Stage}: mỗi chunk được xóa trong một transaction
+ * ngắn và job cập nhật stage/processedCount sau mỗi chunk, nên có thể tiếp tục
+ * từ stage hiện tại nếu ứng dụng bị dừng giữa chừng.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_deletion_jobs", indexes = {
+        @Index(name = "idx_user_deletion_jobs_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_user_deletion_jobs_status", columnList = "status")
+})
+public class UserDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    private UUID userId; // user cần xóa
+
+    private String username; // để hiển thị sau khi user đã bị xóa
+
+    @Enumerated(EnumType.STRING)
+    private Stage stage; // stage đang xử lý (checkpoint)
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private long processedCount; // tổng số bản ghi đã xóa
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+    /**
+     * Các bước xóa, thực hiện tuần tự.
+     */
+    public enum Stage {
+        KEYCLOAK,
+        COMMENTS,
+        POST_COMMENTS,
+        POSTS,
+        MESSAGES,
+        NOTIFICATIONS,
+        FOLLOWS,
+        USER,
+        DONE
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
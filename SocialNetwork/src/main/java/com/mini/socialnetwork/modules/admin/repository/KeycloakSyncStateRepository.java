@@ -0,0 +1,10 @@
+package com.mini.socialnetwork.modules.admin.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mini.socialnetwork.modules.admin.entity.KeycloakSyncState;
+
+@Repository
+public interface KeycloakSyncStateRepository extends JpaRepository<KeycloakSyncState, String> {
+}
@@ -0,0 +1,20 @@
+package com.mini.socialnetwork.modules.admin.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob.Status;
+
+@Repository
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, UUID> {
+
+    List<UserDeletionJob> findByStatusIn(Collection<Status> statuses);
+
+    Optional<UserDeletionJob> findFirstByUserIdAndStatusIn(UUID userId, Collection<Status> statuses);
+}
@@ -1,31 +1,47 @@
 package com.mini.socialnetwork.modules.admin.service;
 
+import com.mini.socialnetwork.dto.CursorResponse;
+import com.mini.socialnetwork.dto.KeysetCursor;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
 import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
+import com.mini.socialnetwork.modules.user.service.AvatarService;
 import com.mini.socialnetwork.modules.admin.dto.*;
-import com.mini.socialnetwork.modules.auth.service.KeycloakAdminService;
-import com.mini.socialnetwork.modules.chat.repository.MessageRepository;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob;
 import com.mini.socialnetwork.modules.comment.entity.Comment;
 import com.mini.socialnetwork.modules.comment.repository.CommentRepository;
 import com.mini.socialnetwork.modules.post.entity.Post;
 import com.mini.socialnetwork.modules.post.repository.PostRepository;
-import com.mini.socialnetwork.modules.follow.repository.FollowRepository;
-import com.mini.socialnetwork.modules.notification.repository.NotificationRepository;
 import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -40,10 +56,17 @@ public class AdminService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
-    private final NotificationRepository notificationRepository;
-    private final FollowRepository followRepository;
-    private final MessageRepository messageRepository;
-    private final KeycloakAdminService keycloakAdminService;
+    private final UserDeletionJobService userDeletionJobService;
+    private final KeycloakUserSyncService keycloakUserSyncService;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Kích thước trang tối đa cho danh sách admin */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /** Kích thước trang khi export */
+    private static final int EXPORT_PAGE_SIZE = 500;
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM");
@@ -52,69 +75,20 @@ public class AdminService {
 
     public AdminDashboardDto getDashboard() {
         return AdminDashboardDto.builder()
-                .totalUsers(userRepository.count())
-                .totalPosts(postRepository.countByIsDeletedFalse())
-                .totalComments(commentRepository.countByIsDeletedFalse())
+                .totalUsers(statisticsService.getTotal(StatisticMetric.NEW_USERS))
+                .totalPosts(statisticsService.getTotal(StatisticMetric.POSTS))
+                .totalComments(statisticsService.getTotal(StatisticMetric.COMMENTS))
                 .build();
     }
 
     /**
-     * Sync users từ Keycloak vào MySQL database
-     * Lấy tất cả users từ Keycloak và tạo các user chưa tồn tại trong MySQL
+     * Sync users từ Keycloak vào MySQL database.
+     * Duyệt Keycloak theo trang, tạo user mới và cập nhật user có thay đổi.
      * 
-     * @return số lượng users được sync
+     * @return số lượng users được tạo/cập nhật/không đổi
      */
-    @Transactional
-    public int syncUsersFromKeycloak() {
-        log.info("Starting sync users from Keycloak to MySQL...");
-
-        List<Map<String, Object>> keycloakUsers = keycloakAdminService.getAllUsers();
-        int syncedCount = 0;
-
-        for (Map<String, Object> kcUser : keycloakUsers) {
-            try {
-                String idStr = (String) kcUser.get("id");
-                UUID userId = UUID.fromString(idStr);
-
-                // Check if user already exists in MySQL
-                if (userRepository.findById(userId).isEmpty()) {
-                    User user = User.builder()
-                            .id(userId)
-                            .username((String) kcUser.get("username"))
-                            .email((String) kcUser.get("email"))
-                            .name(buildFullName(kcUser))
-                            .bio("")
-                            .avatarUrl(null)
-                            .isActive(Boolean.TRUE.equals(kcUser.get("enabled")))
-                            .createdAt(Instant.now())
-                            .updatedAt(Instant.now())
-                            .build();
-
-                    userRepository.save(user);
-                    syncedCount++;
-                    log.info("Synced user: {} ({})", user.getUsername(), userId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to sync user: {}", e.getMessage());
-            }
-        }
-
-        log.info("Sync completed. {} users synced from Keycloak", syncedCount);
-        return syncedCount;
-    }
-
-    private String buildFullName(Map<String, Object> kcUser) {
-        String firstName = (String) kcUser.get("firstName");
-        String lastName = (String) kcUser.get("lastName");
-
-        if (firstName != null && lastName != null) {
-            return firstName + " " + lastName;
-        } else if (firstName != null) {
-            return firstName;
-        } else if (lastName != null) {
-            return lastName;
-        }
-        return (String) kcUser.get("username");
+    public KeycloakSyncResult syncUsersFromKeycloak() {
+        return keycloakUserSyncService.syncAll();
     }
 
     /**
@@ -124,44 +98,14 @@ public class AdminService {
      * @return PostStatisticsDto chứa labels và values để vẽ biểu đồ
      */
     public PostStatisticsDto getPostStatistics(int days) {
-        ZoneId zoneId = ZoneId.systemDefault();
-        LocalDate today = LocalDate.now(zoneId);
+        LocalDate today = statisticsService.today();
         LocalDate startLocalDate = today.minusDays(days - 1);
 
-        Instant endDate = today.plusDays(1).atStartOfDay(zoneId).toInstant();
-        Instant startDate = startLocalDate.atStartOfDay(zoneId).toInstant();
+        log.info("Getting post statistics from {} to {}", startLocalDate, today);
 
-        log.info("Getting post statistics from {} to {}", startDate, endDate);
-
-        List<Object[]> results = postRepository.countPostsByDateRange(startDate, endDate);
-
-        // Tạo map để điền các ngày không có bài đăng với giá trị 0
-        Map<LocalDate, Long> dateCountMap = new LinkedHashMap<>();
-        LocalDate currentDate = startLocalDate;
-
-        while (!currentDate.isAfter(today)) {
-            dateCountMap.put(currentDate, 0L);
-            currentDate = currentDate.plusDays(1);
-        }
-
-        // Điền dữ liệu từ kết quả query
-        for (Object[] row : results) {
-            try {
-                LocalDate date;
-                if (row[0] instanceof java.sql.Date) {
-                    date = ((java.sql.Date) row[0]).toLocalDate();
-                } else if (row[0] instanceof java.time.LocalDate) {
-                    date = (LocalDate) row[0];
-                } else {
-                    // Fallback: parse string
-                    date = LocalDate.parse(row[0].toString());
-                }
-                Long count = ((Number) row[1]).longValue();
-                dateCountMap.put(date, count);
-            } catch (Exception e) {
-                log.warn("Error parsing date from result: {}", e.getMessage());
-            }
-        }
+        // Đọc từ bảng rollup: tối đa một dòng mỗi ngày
+        Map<LocalDate, Long> dateCountMap = statisticsService.getDailySeries(StatisticMetric.POSTS,
+                startLocalDate, today);
 
         List<String> labels = new ArrayList<>();
         List<Long> values = new ArrayList<>();
@@ -182,12 +126,32 @@ public class AdminService {
                 .build();
     }
 
+    /**
+     * Tính lại toàn bộ bảng thống kê rollup từ dữ liệu gốc.
+     */
+    public void rebuildStatistics() {
+        statisticsService.rebuild();
+    }
+
     // ==================== USER MANAGEMENT ====================
 
-    public List<UserAdminDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::toUserAdminDto)
-                .collect(Collectors.toList());
+    /**
+     * Lấy danh sách users theo trang keyset (createdAt, id) với bộ lọc server-side.
+     */
+    public CursorResponse<UserAdminDto> getUsers(AdminListFilter filter) {
+        return fetchPage(userRepository, AdminSpecifications.users(filter), filter,
+                User::getCreatedAt, User::getId, this::toUserAdminDtos);
+    }
+
+    /**
+     * Xuất toàn bộ users khớp bộ lọc dưới dạng CSV, đọc theo từng trang keyset.
+     */
+    public void exportUsersCsv(AdminListFilter filter, OutputStream out) throws IOException {
+        exportCsv(userRepository, AdminSpecifications.users(filter), filter,
+                User::getCreatedAt, User::getId, this::toUserAdminDtos,
+                List.of("id", "username", "email", "name", "isActive", "createdAt"),
+                u -> Arrays.asList(u.getId(), u.getUsername(), u.getEmail(), u.getName(), u.isActive(), u.getCreatedAt()),
+                out);
     }
 
     public UserAdminDto getUserById(UUID id) {
@@ -205,114 +169,87 @@ public class AdminService {
             user.setName(dto.getName());
         if (dto.getBio() != null)
             user.setBio(dto.getBio());
-        if (dto.getAvatarUrl() != null)
+        if (dto.getAvatarUrl() != null && !dto.getAvatarUrl().equals(user.getAvatarUrl())) {
+            AvatarService.validateExternalUrl(dto.getAvatarUrl());
             user.setAvatarUrl(dto.getAvatarUrl());
+            user.setAvatarKey(null);
+        }
         user.setActive(dto.isActive());
         user.setUpdatedAt(Instant.now());
 
-        return toUserAdminDto(userRepository.save(user));
+        User saved = userRepository.save(user);
+        searchIndexService.indexUser(saved);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(saved.getId()));
+        return toUserAdminDto(saved);
     }
 
     /**
-     * Xóa hoàn toàn user và tất cả nội dung liên quan:
+     * Xóa hoàn toàn user và tất cả nội dung liên quan bằng một job chạy nền:
+     * - User từ Keycloak
+     * - Comments của user và comments trên posts của user
      * - Posts của user
-     * - Comments của user
      * - Messages của user
      * - Notifications liên quan đến user
      * - Follow relationships
-     * - User từ Keycloak
      * - User từ MySQL
+     * <p>
+     * Mỗi bước xóa theo chunk trong transaction riêng; tiến độ xem qua
+     * {@link UserDeletionJobService#getJob(UUID)}.
+     * </p>
+     *
+     * @return job xóa user
      */
-    @Transactional
-    public void deleteUser(UUID id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found: " + id));
-
-        String userId = id.toString();
-        log.info("Starting complete deletion of user: {} ({})", user.getUsername(), id);
-
-        // 1. Xóa tất cả comments của user
-        try {
-            commentRepository.deleteByUserId(id);
-            log.info("Deleted all comments by user: {}", id);
-        } catch (Exception e) {
-            log.warn("Error deleting comments: {}", e.getMessage());
-        }
-
-        // 2. Lấy tất cả posts của user và xóa comments trên các posts đó
-        try {
-            List<Post> userPosts = postRepository.findByAuthorId(id);
-            for (Post post : userPosts) {
-                commentRepository.deleteByPostId(post.getId());
-            }
-            // Xóa tất cả posts của user
-            postRepository.deleteByAuthorId(id);
-            log.info("Deleted {} posts by user: {}", userPosts.size(), id);
-        } catch (Exception e) {
-            log.warn("Error deleting posts: {}", e.getMessage());
-        }
-
-        // 3. Xóa tất cả messages của user
-        try {
-            messageRepository.deleteBySenderId(userId);
-            log.info("Deleted all messages by user: {}", id);
-        } catch (Exception e) {
-            log.warn("Error deleting messages: {}", e.getMessage());
-        }
-
-        // 4. Xóa tất cả notifications liên quan đến user
-        try {
-            notificationRepository.deleteByReceiverId(id);
-            notificationRepository.deleteBySenderId(id);
-            log.info("Deleted all notifications related to user: {}", id);
-        } catch (Exception e) {
-            log.warn("Error deleting notifications: {}", e.getMessage());
-        }
-
-        // 5. Xóa tất cả follow relationships
-        try {
-            followRepository.deleteByFollowId_FollowerId(userId);
-            followRepository.deleteByFollowId_FollowingId(userId);
-            log.info("Deleted all follow relationships for user: {}", id);
-        } catch (Exception e) {
-            log.warn("Error deleting follows: {}", e.getMessage());
-        }
-
-        // 6. Xóa user khỏi Keycloak
-        try {
-            keycloakAdminService.deleteUser(userId);
-            log.info("Deleted user from Keycloak: {}", id);
-        } catch (Exception e) {
-            log.warn("Failed to delete user from Keycloak (may already be deleted): {}", e.getMessage());
-        }
-
-        // 7. Xóa user khỏi MySQL
-        userRepository.delete(user);
-        log.info("Permanently deleted user and all related content: {} ({})", user.getUsername(), id);
+    public UserDeletionJob deleteUser(UUID id) {
+        return userDeletionJobService.startDeletion(id);
     }
 
     private UserAdminDto toUserAdminDto(User user) {
-        return UserAdminDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .name(user.getName())
-                .bio(user.getBio())
-                .avatarUrl(user.getAvatarUrl())
-                .isActive(user.isActive())
-                .createdAt(formatInstant(user.getCreatedAt()))
-                .updatedAt(formatInstant(user.getUpdatedAt()))
-                .followersCount(user.getFollowers() != null ? user.getFollowers().size() : 0)
-                .followingCount(user.getFollowing() != null ? user.getFollowing().size() : 0)
-                .build();
+        return toUserAdminDtos(List.of(user)).get(0);
+    }
+
+    /**
+     * Map một trang users sang DTO. Số follower/following đọc từ bộ đếm trên
+     * bảng users, không cần truy vấn thêm.
+     */
+    private List<UserAdminDto> toUserAdminDtos(List<User> users) {
+        return users.stream()
+                .map(user -> UserAdminDto.builder()
+                        .id(user.getId())
+                        .username(user.getUsername())
+                        .email(user.getEmail())
+                        .name(user.getName())
+                        .bio(user.getBio())
+                        .avatarUrl(user.getAvatarUrl())
+                        .isActive(user.isActive())
+                        .createdAt(formatInstant(user.getCreatedAt()))
+                        .updatedAt(formatInstant(user.getUpdatedAt()))
+                        .followersCount((int) user.getFollowersCount())
+                        .followingCount((int) user.getFollowingCount())
+                        .build())
+                .toList();
     }
 
     // ==================== POST MANAGEMENT ====================
 
-    public List<PostAdminDto> getAllPosts() {
-        return postRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).stream()
-                .map(this::toPostAdminDto)
-                .collect(Collectors.toList());
+    /**
+     * Lấy danh sách posts theo trang keyset (createdAt, id) với bộ lọc server-side.
+     */
+    public CursorResponse<PostAdminDto> getPosts(AdminListFilter filter) {
+        return fetchPage(postRepository, AdminSpecifications.posts(filter), filter,
+                Post::getCreatedAt, Post::getId, this::toPostAdminDtos);
+    }
+
+    /**
+     * Xuất toàn bộ posts khớp bộ lọc dưới dạng CSV, đọc theo từng trang keyset.
+     */
+    public void exportPostsCsv(AdminListFilter filter, OutputStream out) throws IOException {
+        exportCsv(postRepository, AdminSpecifications.posts(filter), filter,
+                Post::getCreatedAt, Post::getId, this::toPostAdminDtos,
+                List.of("id", "authorId", "authorUsername", "content", "likeCount", "commentCount", "isDeleted",
+                        "createdAt"),
+                p -> Arrays.asList(p.getId(), p.getAuthorId(), p.getAuthorUsername(), p.getContent(), p.getLikeCount(),
+                        p.getCommentCount(), p.isDeleted(), p.getCreatedAt()),
+                out);
     }
 
     public PostAdminDto getPostById(UUID id) {
@@ -328,54 +265,82 @@ public class AdminService {
 
         if (dto.getContent() != null)
             post.setContent(dto.getContent());
+        if (post.isDeleted() != dto.isDeleted()) {
+            statisticsService.record(StatisticMetric.POSTS, post.getCreatedAt(), dto.isDeleted() ? -1 : 1);
+        }
         post.setDeleted(dto.isDeleted());
         post.setUpdatedAt(Instant.now());
 
-        return toPostAdminDto(postRepository.save(post));
+        Post saved = postRepository.save(post);
+        searchIndexService.indexPost(saved);
+        return toPostAdminDto(saved);
     }
 
     @Transactional
     public void deletePost(UUID id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found: " + id));
+        if (!post.isDeleted()) {
+            statisticsService.record(StatisticMetric.POSTS, post.getCreatedAt(), -1);
+        }
         post.setDeleted(true);
         post.setUpdatedAt(Instant.now());
         postRepository.save(post);
+        searchIndexService.indexPost(post);
         log.info("Soft deleted post: {}", id);
     }
 
     private PostAdminDto toPostAdminDto(Post post) {
-        // Try to get author info
-        String authorName = "";
-        String authorUsername = "";
-        if (post.getAuthorId() != null) {
-            var author = userRepository.findById(post.getAuthorId()).orElse(null);
-            if (author != null) {
-                authorName = author.getName();
-                authorUsername = author.getUsername();
-            }
-        }
+        return toPostAdminDtos(List.of(post)).get(0);
+    }
 
-        return PostAdminDto.builder()
-                .id(post.getId())
-                .authorId(post.getAuthorId())
-                .authorName(authorName)
-                .authorUsername(authorUsername)
-                .content(post.getContent())
-                .likeCount(post.getLikeCount())
-                .commentCount(post.getCommentCount())
-                .isDeleted(post.isDeleted())
-                .createdAt(formatInstant(post.getCreatedAt()))
-                .updatedAt(formatInstant(post.getUpdatedAt()))
-                .build();
+    /**
+     * Map một trang posts sang DTO, hydrate tác giả bằng một câu IN cho cả trang.
+     */
+    private List<PostAdminDto> toPostAdminDtos(List<Post> posts) {
+        Map<UUID, UserSummary> authors = loadUserSummaries(posts.stream().map(Post::getAuthorId).toList());
+
+        return posts.stream()
+                .map(post -> {
+                    UserSummary author = post.getAuthorId() != null ? authors.get(post.getAuthorId()) : null;
+                    return PostAdminDto.builder()
+                            .id(post.getId())
+                            .authorId(post.getAuthorId())
+                            .authorName(author != null ? author.name() : "")
+                            .authorUsername(author != null ? author.username() : "")
+                            .content(post.getContent())
+                            .likeCount(post.getLikeCount())
+                            .commentCount(post.getCommentCount())
+                            .isDeleted(post.isDeleted())
+                            .createdAt(formatInstant(post.getCreatedAt()))
+                            .updatedAt(formatInstant(post.getUpdatedAt()))
+                            .build();
+                })
+                .toList();
     }
 
     // ==================== COMMENT MANAGEMENT ====================
 
-    public List<CommentAdminDto> getAllComments() {
-        return commentRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).stream()
-                .map(this::toCommentAdminDto)
-                .collect(Collectors.toList());
+    /**
+     * Lấy danh sách comments theo trang keyset (createdAt, id) với bộ lọc server-side.
+     */
+    public CursorResponse<CommentAdminDto> getComments(AdminListFilter filter) {
+        return fetchPage(commentRepository, AdminSpecifications.comments(filter), filter,
+                Comment::getCreatedAt, Comment::getId,
+                this::toCommentAdminDtos);
+    }
+
+    /**
+     * Xuất toàn bộ comments khớp bộ lọc dưới dạng CSV, đọc theo từng trang keyset.
+     */
+    public void exportCommentsCsv(AdminListFilter filter, OutputStream out) throws IOException {
+        exportCsv(commentRepository, AdminSpecifications.comments(filter), filter,
+                Comment::getCreatedAt, Comment::getId,
+                this::toCommentAdminDtos,
+                List.of("id", "postId", "userId", "userUsername", "content", "isDeleted", "createdAt"),
+                c -> Arrays.asList(c.getId(), c.getPostId(), c.getUserId(), c.getUserUsername(), c.getContent(),
+                        c.isDeleted(), c.getCreatedAt()),
+                out);
     }
 
     public CommentAdminDto getCommentById(UUID id) {
@@ -391,50 +356,153 @@ public class AdminService {
 
         if (dto.getContent() != null)
             comment.setContent(dto.getContent());
+        if (comment.isDeleted() != dto.isDeleted()) {
+            statisticsService.record(StatisticMetric.COMMENTS, comment.getCreatedAt(), dto.isDeleted() ? -1 : 1);
+        }
         comment.setDeleted(dto.isDeleted());
         comment.setUpdatedAt(Instant.now());
 
-        return toCommentAdminDto(commentRepository.save(comment));
+        Comment saved = commentRepository.save(comment);
+        searchIndexService.indexComment(saved);
+        return toCommentAdminDto(saved);
     }
 
     @Transactional
     public void deleteComment(UUID id) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found: " + id));
+        if (!comment.isDeleted()) {
+            statisticsService.record(StatisticMetric.COMMENTS, comment.getCreatedAt(), -1);
+        }
         comment.setDeleted(true);
         comment.setUpdatedAt(Instant.now());
         commentRepository.save(comment);
+        searchIndexService.indexComment(comment);
         log.info("Soft deleted comment: {}", id);
     }
 
     private CommentAdminDto toCommentAdminDto(Comment comment) {
-        String userName = "";
-        String userUsername = "";
-        if (comment.getUserId() != null) {
-            var user = userRepository.findById(comment.getUserId()).orElse(null);
-            if (user != null) {
-                userName = user.getName();
-                userUsername = user.getUsername();
-            }
-        }
+        return toCommentAdminDtos(List.of(comment)).get(0);
+    }
 
-        return CommentAdminDto.builder()
-                .id(comment.getId())
-                .postId(comment.getPostId())
-                .userId(comment.getUserId())
-                .userName(userName)
-                .userUsername(userUsername)
-                .content(comment.getContent())
-                .imageUrl(comment.getImageUrl())
-                .isDeleted(comment.isDeleted())
-                .createdAt(formatInstant(comment.getCreatedAt()))
-                .updatedAt(formatInstant(comment.getUpdatedAt()))
-                .build();
+    /**
+     * Map một trang comments sang DTO, hydrate người bình luận bằng một câu IN cho cả trang.
+     */
+    private List<CommentAdminDto> toCommentAdminDtos(List<Comment> comments) {
+        Map<UUID, UserSummary> users = loadUserSummaries(comments.stream().map(Comment::getUserId).toList());
+
+        return comments.stream()
+                .map(comment -> {
+                    UserSummary user = comment.getUserId() != null ? users.get(comment.getUserId()) : null;
+                    return CommentAdminDto.builder()
+                            .id(comment.getId())
+                            .postId(comment.getPostId())
+                            .userId(comment.getUserId())
+                            .userName(user != null ? user.name() : "")
+                            .userUsername(user != null ? user.username() : "")
+                            .content(comment.getContent())
+                            .imageUrl(comment.getImageUrl())
+                            .isDeleted(comment.isDeleted())
+                            .createdAt(formatInstant(comment.getCreatedAt()))
+                            .updatedAt(formatInstant(comment.getUpdatedAt()))
+                            .build();
+                })
+                .toList();
     }
 
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Load thông tin tóm tắt của các user (distinct) trong một câu IN.
+     */
+    private Map<UUID, UserSummary> loadUserSummaries(List<UUID> userIds) {
+        Set<UUID> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+    }
+
     private String formatInstant(Instant instant) {
         return instant != null ? formatter.format(instant) : null;
     }
+
+    // ==================== PAGINATION / EXPORT ====================
+
+    /**
+     * Đọc một trang keyset: lấy size + 1 bản ghi sau cursor để biết còn trang sau hay không.
+     * Không chạy COUNT(*) trên toàn bảng.
+     */
+    private <E, D> CursorResponse<D> fetchPage(JpaSpecificationExecutor<E> repository, Specification<E> spec,
+            AdminListFilter filter, Function<E, Instant> createdAt, Function<E, UUID> id,
+            Function<List<E>, List<D>> mapper) {
+        int size = Math.max(1, Math.min(filter.getSize(), MAX_PAGE_SIZE));
+        KeysetCursor cursor = KeysetCursor.decode(filter.getCursor());
+        return fetchPage(repository, spec, filter.isAscending(), cursor, size, createdAt, id, mapper);
+    }
+
+    private <E, D> CursorResponse<D> fetchPage(JpaSpecificationExecutor<E> repository, Specification<E> spec,
+            boolean ascending, KeysetCursor cursor, int size, Function<E, Instant> createdAt,
+            Function<E, UUID> id, Function<List<E>, List<D>> mapper) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+
+        List<E> rows = repository.findBy(
+                Specification.where(spec).and(AdminSpecifications.after(cursor, ascending)),
+                query -> query.sortBy(sort).limit(size + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            E last = rows.get(size - 1);
+            nextCursor = new KeysetCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return CursorResponse.of(mapper.apply(rows), nextCursor);
+    }
+
+    /**
+     * Ghi CSV theo từng trang keyset để không giữ toàn bộ bảng trong bộ nhớ.
+     * Giá trị null (post/comment chỉ có ảnh, user không có email) được ghi thành ô trống
+     * nên {@code columns} phải trả về list chấp nhận null ({@link Arrays#asList}).
+     */
+    private <E, D> void exportCsv(JpaSpecificationExecutor<E> repository, Specification<E> spec,
+            AdminListFilter filter, Function<E, Instant> createdAt, Function<E, UUID> id,
+            Function<List<E>, List<D>> mapper, List<String> header, Function<D, List<Object>> columns,
+            OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(writer, new ArrayList<>(header));
+
+        KeysetCursor cursor = KeysetCursor.decode(filter.getCursor());
+        long exported = 0;
+        while (true) {
+            CursorResponse<D> page = fetchPage(repository, spec, filter.isAscending(), cursor, EXPORT_PAGE_SIZE,
+                    createdAt, id, mapper);
+            for (D row : page.content()) {
+                writeCsvRow(writer, columns.apply(row));
+            }
+            exported += page.content().size();
+            writer.flush();
+            if (!page.hasNext()) {
+                break;
+            }
+            cursor = KeysetCursor.decode(page.nextCursor());
+        }
+        log.info("Exported {} rows as CSV", exported);
+    }
+
+    private void writeCsvRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            String text = value == null ? "" : value.toString();
+            if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+                text = "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            writer.write(text);
+        }
+        writer.write("\n");
+    }
 }
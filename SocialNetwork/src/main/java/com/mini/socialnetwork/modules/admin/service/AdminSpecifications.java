@@ -0,0 +1,100 @@
+package com.mini.socialnetwork.modules.admin.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.mini.socialnetwork.dto.KeysetCursor;
+import com.mini.socialnetwork.modules.admin.dto.AdminListFilter;
+import com.mini.socialnetwork.modules.comment.entity.Comment;
+import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.user.entity.User;
+
+import jakarta.persistence.criteria.Path;
+
+/**
+ * Các Specification dùng cho danh sách admin (lọc server-side + keyset).
+ * Mọi điều kiện đều dựa trên cột có index (author/user, created_at, is_deleted).
+ */
+final class AdminSpecifications {
+
+    private AdminSpecifications() {
+    }
+
+    static Specification<Post> posts(AdminListFilter filter) {
+        return Specification.<Post>where(equal("authorId", filter.getAuthorId()))
+                .and(equal("isDeleted", filter.getDeleted()))
+                .and(prefix("content", filter.getQ()))
+                .and(createdBetween(filter));
+    }
+
+    static Specification<Comment> comments(AdminListFilter filter) {
+        return Specification.<Comment>where(equal("userId", filter.getAuthorId()))
+                .and(equal("isDeleted", filter.getDeleted()))
+                .and(prefix("content", filter.getQ()))
+                .and(createdBetween(filter));
+    }
+
+    static Specification<User> users(AdminListFilter filter) {
+        Specification<User> text = filter.getQ() == null || filter.getQ().isBlank()
+                ? null
+                : Specification.<User>where(prefix("username", filter.getQ()))
+                        .or(prefix("name", filter.getQ()))
+                        .or(prefix("email", filter.getQ()));
+        return Specification.<User>where(equal("isActive", filter.getActive()))
+                .and(text)
+                .and(createdBetween(filter));
+    }
+
+    /**
+     * Điều kiện keyset: các bản ghi đứng sau cursor theo thứ tự (createdAt, id).
+     */
+    static <T> Specification<T> after(KeysetCursor cursor, boolean ascending) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Instant> createdAt = root.get("createdAt");
+            Path<UUID> id = root.get("id");
+            return ascending
+                    ? cb.or(cb.greaterThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.greaterThan(id, cursor.id())))
+                    : cb.or(cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id())));
+        };
+    }
+
+    private static <T> Specification<T> equal(String attribute, Object value) {
+        return value == null ? null : (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static <T> Specification<T> prefix(String attribute, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        // Collation mặc định của MySQL không phân biệt hoa thường, nên LIKE 'abc%' vẫn dùng được index
+        String escaped = value.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get(attribute), escaped + "%", '\\');
+    }
+
+    private static <T> Specification<T> createdBetween(AdminListFilter filter) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        Instant from = filter.getFrom() != null ? filter.getFrom().atStartOfDay(zoneId).toInstant() : null;
+        Instant to = filter.getTo() != null ? filter.getTo().plusDays(1).atStartOfDay(zoneId).toInstant() : null;
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Instant> createdAt = root.get("createdAt");
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(createdAt, from), cb.lessThan(createdAt, to));
+            }
+            return from != null ? cb.greaterThanOrEqualTo(createdAt, from) : cb.lessThan(createdAt, to);
+        };
+    }
+}
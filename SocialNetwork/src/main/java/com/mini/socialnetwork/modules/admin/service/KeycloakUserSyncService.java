@@ -0,0 +1,367 @@
+package com.mini.socialnetwork.modules.admin.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.modules.admin.dto.KeycloakSyncResult;
+import com.mini.socialnetwork.modules.admin.entity.KeycloakSyncState;
+import com.mini.socialnetwork.modules.admin.repository.KeycloakSyncStateRepository;
+import com.mini.socialnetwork.modules.auth.service.KeycloakAdminService;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đồng bộ users từ Keycloak vào MySQL.
+ * <p>
+ * <b>Full sync:</b> duyệt Keycloak theo trang {@code first}/{@code max}; mỗi trang
+ * được xử lý trong một transaction: kiểm tra tồn tại bằng một câu IN, insert
+ * user mới bằng {@code persist} và chỉ cập nhật user có thay đổi (username,
+ * email). Insert/update được gửi theo JDBC batch
+ * ({@code spring.jpa.properties.hibernate.jdbc.batch_size}).
+ * </p>
+ * <p>
+ * <b>Incremental sync</b> (tùy chọn, {@code keycloak.sync.incremental.enabled}):
+ * định kỳ đọc admin events / user events mới từ Keycloak và chỉ đồng bộ các
+ * user bị ảnh hưởng. Mốc event đã xử lý (thời điểm và khóa các event tại đúng
+ * thời điểm đó, vì nhiều event có thể cùng mili giây) được lưu trong
+ * {@code keycloak_sync_state} nên event phát sinh khi ứng dụng dừng vẫn được
+ * xử lý; lần bật đầu tiên bắt đầu từ thời điểm hiện tại (chạy full sync để lấy
+ * các thay đổi trước đó).
+ * </p>
+ * <p>
+ * Search index chỉ được cập nhật sau khi transaction ghi users commit.
+ * </p>
+ * <p>
+ * Tên hiển thị và trạng thái {@code isActive} chỉ được lấy từ Keycloak khi tạo
+ * mới: user có thể đổi tên trong profile của ứng dụng, và admin vô hiệu hóa
+ * user ở ứng dụng ({@code AdminService.updateUser}) mà không đổi Keycloak.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KeycloakUserSyncService {
+
+    private final KeycloakAdminService keycloakAdminService;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeycloakSyncStateRepository syncStateRepository;
+
+    @Value("${keycloak.sync.page-size:200}")
+    private int pageSize;
+
+    @Value("${keycloak.sync.incremental.enabled:false}")
+    private boolean incrementalEnabled;
+
+    /**
+     * Đồng bộ toàn bộ users từ Keycloak theo từng trang.
+     *
+     * @return thống kê số user được tạo/cập nhật/không đổi
+     */
+    public KeycloakSyncResult syncAll() {
+        log.info("Starting paged sync users from Keycloak to MySQL...");
+        KeycloakSyncResult total = KeycloakSyncResult.empty();
+        int first = 0;
+        List<Map<String, Object>> page;
+        do {
+            page = keycloakAdminService.getUsersPage(first, pageSize);
+            total = total.plus(syncPage(page));
+            first += pageSize;
+        } while (page.size() == pageSize);
+
+        log.info("Sync completed: {}", total);
+        return total;
+    }
+
+    /**
+     * Đồng bộ một trang users trong một transaction.
+     */
+    KeycloakSyncResult syncPage(List<Map<String, Object>> kcUsers) {
+        if (kcUsers.isEmpty()) {
+            return KeycloakSyncResult.empty();
+        }
+        List<User> changedUsers = new ArrayList<>();
+        KeycloakSyncResult result = transactionTemplate.execute(status -> {
+            Map<UUID, Map<String, Object>> byId = new LinkedHashMap<>();
+            for (Map<String, Object> kcUser : kcUsers) {
+                try {
+                    byId.put(UUID.fromString((String) kcUser.get("id")), kcUser);
+                } catch (Exception e) {
+                    log.warn("Skipping Keycloak user with invalid id: {}", kcUser.get("id"));
+                }
+            }
+
+            Map<UUID, User> existing = userRepository.findAllById(byId.keySet()).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+
+            int created = 0;
+            int updated = 0;
+            int unchanged = 0;
+            Instant now = Instant.now();
+            for (Map.Entry<UUID, Map<String, Object>> entry : byId.entrySet()) {
+                Map<String, Object> kcUser = entry.getValue();
+                String username = (String) kcUser.get("username");
+                String email = (String) kcUser.get("email");
+
+                User user = existing.get(entry.getKey());
+                if (user == null) {
+                    boolean enabled = Boolean.TRUE.equals(kcUser.get("enabled"));
+                    User newUser = User.builder()
+                            .id(entry.getKey())
+                            .username(username)
+                            .email(email)
+                            .name(buildFullName(kcUser))
+                            .bio("")
+                            .avatarUrl(null)
+                            .isActive(enabled)
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build();
+                    entityManager.persist(newUser);
+                    statisticsService.record(StatisticMetric.NEW_USERS, now, 1);
+                    changedUsers.add(newUser);
+                    created++;
+                } else if (!Objects.equals(user.getUsername(), username)
+                        || !Objects.equals(user.getEmail(), email)) {
+                    // Entity đang được quản lý: dirty checking sẽ sinh UPDATE khi commit
+                    user.setUsername(username);
+                    user.setEmail(email);
+                    user.setUpdatedAt(now);
+                    changedUsers.add(user);
+                    eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
+                    updated++;
+                } else {
+                    unchanged++;
+                }
+            }
+            return new KeycloakSyncResult(created, updated, unchanged);
+        });
+        changedUsers.forEach(searchIndexService::indexUser);
+        return result;
+    }
+
+    /**
+     * Đồng bộ incremental dựa trên Keycloak admin events và user events.
+     * Chỉ chạy khi {@code keycloak.sync.incremental.enabled=true}.
+     * <p>
+     * Keycloak 21 chỉ lọc {@code dateFrom} theo ngày nhưng trả event mới nhất
+     * trước, nên việc đọc dừng ngay ở event đầu tiên cũ hơn mốc đã lưu thay vì
+     * đọc lại mọi event từ đầu ngày. Event đúng bằng mốc được so với các khóa đã
+     * lưu để bỏ qua event đã xử lý.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${keycloak.sync.incremental.interval-ms:60000}")
+    public void syncIncremental() {
+        if (!incrementalEnabled) {
+            return;
+        }
+
+        Watermark since = loadWatermark();
+        String dateFrom = LocalDate.ofInstant(Instant.ofEpochMilli(since.time()), ZoneOffset.UTC).toString();
+        Set<String> changedIds = new LinkedHashSet<>();
+        Set<String> deletedIds = new LinkedHashSet<>();
+        Watermark newest = since;
+
+        try {
+            for (Map<String, Object> event : fetchSince(
+                    first -> keycloakAdminService.getUserAdminEvents(dateFrom, first, pageSize), since,
+                    this::adminEventKey)) {
+                newest = newest.advance(eventTime(event), adminEventKey(event));
+                String path = (String) event.get("resourcePath");
+                if (path == null || !path.startsWith("users/")) {
+                    continue;
+                }
+                String userId = path.substring("users/".length()).split("/")[0];
+                // Chỉ "DELETE users/{id}" là xóa user; DELETE trên sub-resource (role mapping...) là cập nhật
+                if ("DELETE".equals(event.get("operationType")) && path.indexOf('/', "users/".length()) < 0) {
+                    deletedIds.add(userId);
+                } else {
+                    changedIds.add(userId);
+                }
+            }
+            for (Map<String, Object> event : fetchSince(
+                    first -> keycloakAdminService.getUserEvents(dateFrom, first, pageSize), since,
+                    this::userEventKey)) {
+                newest = newest.advance(eventTime(event), userEventKey(event));
+                String userId = (String) event.get("userId");
+                if (userId != null) {
+                    changedIds.add(userId);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Incremental Keycloak sync skipped: {}", e.getMessage());
+            return;
+        }
+        changedIds.removeAll(deletedIds);
+
+        if (changedIds.isEmpty() && deletedIds.isEmpty()) {
+            if (!newest.equals(since)) {
+                saveWatermark(newest);
+            }
+            return;
+        }
+
+        List<Map<String, Object>> kcUsers = new ArrayList<>();
+        for (String userId : changedIds) {
+            try {
+                Map<String, Object> kcUser = keycloakAdminService.getUserById(userId);
+                if (kcUser != null) {
+                    kcUsers.add(kcUser);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to fetch Keycloak user {}: {}", userId, e.getMessage());
+            }
+        }
+
+        KeycloakSyncResult result = syncPage(kcUsers);
+        // User bị xóa trong Keycloak: chỉ vô hiệu hóa, dữ liệu được dọn bằng job xóa user
+        int deactivated = deactivate(deletedIds.stream().map(UUID::fromString).toList());
+        saveWatermark(newest);
+        log.info("Incremental Keycloak sync: {}, deactivated={}", result, deactivated);
+    }
+
+    private int deactivate(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        List<User> users = transactionTemplate.execute(status -> {
+            List<User> found = userRepository.findAllById(userIds);
+            found.forEach(u -> {
+                u.setActive(false);
+                u.setUpdatedAt(Instant.now());
+            });
+            return found;
+        });
+        if (users == null) {
+            return 0;
+        }
+        users.forEach(searchIndexService::indexUser);
+        return users.size();
+    }
+
+    /**
+     * Đọc các trang event (mới nhất trước) cho tới event đầu tiên cũ hơn mốc {@code since};
+     * event đúng bằng mốc chỉ được lấy nếu khóa chưa có trong mốc.
+     */
+    private List<Map<String, Object>> fetchSince(Function<Integer, List<Map<String, Object>>> pageFetcher,
+            Watermark since, Function<Map<String, Object>, String> keyOf) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        int first = 0;
+        List<Map<String, Object>> page;
+        do {
+            page = pageFetcher.apply(first);
+            for (Map<String, Object> event : page) {
+                long time = eventTime(event);
+                if (time < since.time()) {
+                    return events;
+                }
+                if (time > since.time() || !since.keys().contains(keyOf.apply(event))) {
+                    events.add(event);
+                }
+            }
+            first += pageSize;
+        } while (page.size() == pageSize);
+        return events;
+    }
+
+    private long eventTime(Map<String, Object> event) {
+        return ((Number) event.getOrDefault("time", 0L)).longValue();
+    }
+
+    /**
+     * Khóa của admin event (Keycloak 21 không trả id event) để nhận ra event đã xử lý.
+     */
+    private String adminEventKey(Map<String, Object> event) {
+        return "admin|" + event.get("operationType") + "|" + event.get("resourcePath");
+    }
+
+    /**
+     * Khóa của user event.
+     */
+    private String userEventKey(Map<String, Object> event) {
+        return "user|" + event.get("type") + "|" + event.get("userId") + "|" + event.get("sessionId");
+    }
+
+    /**
+     * Mốc event đã xử lý: thời điểm của event mới nhất và khóa các event tại đúng thời điểm đó.
+     */
+    private record Watermark(long time, Set<String> keys) {
+
+        Watermark advance(long eventTime, String key) {
+            if (eventTime < time) {
+                return this;
+            }
+            Set<String> merged = new LinkedHashSet<>(eventTime > time ? Set.of() : keys);
+            merged.add(key);
+            return new Watermark(eventTime, merged);
+        }
+    }
+
+    /**
+     * Mốc event đã xử lý; lần chạy đầu tiên khởi tạo bằng thời điểm hiện tại.
+     */
+    private Watermark loadWatermark() {
+        return syncStateRepository.findById(KeycloakSyncState.EVENTS)
+                .map(state -> new Watermark(state.getLastEventTime(), state.getLastEventKeys() == null
+                        ? Set.of()
+                        : new LinkedHashSet<>(state.getLastEventKeys().lines().toList())))
+                .orElseGet(() -> {
+                    Watermark now = new Watermark(System.currentTimeMillis(), Set.of());
+                    saveWatermark(now);
+                    log.info("Incremental Keycloak sync starts from now; run a full sync for earlier changes");
+                    return now;
+                });
+    }
+
+    private void saveWatermark(Watermark watermark) {
+        syncStateRepository.save(KeycloakSyncState.builder()
+                .name(KeycloakSyncState.EVENTS)
+                .lastEventTime(watermark.time())
+                .lastEventKeys(String.join("\n", watermark.keys()))
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    private String buildFullName(Map<String, Object> kcUser) {
+        String firstName = (String) kcUser.get("firstName");
+        String lastName = (String) kcUser.get("lastName");
+
+        if (firstName != null && lastName != null) {
+            return firstName + " " + lastName;
+        } else if (firstName != null) {
+            return firstName;
+        } else if (lastName != null) {
+            return lastName;
+        }
+        return (String) kcUser.get("username");
+    }
+}
@@ -0,0 +1,225 @@
+package com.mini.socialnetwork.modules.admin.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob.Stage;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob.Status;
+import com.mini.socialnetwork.modules.admin.repository.UserDeletionJobRepository;
+import com.mini.socialnetwork.modules.auth.service.KeycloakAdminService;
+import com.mini.socialnetwork.modules.chat.entity.Message;
+import com.mini.socialnetwork.modules.chat.repository.ConversationReadReceiptRepository;
+import com.mini.socialnetwork.modules.chat.repository.MessageRepository;
+import com.mini.socialnetwork.modules.comment.repository.CommentRepository;
+import com.mini.socialnetwork.modules.follow.service.FollowService;
+import com.mini.socialnetwork.modules.notification.service.NotificationService;
+import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.post.repository.PostRepository;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService.DocType;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Thực thi job xóa user theo từng stage và từng chunk.
+ * <p>
+ * Mỗi chunk (tối đa {@code admin.user-deletion.chunk-size} bản ghi) được xóa
+ * trong một transaction riêng, sau đó checkpoint (stage, processedCount) được
+ * lưu lại. Lời gọi Keycloak nằm ngoài mọi transaction.
+ * </p>
+ * <p>
+ * Posts/comments của mỗi chunk được gỡ khỏi search index sau khi chunk commit.
+ * Stage USER gỡ user khỏi index và phát {@link UserProfileChangedEvent} để cache
+ * profile/author summary không còn trả user đã xóa.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDeletionJobRunner {
+
+    private final UserDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final MessageRepository messageRepository;
+    private final ConversationReadReceiptRepository readReceiptRepository;
+    private final FollowService followService;
+    private final NotificationService notificationService;
+    private final KeycloakAdminService keycloakAdminService;
+    private final TransactionTemplate transactionTemplate;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${admin.user-deletion.chunk-size:500}")
+    private int chunkSize;
+
+    /** Các job đang chạy trong JVM này, tránh chạy trùng một job */
+    private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Chạy (hoặc tiếp tục) job từ stage đã checkpoint.
+     *
+     * @param jobId ID job
+     */
+    @Async("adminJobExecutor")
+    public void run(UUID jobId) {
+        if (!runningJobs.add(jobId)) {
+            log.info("User deletion job {} is already running", jobId);
+            return;
+        }
+        try {
+            UserDeletionJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Deletion job not found: " + jobId));
+            job.setStatus(Status.RUNNING);
+            job = save(job);
+            log.info("Running user deletion job {} for user {} from stage {}", jobId, job.getUserId(), job.getStage());
+
+            while (job.getStage() != Stage.DONE) {
+                int deleted = runChunk(job);
+                if (deleted > 0) {
+                    job.setProcessedCount(job.getProcessedCount() + deleted);
+                } else {
+                    job.setStage(Stage.values()[job.getStage().ordinal() + 1]);
+                }
+                job = save(job);
+            }
+
+            job.setStatus(Status.COMPLETED);
+            job.setCompletedAt(Instant.now());
+            save(job);
+            log.info("User deletion job {} completed, {} rows deleted", jobId, job.getProcessedCount());
+        } catch (Exception e) {
+            log.error("User deletion job {} failed: {}", jobId, e.getMessage());
+            jobRepository.findById(jobId).ifPresent(failed -> {
+                String message = String.valueOf(e.getMessage());
+                failed.setStatus(Status.FAILED);
+                failed.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                save(failed);
+            });
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Xóa một chunk của stage hiện tại.
+     *
+     * @return số bản ghi đã xóa; 0 nghĩa là stage đã xong
+     */
+    private int runChunk(UserDeletionJob job) {
+        UUID userId = job.getUserId();
+        String userIdStr = userId.toString();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+
+        return switch (job.getStage()) {
+            case KEYCLOAK -> {
+                // Gọi HTTP ngoài transaction; xóa trước để user không tạo thêm nội dung
+                try {
+                    keycloakAdminService.deleteUser(userIdStr);
+                    log.info("Deleted user from Keycloak: {}", userId);
+                } catch (Exception e) {
+                    log.warn("Failed to delete user from Keycloak (may already be deleted): {}", e.getMessage());
+                }
+                yield 0;
+            }
+            case COMMENTS -> deleteIndexed(DocType.COMMENT, () ->
+                    deleteComments(commentRepository.findIdsByUserId(userId, chunk)));
+            case POST_COMMENTS -> deleteIndexed(DocType.COMMENT, () ->
+                    deleteComments(commentRepository.findIdsOnPostsByAuthorId(userId, chunk)));
+            case POSTS -> deleteIndexed(DocType.POST, () -> {
+                // Xóa qua entity để Hibernate xóa luôn các collection (images, likes)
+                List<UUID> ids = postRepository.findIdsByAuthorId(userId, chunk);
+                List<Post> posts = postRepository.findAllById(ids);
+                for (Post post : posts) {
+                    if (!post.isDeleted()) {
+                        statisticsService.record(StatisticMetric.POSTS, post.getCreatedAt(), -1);
+                    }
+                    statisticsService.adjustTotal(StatisticMetric.LIKES,
+                            post.getLikes() != null ? -post.getLikes().size() : 0);
+                }
+                postRepository.deleteAll(posts);
+                return ids;
+            });
+            case MESSAGES -> inTransaction(() -> {
+                // Xóa qua entity để cascade xóa attachments
+                List<Long> ids = messageRepository.findIdsBySenderId(userIdStr, chunk);
+                List<Message> messages = messageRepository.findAllById(ids);
+                messages.forEach(m -> statisticsService.record(StatisticMetric.MESSAGES, m.getCreatedAt(), -1));
+                messageRepository.deleteAll(messages);
+                if (ids.isEmpty()) {
+                    readReceiptRepository.deleteByIdUserId(userIdStr);
+                }
+                return ids.size();
+            });
+            case NOTIFICATIONS -> notificationService.deleteChunkForUser(userId, chunkSize);
+            case FOLLOWS -> followService.deleteChunkForUser(userIdStr, chunkSize);
+            case USER -> {
+                inTransaction(() -> {
+                    userRepository.findById(userId).ifPresent(user -> {
+                        userRepository.delete(user);
+                        statisticsService.record(StatisticMetric.NEW_USERS, user.getCreatedAt(), -1);
+                        // Listener chạy sau commit: xóa profile/author summary khỏi cache
+                        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
+                    });
+                    return 0;
+                });
+                searchIndexService.delete(DocType.USER, userId);
+                log.info("Permanently deleted user and all related content: {} ({})", job.getUsername(), userId);
+                yield 0;
+            }
+            case DONE -> 0;
+        };
+    }
+
+    private List<UUID> deleteComments(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            statisticsService.recordGrouped(StatisticMetric.COMMENTS,
+                    commentRepository.countActiveByIdInGroupByDate(ids), -1);
+            commentRepository.deleteByIdIn(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Xóa một chunk trong transaction rồi gỡ các id đã xóa khỏi search index.
+     *
+     * @return số bản ghi đã xóa
+     */
+    private int deleteIndexed(DocType type, Supplier<List<UUID>> work) {
+        List<UUID> ids = transactionTemplate.execute(status -> work.get());
+        if (ids == null) {
+            return 0;
+        }
+        ids.forEach(id -> searchIndexService.delete(type, id));
+        return ids.size();
+    }
+
+    private int inTransaction(Supplier<Integer> work) {
+        Integer result = transactionTemplate.execute(status -> work.get());
+        return result != null ? result : 0;
+    }
+
+    private UserDeletionJob save(UserDeletionJob job) {
+        job.setUpdatedAt(Instant.now());
+        return jobRepository.save(job);
+    }
+}
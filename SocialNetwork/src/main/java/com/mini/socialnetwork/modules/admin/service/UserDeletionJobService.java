@@ -0,0 +1,102 @@
+package com.mini.socialnetwork.modules.admin.service;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob.Stage;
+import com.mini.socialnetwork.modules.admin.entity.UserDeletionJob.Status;
+import com.mini.socialnetwork.modules.admin.repository.UserDeletionJobRepository;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Quản lý vòng đời job xóa user: tạo job, xem tiến độ, chạy lại job lỗi
+ * và tự động tiếp tục các job dang dở khi ứng dụng khởi động lại.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDeletionJobService {
+
+    private static final EnumSet<Status> UNFINISHED = EnumSet.of(Status.PENDING, Status.RUNNING);
+
+    private final UserDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final UserDeletionJobRunner jobRunner;
+    private final SearchIndexService searchIndexService;
+
+    /**
+     * Tạo job xóa user (hoặc trả về job đang chạy cho user đó) và chạy nền.
+     * User bị đánh dấu inactive ngay lập tức.
+     *
+     * @param userId ID user cần xóa
+     * @return job xóa user
+     */
+    public UserDeletionJob startDeletion(UUID userId) {
+        UserDeletionJob existing = jobRepository.findFirstByUserIdAndStatusIn(userId, UNFINISHED).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+
+        UserDeletionJob job = createJob(userId);
+        log.info("Created user deletion job {} for user {} ({})", job.getId(), job.getUsername(), userId);
+        jobRunner.run(job.getId());
+        return job;
+    }
+
+    private UserDeletionJob createJob(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+        user.setActive(false);
+        user.setUpdatedAt(Instant.now());
+        userRepository.save(user);
+        searchIndexService.indexUser(user);
+
+        Instant now = Instant.now();
+        return jobRepository.save(UserDeletionJob.builder()
+                .userId(userId)
+                .username(user.getUsername())
+                .stage(Stage.values()[0])
+                .status(Status.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    public UserDeletionJob getJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Deletion job not found: " + jobId));
+    }
+
+    /**
+     * Chạy lại một job bị lỗi từ stage đã checkpoint.
+     */
+    public UserDeletionJob resume(UUID jobId) {
+        UserDeletionJob job = getJob(jobId);
+        if (job.getStatus() != Status.COMPLETED) {
+            jobRunner.run(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Tiếp tục các job chưa hoàn tất (ví dụ ứng dụng bị dừng giữa chừng).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (UserDeletionJob job : jobRepository.findByStatusIn(UNFINISHED)) {
+            log.info("Resuming user deletion job {} at stage {}", job.getId(), job.getStage());
+            jobRunner.run(job.getId());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.mini.socialnetwork.modules.auth.service;
 
 import com.mini.socialnetwork.modules.auth.dto.RegisterRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,11 @@ import java.util.*;
 /**
  * Service để gọi Keycloak Admin REST API
  * Dùng để tạo user mới khi đăng ký và lấy danh sách users
+ * <p>
+ * RestTemplate được tạo từ {@link RestTemplateBuilder} nên mọi request được đo
+ * ({@code http.client.requests}); URL truyền dạng template ({@code {realm}},
+ * {@code {id}}...) để tag {@code uri} không chứa id/tham số cụ thể.
+ * </p>
  */
 @Service
 public class KeycloakAdminService {
@@ -30,13 +36,20 @@ public class KeycloakAdminService {
     @Value("${keycloak.admin.client-secret}")
     private String clientSecret;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    /** Kích thước trang khi duyệt danh sách users */
+    private static final int USER_PAGE_SIZE = 500;
+
+    public KeycloakAdminService(RestTemplateBuilder restTemplateBuilder) {
+        this.restTemplate = restTemplateBuilder.build();
+    }
 
     /**
      * Lấy admin token từ Keycloak sử dụng client credentials flow
      */
     private String getAdminToken() {
-        String tokenUrl = keycloakUrl + "/realms/" + realm + "/protocol/openid-connect/token";
+        String tokenUrl = keycloakUrl + "/realms/{realm}/protocol/openid-connect/token";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -49,7 +62,7 @@ public class KeycloakAdminService {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
 
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(tokenUrl, request, Map.class);
+            ResponseEntity<Map> response = restTemplate.postForEntity(tokenUrl, request, Map.class, realm);
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 return (String) response.getBody().get("access_token");
             }
@@ -65,7 +78,7 @@ public class KeycloakAdminService {
      */
     public void createUser(RegisterRequest request) {
         String adminToken = getAdminToken();
-        String usersUrl = keycloakUrl + "/admin/realms/" + realm + "/users";
+        String usersUrl = keycloakUrl + "/admin/realms/{realm}/users";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -90,7 +103,7 @@ public class KeycloakAdminService {
         HttpEntity<Map<String, Object>> httpRequest = new HttpEntity<>(userPayload, headers);
 
         try {
-            ResponseEntity<String> response = restTemplate.postForEntity(usersUrl, httpRequest, String.class);
+            ResponseEntity<String> response = restTemplate.postForEntity(usersUrl, httpRequest, String.class, realm);
             if (!response.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("Failed to create user: " + response.getStatusCode());
             }
@@ -103,36 +116,90 @@ public class KeycloakAdminService {
     }
 
     /**
-     * Lấy tất cả users từ Keycloak
+     * Lấy tất cả users từ Keycloak, duyệt theo trang {@code first}/{@code max}
+     * để không bị giới hạn số lượng.
      */
     public List<Map<String, Object>> getAllUsers() {
-        String adminToken = getAdminToken();
-        String usersUrl = keycloakUrl + "/admin/realms/" + realm + "/users?max=1000";
+        List<Map<String, Object>> users = new ArrayList<>();
+        int first = 0;
+        List<Map<String, Object>> page;
+        do {
+            page = getUsersPage(first, USER_PAGE_SIZE);
+            users.addAll(page);
+            first += USER_PAGE_SIZE;
+        } while (page.size() == USER_PAGE_SIZE);
+        return users;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(adminToken);
+    /**
+     * Lấy một trang users từ Keycloak.
+     *
+     * @param first vị trí bắt đầu (offset)
+     * @param max   số users tối đa
+     * @return danh sách users (rỗng nếu hết)
+     */
+    public List<Map<String, Object>> getUsersPage(int first, int max) {
+        String usersUrl = keycloakUrl + "/admin/realms/{realm}/users?briefRepresentation=true&first={first}&max={max}";
+        try {
+            return getList(usersUrl, realm, first, max);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get users from Keycloak: " + e.getMessage());
+        }
+    }
 
-        HttpEntity<String> request = new HttpEntity<>(headers);
+    /**
+     * Lấy các admin events liên quan đến USER (CREATE/UPDATE/DELETE) từ một ngày.
+     * Yêu cầu realm bật "Save admin events".
+     *
+     * @param dateFrom ngày bắt đầu (yyyy-MM-dd)
+     * @param first    vị trí bắt đầu
+     * @param max      số events tối đa
+     */
+    public List<Map<String, Object>> getUserAdminEvents(String dateFrom, int first, int max) {
+        String eventsUrl = keycloakUrl + "/admin/realms/{realm}/admin-events?resourceTypes=USER&dateFrom={dateFrom}"
+                + "&first={first}&max={max}";
+        try {
+            return getList(eventsUrl, realm, dateFrom, first, max);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get admin events from Keycloak: " + e.getMessage());
+        }
+    }
 
+    /**
+     * Lấy các user events (REGISTER, UPDATE_PROFILE, UPDATE_EMAIL) từ một ngày.
+     * Yêu cầu realm bật "Save events".
+     */
+    public List<Map<String, Object>> getUserEvents(String dateFrom, int first, int max) {
+        String eventsUrl = keycloakUrl + "/admin/realms/{realm}"
+                + "/events?type=REGISTER&type=UPDATE_PROFILE&type=UPDATE_EMAIL&dateFrom={dateFrom}"
+                + "&first={first}&max={max}";
         try {
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    usersUrl,
-                    HttpMethod.GET,
-                    request,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                    });
-            return response.getBody() != null ? response.getBody() : Collections.emptyList();
+            return getList(eventsUrl, realm, dateFrom, first, max);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to get users from Keycloak: " + e.getMessage());
+            throw new RuntimeException("Failed to get user events from Keycloak: " + e.getMessage());
         }
     }
 
+    private List<Map<String, Object>> getList(String url, Object... uriVariables) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(getAdminToken());
+
+        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                },
+                uriVariables);
+        return response.getBody() != null ? response.getBody() : Collections.emptyList();
+    }
+
     /**
      * Lấy user theo ID từ Keycloak
      */
     public Map<String, Object> getUserById(String userId) {
         String adminToken = getAdminToken();
-        String userUrl = keycloakUrl + "/admin/realms/" + realm + "/users/" + userId;
+        String userUrl = keycloakUrl + "/admin/realms/{realm}/users/{id}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(adminToken);
@@ -145,7 +212,8 @@ public class KeycloakAdminService {
                     HttpMethod.GET,
                     request,
                     new ParameterizedTypeReference<Map<String, Object>>() {
-                    });
+                    },
+                    realm, userId);
             return response.getBody();
         } catch (Exception e) {
             throw new RuntimeException("Failed to get user from Keycloak: " + e.getMessage());
@@ -181,7 +249,7 @@ public class KeycloakAdminService {
      */
     public void deleteUser(String userId) {
         String adminToken = getAdminToken();
-        String userUrl = keycloakUrl + "/admin/realms/" + realm + "/users/" + userId;
+        String userUrl = keycloakUrl + "/admin/realms/{realm}/users/{id}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(adminToken);
@@ -193,7 +261,8 @@ public class KeycloakAdminService {
                     userUrl,
                     HttpMethod.DELETE,
                     request,
-                    Void.class);
+                    Void.class,
+                    realm, userId);
             if (!response.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("Failed to delete user from Keycloak: " + response.getStatusCode());
             }
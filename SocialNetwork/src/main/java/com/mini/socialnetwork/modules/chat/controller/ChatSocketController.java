@@ -1,7 +1,8 @@
 package com.mini.socialnetwork.modules.chat.controller;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -9,7 +10,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Controller;
 
-import com.mini.socialnetwork.modules.notification.entity.Notification;
+import com.mini.socialnetwork.infras.LogSampler;
 import com.mini.socialnetwork.modules.chat.dto.DeleteMessageEvent;
 import com.mini.socialnetwork.modules.chat.dto.DeleteMessageRequest;
 import com.mini.socialnetwork.modules.chat.dto.SendMessageRequest;
@@ -17,7 +18,7 @@ import com.mini.socialnetwork.modules.chat.entity.Conversation;
 import com.mini.socialnetwork.modules.chat.entity.Message;
 import com.mini.socialnetwork.modules.chat.repository.ConversationRepository;
 import com.mini.socialnetwork.modules.chat.service.MessageService;
-import com.mini.socialnetwork.modules.notification.service.NotificationService;
+import com.mini.socialnetwork.modules.notification.event.MessageSentEvent;
 
 import java.util.Collections;
 
@@ -49,7 +50,6 @@ import java.util.Collections;
  * @see com.mini.socialnetwork.config.WebSocketConfig
  */
 @Controller
-@RequiredArgsConstructor
 @Slf4j
 public class ChatSocketController {
 
@@ -62,8 +62,21 @@ public class ChatSocketController {
     /** Repository truy cập dữ liệu cuộc hội thoại */
     private final ConversationRepository conversationRepository;
 
-    /** Service xử lý notification */
-    private final NotificationService notificationService;
+    /** Publisher cho domain event (notification được tạo bất đồng bộ) */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Lấy mẫu log INFO cho mỗi tin nhắn (chat.message-log.sample-rate) */
+    private final LogSampler messageLogSampler;
+
+    public ChatSocketController(SimpMessagingTemplate messagingTemplate, MessageService messageService,
+            ConversationRepository conversationRepository, ApplicationEventPublisher eventPublisher,
+            @Value("${chat.message-log.sample-rate:1}") int messageLogSampleRate) {
+        this.messagingTemplate = messagingTemplate;
+        this.messageService = messageService;
+        this.conversationRepository = conversationRepository;
+        this.eventPublisher = eventPublisher;
+        this.messageLogSampler = new LogSampler(messageLogSampleRate);
+    }
 
     /**
      * Xử lý tin nhắn mới từ client và gửi đến tất cả participant.
@@ -104,8 +117,10 @@ public class ChatSocketController {
             senderAvatar = "https://ui-avatars.com/api/?name=" + senderName.replace(" ", "+");
         }
 
-        log.info("User {} ({}) is sending a message to conversation {}", senderId, senderName,
-                request.getConversationId());
+        if (messageLogSampler.sample()) {
+            log.info("User {} is sending a message to conversation {} (sampled 1/{})", senderId,
+                    request.getConversationId(), messageLogSampler.rate());
+        }
 
         Message savedMessage = messageService.createMessage(request, senderId);
 
@@ -121,27 +136,21 @@ public class ChatSocketController {
                     participantId,
                     "/queue/messages",
                     savedMessage);
-            log.info("Message {} sent to user {}", savedMessage.getId(), participantId);
+            log.debug("Message {} sent to user {}", savedMessage.getId(), participantId);
 
             // Tạo và gửi notification cho người nhận (không phải sender)
             if (!participantId.equals(senderId)) {
                 try {
-                    Notification notification = notificationService.createMessageNotification(
+                    // Publish event, notification được tạo bất đồng bộ bởi NotificationWorker
+                    eventPublisher.publishEvent(new MessageSentEvent(
                             senderId,
                             participantId,
                             finalSenderName,
                             finalSenderAvatar,
                             savedMessage.getConversationId().toString(),
-                            savedMessage.getContent());
-
-                    // Gửi notification qua WebSocket
-                    messagingTemplate.convertAndSendToUser(
-                            participantId,
-                            "/queue/notifications",
-                            notification);
-                    log.info("Notification sent to user {}", participantId);
+                            savedMessage.getContent()));
                 } catch (Exception e) {
-                    log.error("Failed to create/send notification to user {}: {}", participantId, e.getMessage());
+                    log.error("Failed to publish notification event for user {}: {}", participantId, e.getMessage());
                 }
             }
         });
@@ -182,7 +191,7 @@ public class ChatSocketController {
         DeleteMessageEvent event = new DeleteMessageEvent(deletedMessage.getId(), conversationId);
 
         messagingTemplate.convertAndSend("/topic/conversation/" + conversationId, event);
-        log.info("Delete event for message {} broadcasted to topic /topic/conversation/{}", event.getMessageId(),
+        log.debug("Delete event for message {} broadcasted to topic /topic/conversation/{}", event.getMessageId(),
                 event.getConversationId());
     }
 }
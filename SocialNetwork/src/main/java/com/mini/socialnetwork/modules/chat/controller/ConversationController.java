@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.mini.socialnetwork.modules.chat.entity.Conversation;
+import com.mini.socialnetwork.modules.chat.entity.ConversationReadReceipt;
 import com.mini.socialnetwork.modules.chat.entity.Message;
 import com.mini.socialnetwork.modules.chat.repository.ConversationRepository;
 import com.mini.socialnetwork.modules.chat.repository.MessageRepository;
@@ -25,6 +26,7 @@ import java.util.List;
  * <ul>
  *   <li>Lấy danh sách cuộc hội thoại của người dùng</li>
  *   <li>Lấy lịch sử tin nhắn trong một cuộc hội thoại</li>
+ *   <li>Lấy read receipts của các participant</li>
  * </ul>
  * Sử dụng cursor-based pagination để tối ưu hiệu suất và hỗ trợ infinite scroll.
  * </p>
@@ -134,4 +136,26 @@ public class ConversationController {
         }
         return ResponseEntity.ok(messages);
     }
+
+    /**
+     * Lấy read receipts (tin nhắn mới nhất đã đọc) của các participant trong cuộc hội thoại.
+     *
+     * @param conversationId ID của cuộc hội thoại
+     * @param jwt JWT token của người dùng đang đăng nhập
+     * @return danh sách read receipt
+     * @throws ResponseStatusException 403 nếu người dùng không phải participant
+     */
+    @GetMapping("/{conversationId}/read-receipts")
+    public ResponseEntity<List<ConversationReadReceipt>> getReadReceipts(
+            @PathVariable Long conversationId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String currentUserId = jwt.getSubject();
+
+        conversationRepository.findById(conversationId)
+                .filter(conv -> conv.getParticipantIds().contains(currentUserId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Access Denied"));
+
+        return ResponseEntity.ok(conversationService.getReadReceipts(conversationId));
+    }
 }
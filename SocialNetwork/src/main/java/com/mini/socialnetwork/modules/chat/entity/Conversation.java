@@ -71,7 +71,8 @@ public class Conversation {
      * </p>
      */
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "conversation_participants", joinColumns = @JoinColumn(name = "conversation_id"))
+    @CollectionTable(name = "conversation_participants", joinColumns = @JoinColumn(name = "conversation_id"),
+            indexes = @Index(name = "idx_conversation_participants_user", columnList = "user_id, conversation_id"))
     @Column(name = "user_id")
     private Set<String> participantIds;
 
@@ -0,0 +1,38 @@
+package com.mini.socialnetwork.modules.chat.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read receipt của một user trong một cuộc hội thoại.
+ * <p>
+ * Lưu ID tin nhắn mới nhất mà user đã đọc (high-water mark) thay vì
+ * trạng thái đọc của từng tin nhắn, nên việc đánh dấu đã đọc chỉ tốn
+ * một câu UPSERT bất kể số tin nhắn tồn đọng.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "conversation_read_receipts", indexes = @Index(name = "idx_read_receipts_user", columnList = "user_id"))
+public class ConversationReadReceipt {
+
+    @EmbeddedId
+    private ConversationReadReceiptId id;
+
+    /** ID tin nhắn mới nhất user đã đọc */
+    private Long lastReadMessageId;
+
+    /** Thời điểm đọc gần nhất */
+    private Instant readAt;
+}
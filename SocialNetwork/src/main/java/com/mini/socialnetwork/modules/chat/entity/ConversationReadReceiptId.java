@@ -0,0 +1,40 @@
+package com.mini.socialnetwork.modules.chat.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Composite Key cho ConversationReadReceipt entity.
+ * Mỗi user có tối đa một read receipt cho mỗi cuộc hội thoại.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ConversationReadReceiptId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long conversationId; // ID cuộc hội thoại
+    private String userId; // Keycloak user ID của người đọc
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ConversationReadReceiptId that = (ConversationReadReceiptId) o;
+        return Objects.equals(conversationId, that.conversationId) &&
+                Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(conversationId, userId);
+    }
+}
@@ -43,7 +43,11 @@ import java.util.List;
 @Data
 @Builder
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_conversation_id", columnList = "conversation_id, id"),
+        @Index(name = "idx_messages_sender", columnList = "sender_id"),
+        @Index(name = "idx_messages_created", columnList = "created_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,63 @@
+package com.mini.socialnetwork.modules.chat.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mini.socialnetwork.modules.chat.entity.ConversationReadReceipt;
+import com.mini.socialnetwork.modules.chat.entity.ConversationReadReceiptId;
+
+/**
+ * Repository cho read receipt của cuộc hội thoại.
+ */
+public interface ConversationReadReceiptRepository
+        extends JpaRepository<ConversationReadReceipt, ConversationReadReceiptId> {
+
+    /**
+     * Ghi nhận user đã đọc đến tin nhắn mới nhất của cuộc hội thoại bằng một câu
+     * INSERT ... SELECT ... ON DUPLICATE KEY UPDATE.
+     * <p>
+     * Chỉ ghi khi user là participant và cuộc hội thoại đã có tin nhắn;
+     * lastReadMessageId không bao giờ lùi lại.
+     * </p>
+     *
+     * @param conversationId ID cuộc hội thoại
+     * @param userId         ID người đọc
+     * @param readAt         thời điểm đọc
+     * @return số dòng bị ảnh hưởng (0 nếu không phải participant hoặc chưa có tin nhắn)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO conversation_read_receipts (conversation_id, user_id, last_read_message_id, read_at)
+            SELECT m.conversation_id, :userId, MAX(m.id), :readAt
+            FROM messages m
+            WHERE m.conversation_id = :conversationId
+              AND EXISTS (SELECT 1 FROM conversation_participants p
+                          WHERE p.conversation_id = :conversationId AND p.user_id = :userId)
+            GROUP BY m.conversation_id
+            ON DUPLICATE KEY UPDATE
+              last_read_message_id = GREATEST(COALESCE(last_read_message_id, 0), VALUES(last_read_message_id)),
+              read_at = VALUES(read_at)
+            """, nativeQuery = true)
+    int upsertToLatestMessage(@Param("conversationId") Long conversationId,
+            @Param("userId") String userId,
+            @Param("readAt") Instant readAt);
+
+    /**
+     * Lấy read receipts của tất cả participant trong một cuộc hội thoại.
+     */
+    List<ConversationReadReceipt> findByIdConversationId(Long conversationId);
+
+    /**
+     * Xóa tất cả read receipts của một user
+     */
+    @Modifying
+    @Transactional
+    void deleteByIdUserId(String userId);
+}
@@ -3,6 +3,8 @@ package com.mini.socialnetwork.modules.chat.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mini.socialnetwork.modules.chat.entity.Message;
@@ -61,4 +63,10 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Modifying
     @Transactional
     void deleteBySenderId(String senderId);
+
+    /**
+     * Lấy một chunk ID tin nhắn của một sender (dùng cho job xóa user).
+     */
+    @Query("SELECT m.id FROM Message m WHERE m.senderId = :senderId")
+    List<Long> findIdsBySenderId(@Param("senderId") String senderId, Pageable pageable);
 }
@@ -6,12 +6,15 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 
 /**
  * Interceptor xác thực kết nối WebSocket bằng JWT token.
@@ -36,6 +39,12 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
  * Authentication đã được lưu trong session. Nếu token không hợp lệ,
  * BadCredentialsException được throw và kết nối bị từ chối.
  * </p>
+ * <p>
+ * Lệnh SUBSCRIBE tới các topic {@code /topic/admin/**} (ví dụ metrics realtime)
+ * chỉ được chấp nhận khi user có role admin. Simple broker so khớp destination
+ * của SUBSCRIBE như Ant pattern ({@code /topic/**} nhận cả message admin) nên
+ * destination dạng pattern cũng chỉ dành cho admin.
+ * </p>
  *
  * @author MiniSocialNetwork Team
  * @version 1.0
@@ -43,6 +52,12 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
  */
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    /** Prefix các topic chỉ dành cho admin */
+    private static final String ADMIN_TOPIC_PREFIX = "/topic/admin/";
+
+    /** Cùng kiểu path matcher với DefaultSubscriptionRegistry của simple broker */
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
     /** Decoder để giải mã và xác minh JWT token */
     private final JwtDecoder jwtDecoder;
 
@@ -95,7 +110,29 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                     throw new BadCredentialsException("Invalid token");
                 }
             }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination != null && isAdminOnly(destination) && !isAdmin(accessor)) {
+                throw new AccessDeniedException("Admin role required for " + destination);
+            }
         }
         return message;
     }
+
+    /**
+     * Destination chỉ admin được subscribe: topic admin, hoặc pattern ({@code *}, {@code ?},
+     * {@code {...}}) mà broker có thể khớp với topic admin.
+     */
+    private boolean isAdminOnly(String destination) {
+        return destination.startsWith(ADMIN_TOPIC_PREFIX) || PATH_MATCHER.isPattern(destination);
+    }
+
+    /**
+     * Kiểm tra user của session có role admin (ROLE_admin từ realm_access.roles).
+     */
+    private boolean isAdmin(StompHeaderAccessor accessor) {
+        return accessor.getUser() instanceof Authentication authentication
+                && authentication.getAuthorities().stream()
+                        .anyMatch(a -> "ROLE_admin".equals(a.getAuthority()));
+    }
 }
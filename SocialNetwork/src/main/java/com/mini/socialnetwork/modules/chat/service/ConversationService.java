@@ -2,10 +2,13 @@ package com.mini.socialnetwork.modules.chat.service;
 
 import com.mini.socialnetwork.modules.chat.dto.ConversationDTO;
 import com.mini.socialnetwork.modules.chat.entity.Conversation;
+import com.mini.socialnetwork.modules.chat.entity.ConversationReadReceipt;
+import com.mini.socialnetwork.modules.chat.repository.ConversationReadReceiptRepository;
 import com.mini.socialnetwork.modules.chat.repository.ConversationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -14,6 +17,7 @@ import java.util.stream.Collectors;
 public class ConversationService {
 
     private final ConversationRepository conversationRepository;
+    private final ConversationReadReceiptRepository readReceiptRepository;
 
     public List<ConversationDTO> getConversationsForUser(String userId) {
         List<Conversation> convs = conversationRepository.findAllByParticipantIdsOrderByUpdatedAtDescIdDesc(userId);
@@ -27,7 +31,21 @@ public class ConversationService {
                 .orElse(null);
     }
 
-    private ConversationDTO toDto(Conversation c) {
+    /**
+     * Ghi nhận user đã đọc đến tin nhắn mới nhất của cuộc hội thoại (một câu UPSERT).
+     *
+     * @return true nếu read receipt được ghi (user là participant và có tin nhắn)
+     */
+    public boolean markAsRead(Long conversationId, String userId) {
+        return readReceiptRepository.upsertToLatestMessage(conversationId, userId, Instant.now()) > 0;
+    }
+
+    public List<ConversationReadReceipt> getReadReceipts(Long conversationId) {
+        return readReceiptRepository.findByIdConversationId(conversationId);
+    }
+
+    // Package-private để benchmark được (src/jmh)
+    ConversationDTO toDto(Conversation c) {
         ConversationDTO dto = new ConversationDTO();
         dto.setId(c.getId());
         dto.setLastMessageContent(c.getLastMessageContent());
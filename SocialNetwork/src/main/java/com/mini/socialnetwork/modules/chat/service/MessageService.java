@@ -18,6 +18,8 @@ import com.mini.socialnetwork.modules.chat.entity.Conversation.ConversationType;
 import com.mini.socialnetwork.modules.chat.entity.Message;
 import com.mini.socialnetwork.modules.chat.repository.ConversationRepository;
 import com.mini.socialnetwork.modules.chat.repository.MessageRepository;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
 
 /**
  * Service xử lý logic nghiệp vụ cho tin nhắn và cuộc hội thoại.
@@ -57,6 +59,9 @@ public class MessageService {
     /** Service xử lý lưu trữ file */
     private final StorageService storageService;
 
+    /** Service cập nhật rollup thống kê */
+    private final StatisticsService statisticsService;
+
     /**
      * Tạo và lưu tin nhắn mới vào cuộc hội thoại.
      * <p>
@@ -129,6 +134,7 @@ public class MessageService {
         }
 
         Message savedMessage = messageRepository.save(message);
+        statisticsService.record(StatisticMetric.MESSAGES, savedMessage.getCreatedAt(), 1);
 
         String lastMessageContentTruncated = savedMessage.getContent().length() > 50
                 ? savedMessage.getContent().substring(0, 50) + "..."
@@ -2,10 +2,12 @@ package com.mini.socialnetwork.modules.comment.controller;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,10 +22,11 @@ import com.mini.socialnetwork.modules.comment.dto.CommentResponse;
 import com.mini.socialnetwork.modules.comment.entity.Comment;
 import com.mini.socialnetwork.modules.comment.service.CommentService;
 import com.mini.socialnetwork.dto.SliceResponse;
-import com.mini.socialnetwork.modules.notification.entity.Notification;
 import com.mini.socialnetwork.modules.post.entity.Post;
 import com.mini.socialnetwork.modules.post.service.PostService;
-import com.mini.socialnetwork.modules.notification.service.NotificationService;
+import com.mini.socialnetwork.modules.notification.event.PostCommentedEvent;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+import com.mini.socialnetwork.modules.user.service.UserSummaryService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,8 +39,8 @@ public class CommentController {
 
     private final CommentService commentService;
     private final PostService postService;
-    private final NotificationService notificationService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserSummaryService userSummaryService;
 
     /**
      * Create a new comment on a post
@@ -63,26 +66,20 @@ public class CommentController {
 
             // Không gửi notification nếu tự comment bài mình
             if (!userId.equals(authorId)) {
-                Notification notification = notificationService.createCommentNotification(
+                // Publish event, notification được tạo bất đồng bộ bởi NotificationWorker
+                eventPublisher.publishEvent(new PostCommentedEvent(
                         userId,
                         authorId,
                         userName != null ? userName : "Someone",
                         userAvatar,
                         postId,
-                        content);
-
-                // Gửi notification qua WebSocket
-                messagingTemplate.convertAndSendToUser(
-                        authorId,
-                        "/queue/notifications",
-                        notification);
-                log.info("Comment notification sent to user {}", authorId);
+                        content));
             }
         } catch (Exception e) {
-            log.error("Failed to send comment notification: {}", e.getMessage());
+            log.error("Failed to publish comment notification event: {}", e.getMessage());
         }
 
-        return ResponseEntity.ok(CommentResponse.from(saved));
+        return ResponseEntity.ok(toResponse(saved));
     }
 
     /**
@@ -92,7 +89,7 @@ public class CommentController {
     @GetMapping("/{id}")
     public ResponseEntity<CommentResponse> getCommentById(@PathVariable String id) {
         Comment comment = commentService.getCommentById(id);
-        return ResponseEntity.ok(CommentResponse.from(comment));
+        return ResponseEntity.ok(toResponse(comment));
     }
 
     /**
@@ -106,7 +103,7 @@ public class CommentController {
             @RequestParam(defaultValue = "10") int size) {
 
         var slice = commentService.getCommentsByPost(postId, page, size);
-        List<CommentResponse> content = slice.map(CommentResponse::from).getContent();
+        List<CommentResponse> content = toResponses(slice.getContent());
         return ResponseEntity.ok(SliceResponse.of(content, slice.hasNext()));
     }
 
@@ -126,7 +123,7 @@ public class CommentController {
             throws IOException {
 
         Comment updated = commentService.updateComment(id, userId, content, image, removeImage);
-        return ResponseEntity.ok(CommentResponse.from(updated));
+        return ResponseEntity.ok(toResponse(updated));
     }
 
     /**
@@ -139,7 +136,7 @@ public class CommentController {
             @RequestParam("userId") String userId) {
 
         Comment deleted = commentService.deleteComment(id, userId);
-        return ResponseEntity.ok(CommentResponse.from(deleted));
+        return ResponseEntity.ok(toResponse(deleted));
     }
 
     /**
@@ -151,4 +148,19 @@ public class CommentController {
         long count = commentService.getCommentCount(postId);
         return ResponseEntity.ok(count);
     }
+
+    private CommentResponse toResponse(Comment comment) {
+        return CommentResponse.from(comment, userSummaryService.getSummary(comment.getUserId()));
+    }
+
+    /**
+     * Hydrate người comment cho cả trang bằng một lần tra cache/IN.
+     */
+    private List<CommentResponse> toResponses(List<Comment> comments) {
+        Map<UUID, UserSummary> users = userSummaryService.getSummaries(
+                comments.stream().map(Comment::getUserId).toList());
+        return comments.stream()
+                .map(comment -> CommentResponse.from(comment, users.get(comment.getUserId())))
+                .toList();
+    }
 }
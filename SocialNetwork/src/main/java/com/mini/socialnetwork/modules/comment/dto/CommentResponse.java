@@ -3,6 +3,7 @@ package com.mini.socialnetwork.modules.comment.dto;
 import java.time.Instant;
 
 import com.mini.socialnetwork.modules.comment.entity.Comment;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
 
 public record CommentResponse(
         String id,
@@ -12,9 +13,17 @@ public record CommentResponse(
         String imageUrl,
         Instant createdAt,
         Instant updatedAt,
-        boolean deleted) {
+        boolean deleted,
+        UserSummary author) {
 
     public static CommentResponse from(Comment comment) {
+        return from(comment, null);
+    }
+
+    /**
+     * Tạo response kèm thông tin người comment đã hydrate (có thể null).
+     */
+    public static CommentResponse from(Comment comment, UserSummary author) {
         return new CommentResponse(
                 comment.getId() != null ? comment.getId().toString() : null,
                 comment.getPostId() != null ? comment.getPostId().toString() : null,
@@ -23,6 +32,7 @@ public record CommentResponse(
                 comment.getImageUrl(),
                 comment.getCreatedAt(),
                 comment.getUpdatedAt(),
-                comment.isDeleted());
+                comment.isDeleted(),
+                author);
     }
 }
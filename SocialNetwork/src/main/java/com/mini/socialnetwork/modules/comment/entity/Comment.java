@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -19,7 +20,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_comments_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_comments_post_deleted_created", columnList = "post_id, is_deleted, created_at"),
+        @Index(name = "idx_comments_deleted_created", columnList = "is_deleted, created_at")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -6,12 +6,15 @@ import java.util.UUID;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mini.socialnetwork.modules.comment.entity.Comment;
 
-public interface CommentRepository extends JpaRepository<Comment, UUID> {
+public interface CommentRepository extends JpaRepository<Comment, UUID>, JpaSpecificationExecutor<Comment> {
 
     // Count only non-deleted comments for dashboard statistics
     long countByIsDeletedFalse();
@@ -32,4 +35,31 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     @Modifying
     @Transactional
     void deleteByUserId(UUID userId);
+
+    // Chunk of comment IDs written by a user (used by the user deletion job)
+    @Query("SELECT c.id FROM Comment c WHERE c.userId = :userId")
+    List<UUID> findIdsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    // Chunk of comment IDs on posts of an author (used by the user deletion job)
+    @Query("SELECT c.id FROM Comment c WHERE c.postId IN (SELECT p.id FROM Post p WHERE p.authorId = :authorId)")
+    List<UUID> findIdsOnPostsByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
+
+    // Non-deleted comments of a post grouped by creation date (statistics rollup on bulk delete)
+    @Query("SELECT FUNCTION('DATE', c.createdAt), COUNT(c) FROM Comment c " +
+            "WHERE c.postId = :postId AND c.isDeleted = false GROUP BY FUNCTION('DATE', c.createdAt)")
+    List<Object[]> countActiveByPostIdGroupByDate(@Param("postId") UUID postId);
+
+    // Non-deleted comments among the given IDs grouped by creation date (statistics rollup on bulk delete)
+    @Query("SELECT FUNCTION('DATE', c.createdAt), COUNT(c) FROM Comment c " +
+            "WHERE c.id IN :ids AND c.isDeleted = false GROUP BY FUNCTION('DATE', c.createdAt)")
+    List<Object[]> countActiveByIdInGroupByDate(@Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<UUID> ids);
+
+    // Keyset scan over non-deleted comments by id (used to rebuild the search index)
+    @Query("SELECT c FROM Comment c WHERE c.isDeleted = false AND (:after IS NULL OR c.id > :after) ORDER BY c.id")
+    List<Comment> findActiveAfterId(@Param("after") UUID after, Pageable pageable);
 }
@@ -14,10 +14,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.mini.socialnetwork.infras.ExternalClientMetrics;
 import com.mini.socialnetwork.modules.comment.entity.Comment;
 import com.mini.socialnetwork.modules.comment.repository.CommentRepository;
 import com.mini.socialnetwork.modules.post.entity.Post;
 import com.mini.socialnetwork.modules.post.repository.PostRepository;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +34,9 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final Cloudinary cloudinary;
+    private final ExternalClientMetrics externalClientMetrics;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
 
     /**
      * Create a new comment on a post
@@ -59,8 +66,8 @@ public class CommentService {
             if (image.getSize() > MAX_IMAGE_SIZE_BYTES) {
                 throw new IllegalArgumentException("Image must be 5MB or smaller");
             }
-            Map<?, ?> uploadResult = cloudinary.uploader()
-                    .upload(image.getBytes(), ObjectUtils.asMap("folder", "comments"));
+            Map<?, ?> uploadResult = externalClientMetrics.observe("cloudinary", "upload",
+                    () -> cloudinary.uploader().upload(image.getBytes(), ObjectUtils.asMap("folder", "comments")));
             Object url = uploadResult.get("secure_url");
             if (url != null) {
                 imageUrl = url.toString();
@@ -79,6 +86,8 @@ public class CommentService {
                 .build();
 
         Comment saved = commentRepository.save(comment);
+        statisticsService.record(StatisticMetric.COMMENTS, saved.getCreatedAt(), 1);
+        searchIndexService.indexComment(saved);
 
         // Update post comment count
         long commentCount = commentRepository.countByPostIdAndIsDeletedFalse(postUuid);
@@ -143,8 +152,8 @@ public class CommentService {
             if (image.getSize() > MAX_IMAGE_SIZE_BYTES) {
                 throw new IllegalArgumentException("Image must be 5MB or smaller");
             }
-            Map<?, ?> uploadResult = cloudinary.uploader()
-                    .upload(image.getBytes(), ObjectUtils.asMap("folder", "comments"));
+            Map<?, ?> uploadResult = externalClientMetrics.observe("cloudinary", "upload",
+                    () -> cloudinary.uploader().upload(image.getBytes(), ObjectUtils.asMap("folder", "comments")));
             Object url = uploadResult.get("secure_url");
             if (url != null) {
                 comment.setImageUrl(url.toString());
@@ -159,7 +168,9 @@ public class CommentService {
         }
 
         comment.setUpdatedAt(Instant.now());
-        return commentRepository.save(comment);
+        Comment updated = commentRepository.save(comment);
+        searchIndexService.indexComment(updated);
+        return updated;
     }
 
     /**
@@ -184,6 +195,8 @@ public class CommentService {
         comment.setDeleted(true);
         comment.setUpdatedAt(Instant.now());
         Comment deleted = commentRepository.save(comment);
+        statisticsService.record(StatisticMetric.COMMENTS, deleted.getCreatedAt(), -1);
+        searchIndexService.indexComment(deleted);
 
         // Update post comment count
         UUID postUuid = comment.getPostId();
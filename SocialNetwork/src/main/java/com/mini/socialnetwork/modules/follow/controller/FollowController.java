@@ -6,6 +6,7 @@ import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.mini.socialnetwork.dto.CursorResponse;
 import com.mini.socialnetwork.modules.follow.dto.UserProfileDto;
 import com.mini.socialnetwork.modules.follow.service.FollowService;
 
@@ -102,6 +103,30 @@ public class FollowController {
         return ResponseEntity.ok(following);
     }
 
+    /**
+     * Get one page of followers (newest first)
+     * GET /api/follows/followers/{userId}/page?cursor={cursor}&size={size}
+     */
+    @GetMapping("/followers/{userId}/page")
+    public ResponseEntity<CursorResponse<UserProfileDto>> getFollowersPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(followService.getFollowersPage(userId, cursor, size));
+    }
+
+    /**
+     * Get one page of users that a user is following (newest first)
+     * GET /api/follows/following/{userId}/page?cursor={cursor}&size={size}
+     */
+    @GetMapping("/following/{userId}/page")
+    public ResponseEntity<CursorResponse<UserProfileDto>> getFollowingPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(followService.getFollowingPage(userId, cursor, size));
+    }
+
     /**
      * Get suggested users to follow (excluding self)
      * GET /api/follows/suggestions/{userId}
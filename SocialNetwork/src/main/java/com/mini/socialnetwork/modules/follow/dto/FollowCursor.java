@@ -0,0 +1,39 @@
+package com.mini.socialnetwork.modules.follow.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Vị trí keyset (createdAt, userId) của follow cuối cùng trong một trang
+ * followers/following. {@code userId} là id của user phía bên kia (follower
+ * hoặc following), vì follows lưu Keycloak id dạng String.
+ * Được mã hóa Base64 URL-safe để client truyền lại nguyên vẹn.
+ */
+public record FollowCursor(LocalDateTime createdAt, String userId) {
+
+    public String encode() {
+        String raw = createdAt + "|" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Giải mã cursor từ client.
+     *
+     * @param cursor chuỗi cursor, có thể null
+     * @return FollowCursor hoặc null nếu cursor rỗng
+     * @throws IllegalArgumentException nếu cursor không hợp lệ
+     */
+    public static FollowCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new FollowCursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -15,7 +15,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "user_follows")
+@Table(name = "user_follows", indexes = {
+        @Index(name = "idx_user_follows_following_created", columnList = "following_id, created_at"),
+        @Index(name = "idx_user_follows_follower_created", columnList = "follower_id, created_at")
+})
 public class Follow {
     @EmbeddedId
     private FollowId followId;
@@ -1,7 +1,10 @@
 package com.mini.socialnetwork.modules.follow.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -37,6 +40,52 @@ public interface FollowRepository extends JpaRepository<Follow, FollowId> {
     @Query("SELECT f.followId.followingId FROM Follow f WHERE f.followId.followerId = :userId")
     List<String> findFollowingIdsByUserId(@Param("userId") String userId);
 
+    /**
+     * Trang đầu followers của user, mới nhất trước
+     * (dùng index (following_id, created_at)).
+     */
+    @Query("SELECT f FROM Follow f WHERE f.followId.followingId = :userId " +
+            "ORDER BY f.createdAt DESC, f.followId.followerId DESC")
+    List<Follow> findFollowersPage(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * Trang followers tiếp theo sau cursor (createdAt, followerId).
+     */
+    @Query("SELECT f FROM Follow f WHERE f.followId.followingId = :userId AND (f.createdAt < :createdAt " +
+            "OR (f.createdAt = :createdAt AND f.followId.followerId < :afterId)) " +
+            "ORDER BY f.createdAt DESC, f.followId.followerId DESC")
+    List<Follow> findFollowersPageAfter(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("afterId") String afterId, Pageable pageable);
+
+    /**
+     * Trang đầu following của user, mới nhất trước
+     * (dùng index (follower_id, created_at)).
+     */
+    @Query("SELECT f FROM Follow f WHERE f.followId.followerId = :userId " +
+            "ORDER BY f.createdAt DESC, f.followId.followingId DESC")
+    List<Follow> findFollowingPage(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * Trang following tiếp theo sau cursor (createdAt, followingId).
+     */
+    @Query("SELECT f FROM Follow f WHERE f.followId.followerId = :userId AND (f.createdAt < :createdAt " +
+            "OR (f.createdAt = :createdAt AND f.followId.followingId < :afterId)) " +
+            "ORDER BY f.createdAt DESC, f.followId.followingId DESC")
+    List<Follow> findFollowingPageAfter(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("afterId") String afterId, Pageable pageable);
+
+    // Among the given users, those that followerId follows
+    @Query("SELECT f.followId.followingId FROM Follow f " +
+            "WHERE f.followId.followerId = :followerId AND f.followId.followingId IN :userIds")
+    List<String> findFollowedAmong(@Param("followerId") String followerId,
+            @Param("userIds") Collection<String> userIds);
+
+    // Among the given users, those that follow followingId
+    @Query("SELECT f.followId.followerId FROM Follow f " +
+            "WHERE f.followId.followingId = :followingId AND f.followId.followerId IN :userIds")
+    List<String> findFollowersAmong(@Param("followingId") String followingId,
+            @Param("userIds") Collection<String> userIds);
+
     /**
      * Xóa tất cả follows mà user là follower
      */
@@ -51,6 +100,31 @@ public interface FollowRepository extends JpaRepository<Follow, FollowId> {
     @Transactional
     void deleteByFollowId_FollowingId(String followingId);
 
+    /**
+     * Đếm followers của nhiều user trong một câu: [userId, count]
+     */
+    @Query("SELECT f.followId.followingId, COUNT(f) FROM Follow f " +
+            "WHERE f.followId.followingId IN :userIds GROUP BY f.followId.followingId")
+    List<Object[]> countFollowersByUserIdIn(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * Đếm following của nhiều user trong một câu: [userId, count]
+     */
+    @Query("SELECT f.followId.followerId, COUNT(f) FROM Follow f " +
+            "WHERE f.followId.followerId IN :userIds GROUP BY f.followId.followerId")
+    List<Object[]> countFollowingByUserIdIn(@Param("userIds") Collection<String> userIds);
+
+    // Load a bounded chunk of follow rows where the user is follower or following
+    @Query("SELECT f FROM Follow f WHERE f.followId.followerId = :userId OR f.followId.followingId = :userId")
+    List<Follow> findChunkByUserId(@Param("userId") String userId, Pageable pageable);
+
+    // Delete a bounded chunk of follow rows where the user is follower or following
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_follows WHERE follower_id = :userId OR following_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
     /**
      * Get extended following IDs (F1 + F2 + F3) using Recursive CTE.
      * Uses Depth-Limited Search algorithm:
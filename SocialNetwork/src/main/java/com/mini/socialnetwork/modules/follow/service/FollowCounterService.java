@@ -0,0 +1,100 @@
+package com.mini.socialnetwork.modules.follow.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.modules.follow.repository.FollowRepository;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đếm lại bộ đếm {@code followers_count}/{@code following_count} trên bảng users
+ * từ user_follows (job admin, dùng để sửa sai lệch; backfill ban đầu nằm trong
+ * migration V8__backfill_follow_counters.sql).
+ * <p>
+ * Duyệt users theo keyset (id). Mỗi trang chạy trong một transaction: khóa các
+ * dòng users của trang (FOR UPDATE, theo thứ tự id như FollowService), rồi đếm
+ * bằng hai câu GROUP BY ... IN và ghi lại. Follow/unfollow của các user này chờ
+ * khóa nên phần tăng/giảm của chúng được cộng sau khi ghi, không bị mất.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FollowCounterService {
+
+    private final UserRepository userRepository;
+    private final FollowRepository followRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${follow.counters.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Đếm lại bộ đếm follow của toàn bộ users (bỏ qua nếu đang chạy).
+     */
+    @Async("adminJobExecutor")
+    public void recountAllAsync() {
+        recountAll();
+    }
+
+    private void recountAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Follow counter recount is already running");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long users = 0;
+        try {
+            UUID after = null;
+            List<UUID> ids;
+            do {
+                ids = userRepository.findIdsAfterId(after, PageRequest.of(0, batchSize));
+                recountPage(ids);
+                users += ids.size();
+                if (!ids.isEmpty()) {
+                    after = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == batchSize);
+            log.info("Follow counters recounted for {} users in {} ms", users, System.currentTimeMillis() - start);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void recountPage(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<String> keys = ids.stream().map(UUID::toString).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Khóa trước khi đọc: snapshot của các câu đếm được tạo sau khi mọi follow/unfollow
+            // đang giữ dòng users của trang đã commit
+            userRepository.lockByIdIn(ids);
+            Map<String, Long> followers = toCountMap(followRepository.countFollowersByUserIdIn(keys));
+            Map<String, Long> following = toCountMap(followRepository.countFollowingByUserIdIn(keys));
+            for (UUID id : ids) {
+                userRepository.setFollowCounts(id,
+                        followers.getOrDefault(id.toString(), 0L),
+                        following.getOrDefault(id.toString(), 0L));
+            }
+        });
+    }
+
+    private static Map<String, Long> toCountMap(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.toMap(r -> (String) r[0], r -> ((Number) r[1]).longValue()));
+    }
+}
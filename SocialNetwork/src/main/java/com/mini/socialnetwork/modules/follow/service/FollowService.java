@@ -1,18 +1,32 @@
 package com.mini.socialnetwork.modules.follow.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.mini.socialnetwork.dto.CursorResponse;
+import com.mini.socialnetwork.modules.follow.dto.FollowCursor;
 import com.mini.socialnetwork.modules.follow.dto.UserProfileDto;
 import com.mini.socialnetwork.modules.follow.entity.Follow;
 import com.mini.socialnetwork.modules.follow.entity.FollowId;
 import com.mini.socialnetwork.modules.auth.service.KeycloakAdminService;
 import com.mini.socialnetwork.modules.follow.repository.FollowRepository;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +40,11 @@ public class FollowService {
 
     private final FollowRepository followRepository;
     private final KeycloakAdminService keycloakAdminService;
+    private final StatisticsService statisticsService;
+    private final UserRepository userRepository;
+
+    private static final long[] EMPTY_COUNTS = { 0, 0 };
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
      * Follow một user
@@ -45,6 +64,8 @@ public class FollowService {
                 .followId(followId)
                 .build();
         followRepository.save(follow);
+        adjustCounters(followerId, followingId, 1);
+        statisticsService.record(StatisticMetric.FOLLOWS, LocalDate.now(), 1);
     }
 
     /**
@@ -52,7 +73,13 @@ public class FollowService {
      */
     @Transactional
     public void unfollowUser(String followerId, String followingId) {
-        followRepository.deleteByFollowId_FollowerIdAndFollowId_FollowingId(followerId, followingId);
+        followRepository.findById(new FollowId(followerId, followingId)).ifPresent(follow -> {
+            followRepository.delete(follow);
+            adjustCounters(followerId, followingId, -1);
+            // created_at của follow lưu theo giờ local (LocalDateTime)
+            statisticsService.record(StatisticMetric.FOLLOWS,
+                    follow.getCreatedAt() != null ? follow.getCreatedAt().toLocalDate() : LocalDate.now(), -1);
+        });
     }
 
     /**
@@ -63,17 +90,113 @@ public class FollowService {
     }
 
     /**
-     * Đếm số followers của một user
+     * Xóa một chunk follows của user (khi xóa user), đồng thời giảm bộ đếm của
+     * các user ở phía bên kia.
+     *
+     * @return số follows đã xóa
+     */
+    @Transactional
+    public int deleteChunkForUser(String userId, int limit) {
+        List<Follow> chunk = followRepository.findChunkByUserId(userId, PageRequest.of(0, limit));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<UUID> followedUsers = new ArrayList<>();
+        List<UUID> followingUsers = new ArrayList<>();
+        for (Follow follow : chunk) {
+            if (userId.equals(follow.getFollowId().getFollowerId())) {
+                addUuid(followedUsers, follow.getFollowId().getFollowingId());
+            } else {
+                addUuid(followingUsers, follow.getFollowId().getFollowerId());
+            }
+        }
+        followRepository.deleteAllInBatch(chunk);
+        if (!followedUsers.isEmpty()) {
+            userRepository.adjustFollowersCount(followedUsers, -1);
+        }
+        if (!followingUsers.isEmpty()) {
+            userRepository.adjustFollowingCount(followingUsers, -1);
+        }
+        return chunk.size();
+    }
+
+    /**
+     * Số followers của một user (đọc từ bộ đếm trên bảng users)
      */
     public long getFollowerCount(String userId) {
-        return followRepository.countByFollowId_FollowingId(userId);
+        return getCounts(List.of(userId)).getOrDefault(userId, EMPTY_COUNTS)[0];
     }
 
     /**
-     * Đếm số users mà user đang follow
+     * Số users mà user đang follow (đọc từ bộ đếm trên bảng users)
      */
     public long getFollowingCount(String userId) {
-        return followRepository.countByFollowId_FollowerId(userId);
+        return getCounts(List.of(userId)).getOrDefault(userId, EMPTY_COUNTS)[1];
+    }
+
+    /**
+     * Bộ đếm [followers, following] của nhiều user trong một câu IN.
+     */
+    private Map<String, long[]> getCounts(List<String> userIds) {
+        List<UUID> ids = new ArrayList<>();
+        userIds.forEach(id -> addUuid(ids, id));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, long[]> counts = new HashMap<>();
+        for (Object[] row : userRepository.findFollowCountsByIdIn(ids)) {
+            counts.put(row[0].toString(), new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
+        return counts;
+    }
+
+    private void adjustCounters(String followerId, String followingId, long delta) {
+        List<UUID> follower = new ArrayList<>();
+        List<UUID> following = new ArrayList<>();
+        addUuid(follower, followerId);
+        addUuid(following, followingId);
+        // Khóa hai dòng users theo thứ tự id của index (binary(16), so sánh không dấu) như
+        // FollowCounterService: A follow B và B follow A đồng thời sẽ chờ nhau thay vì deadlock
+        boolean followerFirst = following.isEmpty()
+                || (!follower.isEmpty() && compareBinary(follower.get(0), following.get(0)) < 0);
+        if (followerFirst) {
+            adjustFollowing(follower, delta);
+            adjustFollowers(following, delta);
+        } else {
+            adjustFollowers(following, delta);
+            adjustFollowing(follower, delta);
+        }
+    }
+
+    private void adjustFollowing(List<UUID> ids, long delta) {
+        if (!ids.isEmpty()) {
+            userRepository.adjustFollowingCount(ids, delta);
+        }
+    }
+
+    private void adjustFollowers(List<UUID> ids, long delta) {
+        if (!ids.isEmpty()) {
+            userRepository.adjustFollowersCount(ids, delta);
+        }
+    }
+
+    /**
+     * So sánh UUID theo thứ tự byte của cột binary(16); {@link UUID#compareTo} so sánh có dấu.
+     */
+    private static int compareBinary(UUID a, UUID b) {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static void addUuid(List<UUID> target, String id) {
+        if (id == null) {
+            return;
+        }
+        try {
+            target.add(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            // Id không phải UUID (dữ liệu cũ): không có dòng users tương ứng
+        }
     }
 
     /**
@@ -90,11 +213,13 @@ public class FollowService {
         // Lấy thông tin users từ Keycloak
         List<Map<String, Object>> keycloakUsers = keycloakAdminService.getUsersByIds(followerIds);
 
+        Map<String, long[]> counts = getCounts(keycloakUsers.stream().map(u -> (String) u.get("id")).toList());
         return keycloakUsers.stream()
                 .map(keycloakUser -> {
                     String id = (String) keycloakUser.get("id");
-                    long followersCount = getFollowerCount(id);
-                    long followingCount = getFollowingCount(id);
+                    long[] userCounts = counts.getOrDefault(id, EMPTY_COUNTS);
+                    long followersCount = userCounts[0];
+                    long followingCount = userCounts[1];
                     boolean isFollowing = isFollowing(userId, id); // Current user follows them?
                     boolean followsYou = true; // They are in followers list
                     return UserProfileDto.fromKeycloakUser(keycloakUser, followersCount, followingCount, isFollowing,
@@ -117,11 +242,13 @@ public class FollowService {
         // Lấy thông tin users từ Keycloak
         List<Map<String, Object>> keycloakUsers = keycloakAdminService.getUsersByIds(followingIds);
 
+        Map<String, long[]> counts = getCounts(keycloakUsers.stream().map(u -> (String) u.get("id")).toList());
         return keycloakUsers.stream()
                 .map(keycloakUser -> {
                     String id = (String) keycloakUser.get("id");
-                    long followersCount = getFollowerCount(id);
-                    long followingCount = getFollowingCount(id);
+                    long[] userCounts = counts.getOrDefault(id, EMPTY_COUNTS);
+                    long followersCount = userCounts[0];
+                    long followingCount = userCounts[1];
                     boolean isFollowing = true; // Current user follows them
                     boolean followsYou = isFollowing(id, userId); // They follow current user?
                     return UserProfileDto.fromKeycloakUser(keycloakUser, followersCount, followingCount, isFollowing,
@@ -141,6 +268,7 @@ public class FollowService {
         // Lấy tất cả users từ Keycloak
         List<Map<String, Object>> allUsers = keycloakAdminService.getAllUsers();
 
+        Map<String, long[]> counts = getCounts(allUsers.stream().map(u -> (String) u.get("id")).toList());
         return allUsers.stream()
                 .filter(user -> {
                     String id = (String) user.get("id");
@@ -156,8 +284,9 @@ public class FollowService {
                 })
                 .map(keycloakUser -> {
                     String id = (String) keycloakUser.get("id");
-                    long followersCount = getFollowerCount(id);
-                    long followingCount = getFollowingCount(id);
+                    long[] userCounts = counts.getOrDefault(id, EMPTY_COUNTS);
+                    long followersCount = userCounts[0];
+                    long followingCount = userCounts[1];
                     boolean isFollowing = false; // Đã loại bỏ các user đang follow rồi
                     boolean followsYou = isFollowing(id, userId); // They follow current user?
                     return UserProfileDto.fromKeycloakUser(keycloakUser, followersCount, followingCount, isFollowing,
@@ -165,4 +294,76 @@ public class FollowService {
                 })
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Một trang followers của user (mới follow trước), phân trang keyset theo
+     * (createdAt, followerId). Chỉ hydrate từ Keycloak các user trong trang.
+     */
+    public CursorResponse<UserProfileDto> getFollowersPage(String userId, String cursor, int size) {
+        FollowCursor after = FollowCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize(size) + 1);
+        List<Follow> rows = after == null
+                ? followRepository.findFollowersPage(userId, limit)
+                : followRepository.findFollowersPageAfter(userId, after.createdAt(), after.userId(), limit);
+        return toPage(rows, pageSize(size), follow -> follow.getFollowId().getFollowerId(), ids -> {
+            // Current user follows them? They all follow current user.
+            Set<String> followed = new HashSet<>(followRepository.findFollowedAmong(userId, ids));
+            return id -> new boolean[] { followed.contains(id), true };
+        });
+    }
+
+    /**
+     * Một trang users mà user đang follow (mới follow trước), phân trang keyset
+     * theo (createdAt, followingId). Chỉ hydrate từ Keycloak các user trong trang.
+     */
+    public CursorResponse<UserProfileDto> getFollowingPage(String userId, String cursor, int size) {
+        FollowCursor after = FollowCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize(size) + 1);
+        List<Follow> rows = after == null
+                ? followRepository.findFollowingPage(userId, limit)
+                : followRepository.findFollowingPageAfter(userId, after.createdAt(), after.userId(), limit);
+        return toPage(rows, pageSize(size), follow -> follow.getFollowId().getFollowingId(), ids -> {
+            // Current user follows them all. They follow current user?
+            Set<String> followsBack = new HashSet<>(followRepository.findFollowersAmong(userId, ids));
+            return id -> new boolean[] { true, followsBack.contains(id) };
+        });
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Cắt trang (size + 1 dòng để biết còn trang sau), hydrate user của trang
+     * bằng Keycloak, bộ đếm bằng một câu IN và trạng thái follow bằng một câu IN.
+     *
+     * @param otherId lấy id user phía bên kia từ follow
+     * @param flags   từ id của trang trả về hàm id -> [isFollowing, followsYou]
+     */
+    private CursorResponse<UserProfileDto> toPage(List<Follow> rows, int size, Function<Follow, String> otherId,
+            Function<List<String>, Function<String, boolean[]>> flags) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Follow last = rows.get(size - 1);
+            nextCursor = new FollowCursor(last.getCreatedAt(), otherId.apply(last)).encode();
+        }
+        if (rows.isEmpty()) {
+            return CursorResponse.of(Collections.emptyList(), null);
+        }
+        List<String> ids = rows.stream().map(otherId).toList();
+        List<Map<String, Object>> keycloakUsers = keycloakAdminService.getUsersByIds(ids);
+        Map<String, long[]> counts = getCounts(ids);
+        Function<String, boolean[]> flagsById = flags.apply(ids);
+        List<UserProfileDto> content = keycloakUsers.stream()
+                .map(keycloakUser -> {
+                    String id = (String) keycloakUser.get("id");
+                    long[] userCounts = counts.getOrDefault(id, EMPTY_COUNTS);
+                    boolean[] userFlags = flagsById.apply(id);
+                    return UserProfileDto.fromKeycloakUser(keycloakUser, userCounts[0], userCounts[1], userFlags[0],
+                            userFlags[1]);
+                })
+                .collect(Collectors.toList());
+        return CursorResponse.of(content, nextCursor);
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mini.socialnetwork.modules.chat.service.ConversationService;
 import com.mini.socialnetwork.modules.notification.entity.Notification;
 import com.mini.socialnetwork.modules.notification.service.NotificationService;
 
@@ -32,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final ConversationService conversationService;
 
     /**
      * Lấy danh sách notifications của user hiện tại với phân trang.
@@ -48,7 +50,7 @@ public class NotificationController {
             @RequestParam(defaultValue = "20") int size) {
 
         String userId = jwt.getSubject();
-        log.info("Getting notifications for user {}, page {}, size {}", userId, page, size);
+        log.debug("Getting notifications for user {}, page {}, size {}", userId, page, size);
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Notification> notifications = notificationService.getNotifications(userId, pageable);
@@ -66,7 +68,7 @@ public class NotificationController {
     public ResponseEntity<UnreadCountResponse> getUnreadCount(@AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getSubject();
         long count = notificationService.getUnreadCount(userId);
-        log.info("Unread count for user {}: {}", userId, count);
+        log.debug("Unread count for user {}: {}", userId, count);
         return ResponseEntity.ok(new UnreadCountResponse(count));
     }
 
@@ -105,7 +107,8 @@ public class NotificationController {
     }
 
     /**
-     * Đánh dấu các notifications của một conversation đã đọc.
+     * Đánh dấu các notifications của một conversation đã đọc và ghi nhận
+     * read receipt của user trong conversation đó.
      * 
      * @param jwt            JWT token
      * @param conversationId ID conversation
@@ -118,6 +121,11 @@ public class NotificationController {
 
         String userId = jwt.getSubject();
         notificationService.markConversationNotificationsAsRead(userId, conversationId);
+        try {
+            conversationService.markAsRead(Long.valueOf(conversationId), userId);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid conversation id for read receipt: {}", conversationId);
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -1,14 +1,18 @@
 package com.mini.socialnetwork.modules.notification.entity;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -21,7 +25,14 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_aggregate_post", columnList = "receiver_id, type, post_id"),
+        @Index(name = "idx_notifications_receiver_conversation_read", columnList = "receiver_id, conversation_id, is_read"),
+        @Index(name = "idx_notifications_receiver_created", columnList = "receiver_id, created_at"),
+        @Index(name = "idx_notifications_type_created", columnList = "type, created_at"),
+        @Index(name = "idx_notifications_receiver_read", columnList = "receiver_id, is_read"),
+        @Index(name = "idx_notifications_sender", columnList = "sender_id")
+})
 public class Notification {
 
     @Id
@@ -45,6 +56,12 @@ public class Notification {
 
     private String message; // "A đã thích bài viết của bạn" hoặc preview tin nhắn
 
+    private int actorCount; // số người đã thực hiện hành động (notification gộp)
+
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 500)
+    private List<String> recentActorNames; // tên các actor gần nhất, mới nhất trước
+
     private boolean isRead;
 
     private Instant createdAt;
@@ -0,0 +1,36 @@
+package com.mini.socialnetwork.modules.notification.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bộ đếm số notification chưa đọc của từng user (inbox counter).
+ * <p>
+ * Được cập nhật nguyên tử (atomic) khi tạo notification mới hoặc khi đánh dấu
+ * đã đọc, để endpoint unread-count chỉ cần đọc một dòng theo khóa chính
+ * thay vì COUNT(*) trên bảng notifications mỗi lần poll.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_counters")
+public class NotificationCounter {
+
+    @Id
+    private UUID userId; // người nhận
+
+    @Column(nullable = false)
+    private long unreadCount; // số notification chưa đọc
+}
@@ -0,0 +1,47 @@
+package com.mini.socialnetwork.modules.notification.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notification event không xử lý được sau khi đã retry hết số lần cho phép.
+ * <p>
+ * Lưu lại loại event và payload (JSON) để có thể điều tra hoặc phát lại thủ công.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_dead_letters")
+public class NotificationDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    private String eventType; // tên class của event, ví dụ PostLikedEvent
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // event dạng JSON
+
+    @Column(length = 1000)
+    private String error; // lỗi cuối cùng
+
+    private int attempts; // số lần đã thử
+
+    private Instant createdAt;
+}
@@ -0,0 +1,39 @@
+package com.mini.socialnetwork.modules.notification.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Lưu một danh sách chuỗi ngắn trong một cột duy nhất.
+ * <p>
+ * Dùng cho các danh sách nhỏ có giới hạn kích thước (ví dụ tên các actor gần
+ * nhất của notification gộp) để tránh một bảng @ElementCollection và truy vấn
+ * phụ cho mỗi dòng khi phân trang.
+ * </p>
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+
+    /** Ký tự phân tách (ASCII Unit Separator), không xuất hiện trong tên hiển thị */
+    private static final String SEPARATOR = "\u001F";
+
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return String.join(SEPARATOR, values);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(column.split(SEPARATOR)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.mini.socialnetwork.modules.notification.event;
+
+/**
+ * Sự kiện một tin nhắn mới được gửi tới một participant của cuộc hội thoại.
+ */
+public record MessageSentEvent(
+        String senderId,
+        String receiverId,
+        String senderName,
+        String senderAvatarUrl,
+        String conversationId,
+        String messagePreview) implements NotificationEvent {
+}
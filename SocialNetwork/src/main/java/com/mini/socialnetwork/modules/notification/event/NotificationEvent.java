@@ -0,0 +1,19 @@
+package com.mini.socialnetwork.modules.notification.event;
+
+/**
+ * Domain event phát sinh notification.
+ * <p>
+ * Được publish qua {@link org.springframework.context.ApplicationEventPublisher}
+ * sau khi thao tác nghiệp vụ (like, comment, gửi tin nhắn) hoàn tất, và được
+ * xử lý bất đồng bộ bởi notification worker.
+ * </p>
+ */
+public sealed interface NotificationEvent
+        permits PostLikedEvent, PostCommentedEvent, MessageSentEvent {
+
+    /** ID người gây ra sự kiện */
+    String senderId();
+
+    /** ID người nhận notification */
+    String receiverId();
+}
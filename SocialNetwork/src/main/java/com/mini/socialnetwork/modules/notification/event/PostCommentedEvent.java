@@ -0,0 +1,13 @@
+package com.mini.socialnetwork.modules.notification.event;
+
+/**
+ * Sự kiện một user bình luận bài viết của người khác.
+ */
+public record PostCommentedEvent(
+        String senderId,
+        String receiverId,
+        String senderName,
+        String senderAvatarUrl,
+        String postId,
+        String commentPreview) implements NotificationEvent {
+}
@@ -0,0 +1,12 @@
+package com.mini.socialnetwork.modules.notification.event;
+
+/**
+ * Sự kiện một user like bài viết của người khác.
+ */
+public record PostLikedEvent(
+        String senderId,
+        String receiverId,
+        String senderName,
+        String senderAvatarUrl,
+        String postId) implements NotificationEvent {
+}
@@ -0,0 +1,48 @@
+package com.mini.socialnetwork.modules.notification.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mini.socialnetwork.modules.notification.entity.NotificationCounter;
+
+/**
+ * Repository cho bộ đếm unread notification của từng user.
+ * Mọi thao tác cập nhật đều là một câu lệnh UPDATE/UPSERT nguyên tử.
+ */
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, UUID> {
+
+    /**
+     * Cộng thêm delta vào bộ đếm, tạo dòng mới nếu user chưa có bộ đếm (user chưa
+     * có bộ đếm không có notification chưa đọc, xem V6__seed_notification_counters.sql).
+     *
+     * @param userId ID người nhận
+     * @param delta  số lượng cần cộng thêm (> 0)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_counters (user_id, unread_count) VALUES (:userId, :delta)
+            ON DUPLICATE KEY UPDATE unread_count = unread_count + :delta
+            """, nativeQuery = true)
+    void increment(@Param("userId") UUID userId, @Param("delta") long delta);
+
+    /**
+     * Trừ delta khỏi bộ đếm, không để giá trị âm.
+     *
+     * @param userId ID người nhận
+     * @param delta  số lượng cần trừ (> 0)
+     * @return số dòng được cập nhật (0 nếu user chưa có bộ đếm)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = CASE WHEN c.unreadCount > :delta " +
+            "THEN c.unreadCount - :delta ELSE 0 END WHERE c.userId = :userId")
+    int decrement(@Param("userId") UUID userId, @Param("delta") long delta);
+}
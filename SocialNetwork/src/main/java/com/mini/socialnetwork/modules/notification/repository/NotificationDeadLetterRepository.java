@@ -0,0 +1,15 @@
+package com.mini.socialnetwork.modules.notification.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mini.socialnetwork.modules.notification.entity.NotificationDeadLetter;
+
+/**
+ * Repository cho các notification event lỗi (dead letter).
+ */
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, UUID> {
+}
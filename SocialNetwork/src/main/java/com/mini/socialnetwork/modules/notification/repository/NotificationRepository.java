@@ -1,15 +1,23 @@
 package com.mini.socialnetwork.modules.notification.repository;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mini.socialnetwork.modules.notification.entity.Notification;
+import com.mini.socialnetwork.modules.notification.entity.Notification.Type;
+
+import jakarta.persistence.LockModeType;
 
 /**
  * Repository truy cập dữ liệu Notification.
@@ -43,6 +51,133 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
      */
     java.util.List<Notification> findByReceiverIdAndIsReadFalse(UUID receiverId);
 
+    /**
+     * Tìm notification gộp chưa đọc gần nhất cho một bài viết (LIKE, COMMENT)
+     * trong cửa sổ thời gian. Khóa dòng để các lượt gộp đồng thời không ghi đè nhau.
+     *
+     * @param receiverId ID người nhận
+     * @param type       loại notification
+     * @param postId     ID bài viết
+     * @param since      mốc bắt đầu cửa sổ gộp
+     * @return notification gộp nếu có
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Notification> findFirstByReceiverIdAndTypeAndPostIdAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+            UUID receiverId, Type type, UUID postId, Instant since);
+
+    /**
+     * Tìm notification gộp chưa đọc gần nhất cho một cuộc hội thoại (MESSAGE)
+     * trong cửa sổ thời gian.
+     *
+     * @param receiverId     ID người nhận
+     * @param type           loại notification
+     * @param conversationId ID cuộc hội thoại
+     * @param since          mốc bắt đầu cửa sổ gộp
+     * @return notification gộp nếu có
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Notification> findFirstByReceiverIdAndTypeAndConversationIdAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+            UUID receiverId, Type type, String conversationId, Instant since);
+
+    /**
+     * Đánh dấu một notification đã đọc bằng một câu UPDATE.
+     * Chỉ cập nhật nếu notification thuộc về receiver và chưa đọc.
+     *
+     * @param id         ID notification
+     * @param receiverId ID người nhận (để verify ownership)
+     * @return số dòng được cập nhật (0 hoặc 1)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true " +
+            "WHERE n.id = :id AND n.receiverId = :receiverId AND n.isRead = false")
+    int markAsRead(@Param("id") UUID id, @Param("receiverId") UUID receiverId);
+
+    /**
+     * Đánh dấu tất cả notifications chưa đọc của user đã đọc bằng một câu UPDATE.
+     *
+     * @param receiverId ID của người nhận thông báo
+     * @return số notifications được cập nhật
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.receiverId = :receiverId AND n.isRead = false")
+    int markAllAsRead(@Param("receiverId") UUID receiverId);
+
+    /**
+     * Đánh dấu các notifications chưa đọc của một conversation đã đọc bằng một câu
+     * UPDATE, sử dụng index (receiver_id, conversation_id, is_read).
+     *
+     * @param receiverId     ID của người nhận thông báo
+     * @param conversationId ID conversation
+     * @return số notifications được cập nhật
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true " +
+            "WHERE n.receiverId = :receiverId AND n.conversationId = :conversationId AND n.isRead = false")
+    int markConversationAsRead(@Param("receiverId") UUID receiverId, @Param("conversationId") String conversationId);
+
+    /**
+     * Lấy một chunk ID notifications mà user là người nhận (dùng khi xóa user).
+     */
+    @Query("SELECT n.id FROM Notification n WHERE n.receiverId = :receiverId")
+    java.util.List<UUID> findIdsByReceiverId(@Param("receiverId") UUID receiverId, Pageable pageable);
+
+    /**
+     * Lấy một chunk ID notifications mà user là người gửi (dùng khi xóa user).
+     */
+    @Query("SELECT n.id FROM Notification n WHERE n.senderId = :senderId")
+    java.util.List<UUID> findIdsBySenderId(@Param("senderId") UUID senderId, Pageable pageable);
+
+    /**
+     * Lấy một chunk ID notifications của một loại đã quá hạn lưu trữ.
+     * Sử dụng index (type, created_at).
+     *
+     * @param type     loại notification
+     * @param cutoff   mốc thời gian, notifications tạo trước mốc này sẽ bị xóa
+     * @param pageable kích thước chunk
+     * @return danh sách ID
+     */
+    @Query("SELECT n.id FROM Notification n WHERE n.type = :type AND n.createdAt < :cutoff")
+    java.util.List<UUID> findIdsByTypeAndCreatedAtBefore(@Param("type") Type type,
+            @Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Đếm số notifications chưa đọc trong một tập ID, nhóm theo người nhận.
+     * Dùng để điều chỉnh bộ đếm unread trước khi xóa theo chunk.
+     *
+     * @param ids danh sách ID notifications
+     * @return danh sách [receiverId, count]
+     */
+    @Query("SELECT n.receiverId, COUNT(n) FROM Notification n " +
+            "WHERE n.id IN :ids AND n.isRead = false GROUP BY n.receiverId")
+    java.util.List<Object[]> countUnreadByIdInGroupByReceiver(@Param("ids") java.util.List<UUID> ids);
+
+    /**
+     * Ghi nhận một actor của notification gộp ({@code notification_actors}, xóa theo
+     * notification bằng ON DELETE CASCADE).
+     *
+     * @param notificationId ID notification gộp (đã có trong DB)
+     * @param actorId        ID người thực hiện hành động
+     * @return 1 nếu là actor mới của notification, 0 nếu đã ghi nhận trước đó
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO notification_actors (notification_id, actor_id) "
+            + "VALUES (:notificationId, :actorId)", nativeQuery = true)
+    int addActor(@Param("notificationId") UUID notificationId, @Param("actorId") UUID actorId);
+
+    /**
+     * Xóa notifications theo danh sách ID bằng một câu DELETE.
+     *
+     * @param ids danh sách ID notifications
+     * @return số dòng đã xóa
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") java.util.List<UUID> ids);
+
     /**
      * Xóa tất cả notifications mà user là người nhận
      */
@@ -0,0 +1,74 @@
+package com.mini.socialnetwork.modules.notification.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mini.socialnetwork.modules.notification.entity.Notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service gửi notification qua WebSocket có debounce.
+ * <p>
+ * Các notification được đưa vào hàng đợi theo ID; nếu cùng một notification
+ * (đã gộp) được cập nhật nhiều lần trong một chu kỳ, chỉ bản mới nhất được
+ * gửi đến {@code /user/{receiverId}/queue/notifications}. Chu kỳ flush cấu hình
+ * qua {@code notification.push.debounce-ms}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPushService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /** Notification đang chờ gửi, khóa theo ID để gộp các lần cập nhật */
+    private final Map<UUID, Notification> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Đưa notification vào hàng đợi gửi. Bản mới nhất thay thế bản cũ cùng ID.
+     *
+     * @param notification notification đã lưu
+     */
+    public void schedulePush(Notification notification) {
+        pending.put(notification.getId(), notification);
+    }
+
+    /**
+     * Gửi tất cả notification đang chờ. Chạy định kỳ theo chu kỳ debounce.
+     */
+    @Scheduled(fixedDelayString = "${notification.push.debounce-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<UUID> ids = new ArrayList<>(pending.keySet());
+        int sent = 0;
+        for (UUID id : ids) {
+            Notification notification = pending.remove(id);
+            if (notification == null) {
+                continue;
+            }
+            try {
+                messagingTemplate.convertAndSendToUser(
+                        notification.getReceiverId().toString(),
+                        "/queue/notifications",
+                        notification);
+                sent++;
+            } catch (Exception e) {
+                log.error("Failed to push notification {}: {}", id, e.getMessage());
+            }
+        }
+        log.debug("Flushed {} notification pushes", sent);
+    }
+}
@@ -0,0 +1,137 @@
+package com.mini.socialnetwork.modules.notification.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.modules.notification.entity.Notification.Type;
+import com.mini.socialnetwork.modules.notification.repository.NotificationCounterRepository;
+import com.mini.socialnetwork.modules.notification.repository.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Job dọn dẹp notifications quá hạn lưu trữ (TTL) theo từng loại.
+ * <p>
+ * Xóa theo chunk nhỏ, mỗi chunk một transaction ngắn, để không giữ lock lâu
+ * trên bảng notifications. Bộ đếm unread của người nhận được trừ tương ứng
+ * với số notification chưa đọc bị xóa.
+ * </p>
+ * <p>
+ * Thời gian lưu trữ (ngày) cấu hình qua {@code notification.retention.*-days};
+ * giá trị &lt;= 0 nghĩa là giữ vĩnh viễn.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.retention.like-days:90}")
+    private int likeRetentionDays;
+
+    @Value("${notification.retention.comment-days:180}")
+    private int commentRetentionDays;
+
+    @Value("${notification.retention.follow-days:180}")
+    private int followRetentionDays;
+
+    @Value("${notification.retention.message-days:30}")
+    private int messageRetentionDays;
+
+    @Value("${notification.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${notification.retention.max-chunks-per-run:1000}")
+    private int maxChunksPerRun;
+
+    @Value("${notification.retention.chunk-pause-ms:50}")
+    private long chunkPauseMs;
+
+    /**
+     * Chạy định kỳ (mặc định 3h30 mỗi ngày) để xóa notifications quá hạn.
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void pruneExpiredNotifications() {
+        long total = 0;
+        for (Type type : Type.values()) {
+            total += pruneType(type, retentionDays(type));
+        }
+        if (total > 0) {
+            log.info("Notification retention: pruned {} expired notifications", total);
+        }
+    }
+
+    /**
+     * Xóa notifications của một loại đã quá hạn, theo chunk.
+     *
+     * @param type          loại notification
+     * @param retentionDays số ngày lưu trữ
+     * @return số notifications đã xóa
+     */
+    public long pruneType(Type type, int retentionDays) {
+        if (retentionDays <= 0) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        long deleted = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> deleteChunk(type, cutoff));
+            int chunkDeleted = count != null ? count : 0;
+            deleted += chunkDeleted;
+            if (chunkDeleted < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("Pruned {} {} notifications older than {}", deleted, type, cutoff);
+        }
+        return deleted;
+    }
+
+    private int deleteChunk(Type type, Instant cutoff) {
+        List<UUID> ids = notificationRepository.findIdsByTypeAndCreatedAtBefore(type, cutoff,
+                PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        for (Object[] row : notificationRepository.countUnreadByIdInGroupByReceiver(ids)) {
+            notificationCounterRepository.decrement((UUID) row[0], (Long) row[1]);
+        }
+        return notificationRepository.deleteByIdIn(ids);
+    }
+
+    private int retentionDays(Type type) {
+        return switch (type) {
+            case LIKE -> likeRetentionDays;
+            case COMMENT -> commentRetentionDays;
+            case FOLLOW -> followRetentionDays;
+            case MESSAGE -> messageRetentionDays;
+        };
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.mini.socialnetwork.modules.notification.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mini.socialnetwork.modules.notification.entity.Notification;
+import com.mini.socialnetwork.modules.notification.entity.NotificationCounter;
 import com.mini.socialnetwork.modules.notification.entity.Notification.Type;
+import com.mini.socialnetwork.modules.notification.event.MessageSentEvent;
+import com.mini.socialnetwork.modules.notification.event.NotificationEvent;
+import com.mini.socialnetwork.modules.notification.event.PostCommentedEvent;
+import com.mini.socialnetwork.modules.notification.event.PostLikedEvent;
+import com.mini.socialnetwork.modules.notification.repository.NotificationCounterRepository;
 import com.mini.socialnetwork.modules.notification.repository.NotificationRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -19,6 +30,16 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Service xử lý logic nghiệp vụ cho Notification.
  * Quản lý việc tạo, đọc và đánh dấu thông báo đã đọc.
+ * <p>
+ * Số lượng unread của mỗi user được duy trì trong bảng notification_counters,
+ * cập nhật nguyên tử cùng transaction với thao tác tạo/đọc notification.
+ * </p>
+ * <p>
+ * Các notification LIKE/COMMENT cùng bài viết và MESSAGE cùng cuộc hội thoại
+ * được gộp vào một notification chưa đọc trong cửa sổ thời gian
+ * ({@code notification.aggregation.window-minutes}), ví dụ
+ * "A và 23 người khác đã thích bài viết của bạn".
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -26,6 +47,46 @@ import lombok.extern.slf4j.Slf4j;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+
+    /** Số tên actor gần nhất được giữ lại trong notification gộp */
+    private static final int MAX_RECENT_ACTORS = 3;
+
+    /** Cửa sổ thời gian gộp notification (phút) */
+    @Value("${notification.aggregation.window-minutes:60}")
+    private long aggregationWindowMinutes;
+
+    /**
+     * Tạo (hoặc gộp) notification cho một batch event trong cùng một transaction.
+     * Dùng bởi {@link NotificationWorker} để giảm số lần commit khi tải cao.
+     *
+     * @param events danh sách event theo thứ tự phát sinh
+     * @return các notification đã lưu, theo thứ tự event
+     */
+    @Transactional
+    public List<Notification> createFromEvents(List<NotificationEvent> events) {
+        return events.stream().map(this::createFromEvent).toList();
+    }
+
+    /**
+     * Tạo (hoặc gộp) notification tương ứng với một domain event.
+     *
+     * @param event event phát sinh notification
+     * @return Notification đã được lưu
+     */
+    @Transactional
+    public Notification createFromEvent(NotificationEvent event) {
+        return switch (event) {
+            case PostLikedEvent e -> createLikeNotification(
+                    e.senderId(), e.receiverId(), e.senderName(), e.senderAvatarUrl(), e.postId());
+            case PostCommentedEvent e -> createCommentNotification(
+                    e.senderId(), e.receiverId(), e.senderName(), e.senderAvatarUrl(), e.postId(),
+                    e.commentPreview());
+            case MessageSentEvent e -> createMessageNotification(
+                    e.senderId(), e.receiverId(), e.senderName(), e.senderAvatarUrl(), e.conversationId(),
+                    e.messagePreview());
+        };
+    }
 
     /**
      * Tạo notification khi có tin nhắn mới.
@@ -65,8 +126,8 @@ public class NotificationService {
                 .createdAt(Instant.now())
                 .build();
 
-        Notification saved = notificationRepository.save(notification);
-        log.info("Created message notification: {} -> {}", senderId, receiverId);
+        Notification saved = aggregateOrCreate(notification);
+        log.debug("Created message notification: {} -> {}", senderId, receiverId);
         return saved;
     }
 
@@ -95,13 +156,13 @@ public class NotificationService {
                 .senderAvatarUrl(senderAvatarUrl)
                 .type(Type.LIKE)
                 .postId(UUID.fromString(postId))
-                .message(senderName + " đã thích bài viết của bạn")
+                .message(buildLikeMessage(List.of(senderName), 1))
                 .isRead(false)
                 .createdAt(Instant.now())
                 .build();
 
-        Notification saved = notificationRepository.save(notification);
-        log.info("Created like notification: {} -> {} for post {}", senderId, receiverId, postId);
+        Notification saved = aggregateOrCreate(notification);
+        log.debug("Created like notification: {} -> {} for post {}", senderId, receiverId, postId);
         return saved;
     }
 
@@ -143,8 +204,8 @@ public class NotificationService {
                 .createdAt(Instant.now())
                 .build();
 
-        Notification saved = notificationRepository.save(notification);
-        log.info("Created comment notification: {} -> {} for post {}", senderId, receiverId, postId);
+        Notification saved = aggregateOrCreate(notification);
+        log.debug("Created comment notification: {} -> {} for post {}", senderId, receiverId, postId);
         return saved;
     }
 
@@ -162,12 +223,20 @@ public class NotificationService {
 
     /**
      * Đếm số lượng notification chưa đọc của user.
+     * <p>
+     * Đọc từ bộ đếm theo khóa chính. Bộ đếm của dữ liệu cũ được khởi tạo bằng
+     * migration (V6__seed_notification_counters.sql), nên user chưa có bộ đếm
+     * là user không có notification chưa đọc.
+     * </p>
      * 
      * @param userId ID user
      * @return số lượng unread notifications
      */
     public long getUnreadCount(String userId) {
-        return notificationRepository.countByReceiverIdAndIsReadFalse(UUID.fromString(userId));
+        UUID receiverId = UUID.fromString(userId);
+        return notificationCounterRepository.findById(receiverId)
+                .map(NotificationCounter::getUnreadCount)
+                .orElse(0L);
     }
 
     /**
@@ -179,30 +248,35 @@ public class NotificationService {
      */
     @Transactional
     public boolean markAsRead(UUID notificationId, String userId) {
+        UUID receiverId = UUID.fromString(userId);
+        int updated = notificationRepository.markAsRead(notificationId, receiverId);
+        if (updated > 0) {
+            notificationCounterRepository.decrement(receiverId, updated);
+            log.debug("Marked notification {} as read", notificationId);
+            return true;
+        }
+        // Đã đọc trước đó vẫn tính là thành công, chỉ trả false khi không thuộc về user
         return notificationRepository.findById(notificationId)
-                .filter(n -> n.getReceiverId().toString().equals(userId))
-                .map(n -> {
-                    n.setRead(true);
-                    notificationRepository.save(n);
-                    log.info("Marked notification {} as read", notificationId);
-                    return true;
-                })
+                .map(n -> n.getReceiverId().equals(receiverId))
                 .orElse(false);
     }
 
     /**
      * Đánh dấu tất cả notifications của user đã đọc.
+     * Thực hiện bằng một câu UPDATE hàng loạt rồi trừ bộ đếm đúng số dòng đã
+     * cập nhật (không reset về 0, để giữ phần tăng của notification được tạo
+     * đồng thời).
      * 
      * @param userId ID user
      */
     @Transactional
     public void markAllAsRead(String userId) {
-        List<Notification> unreadNotifications = notificationRepository
-                .findByReceiverIdAndIsReadFalse(UUID.fromString(userId));
-
-        unreadNotifications.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unreadNotifications);
-        log.info("Marked {} notifications as read for user {}", unreadNotifications.size(), userId);
+        UUID receiverId = UUID.fromString(userId);
+        int updated = notificationRepository.markAllAsRead(receiverId);
+        if (updated > 0) {
+            notificationCounterRepository.decrement(receiverId, updated);
+        }
+        log.debug("Marked {} notifications as read for user {}", updated, userId);
     }
 
     /**
@@ -214,15 +288,111 @@ public class NotificationService {
      */
     @Transactional
     public void markConversationNotificationsAsRead(String userId, String conversationId) {
-        List<Notification> unreadNotifications = notificationRepository
-                .findByReceiverIdAndIsReadFalse(UUID.fromString(userId))
-                .stream()
-                .filter(n -> conversationId.equals(n.getConversationId()))
-                .toList();
-
-        unreadNotifications.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unreadNotifications);
-        log.info("Marked {} conversation notifications as read for user {} in conversation {}",
-                unreadNotifications.size(), userId, conversationId);
+        UUID receiverId = UUID.fromString(userId);
+        int updated = notificationRepository.markConversationAsRead(receiverId, conversationId);
+        if (updated > 0) {
+            notificationCounterRepository.decrement(receiverId, updated);
+        }
+        log.debug("Marked {} conversation notifications as read for user {} in conversation {}",
+                updated, userId, conversationId);
+    }
+
+    /**
+     * Gộp notification mới vào notification chưa đọc cùng khóa
+     * (receiver, type, postId/conversationId) trong cửa sổ thời gian,
+     * hoặc lưu mới nếu chưa có.
+     * <p>
+     * Khi gộp, notification được cập nhật thông tin actor mới nhất và đưa lên
+     * đầu danh sách (createdAt = thời điểm mới nhất). actorCount chỉ tăng khi
+     * actor chưa từng được ghi nhận cho notification này (bảng
+     * {@code notification_actors}), nên A thích, B thích, A bỏ thích rồi thích
+     * lại vẫn là 2 người. Bộ đếm unread chỉ tăng khi tạo notification mới.
+     * </p>
+     *
+     * @param incoming notification vừa phát sinh (chưa lưu)
+     * @return notification đã lưu (gộp hoặc mới)
+     */
+    private Notification aggregateOrCreate(Notification incoming) {
+        Instant since = incoming.getCreatedAt().minus(Duration.ofMinutes(aggregationWindowMinutes));
+        Optional<Notification> existing = incoming.getType() == Type.MESSAGE
+                ? notificationRepository
+                        .findFirstByReceiverIdAndTypeAndConversationIdAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+                                incoming.getReceiverId(), incoming.getType(), incoming.getConversationId(), since)
+                : notificationRepository
+                        .findFirstByReceiverIdAndTypeAndPostIdAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+                                incoming.getReceiverId(), incoming.getType(), incoming.getPostId(), since);
+
+        if (existing.isEmpty()) {
+            incoming.setActorCount(1);
+            incoming.setRecentActorNames(new ArrayList<>(List.of(incoming.getSenderName())));
+            Notification saved = notificationRepository.save(incoming);
+            notificationCounterRepository.increment(saved.getReceiverId(), 1);
+            return saved;
+        }
+
+        Notification aggregate = existing.get();
+        // Actor trước đó được ghi nhận khi gộp lần đầu (notification mới chưa được flush khi tạo)
+        if (aggregate.getSenderId() != null) {
+            notificationRepository.addActor(aggregate.getId(), aggregate.getSenderId());
+        }
+        if (notificationRepository.addActor(aggregate.getId(), incoming.getSenderId()) > 0) {
+            aggregate.setActorCount(Math.max(aggregate.getActorCount(), 1) + 1);
+        }
+        List<String> names = aggregate.getRecentActorNames() != null
+                ? new ArrayList<>(aggregate.getRecentActorNames())
+                : new ArrayList<>();
+        names.remove(incoming.getSenderName());
+        names.add(0, incoming.getSenderName());
+        aggregate.setRecentActorNames(new ArrayList<>(names.subList(0, Math.min(names.size(), MAX_RECENT_ACTORS))));
+
+        aggregate.setSenderId(incoming.getSenderId());
+        aggregate.setSenderName(incoming.getSenderName());
+        aggregate.setSenderAvatarUrl(incoming.getSenderAvatarUrl());
+        aggregate.setMessage(incoming.getType() == Type.LIKE
+                ? buildLikeMessage(aggregate.getRecentActorNames(), aggregate.getActorCount())
+                : incoming.getMessage());
+        aggregate.setCreatedAt(incoming.getCreatedAt());
+        return notificationRepository.save(aggregate);
+    }
+
+    /**
+     * Tạo nội dung cho notification LIKE (có thể đã gộp).
+     * Ví dụ: "A đã thích...", "A và B đã thích...", "A và 23 người khác đã thích...".
+     */
+    private String buildLikeMessage(List<String> recentActorNames, int actorCount) {
+        String latest = recentActorNames != null && !recentActorNames.isEmpty() ? recentActorNames.get(0) : "Someone";
+        if (actorCount <= 1) {
+            return latest + " đã thích bài viết của bạn";
+        }
+        if (actorCount == 2 && recentActorNames.size() >= 2) {
+            return latest + " và " + recentActorNames.get(1) + " đã thích bài viết của bạn";
+        }
+        return latest + " và " + (actorCount - 1) + " người khác đã thích bài viết của bạn";
+    }
+
+    /**
+     * Xóa một chunk notifications liên quan đến một user (nhận trước, sau đó gửi).
+     * Điều chỉnh bộ đếm unread của những người nhận khác trước khi xóa.
+     * Gọi lặp lại cho đến khi trả về 0; khi đó bộ đếm của user cũng được xóa.
+     *
+     * @param userId    ID user
+     * @param chunkSize số notifications tối đa xóa trong một lần
+     * @return số notifications đã xóa
+     */
+    @Transactional
+    public int deleteChunkForUser(UUID userId, int chunkSize) {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        List<UUID> ids = notificationRepository.findIdsByReceiverId(userId, chunk);
+        if (ids.isEmpty()) {
+            ids = notificationRepository.findIdsBySenderId(userId, chunk);
+            if (ids.isEmpty()) {
+                notificationCounterRepository.deleteById(userId);
+                return 0;
+            }
+            for (Object[] row : notificationRepository.countUnreadByIdInGroupByReceiver(ids)) {
+                notificationCounterRepository.decrement((UUID) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return notificationRepository.deleteByIdIn(ids);
     }
 }
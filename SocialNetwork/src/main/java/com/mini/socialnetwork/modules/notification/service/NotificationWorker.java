@@ -0,0 +1,224 @@
+package com.mini.socialnetwork.modules.notification.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mini.socialnetwork.modules.notification.entity.Notification;
+import com.mini.socialnetwork.modules.notification.entity.NotificationDeadLetter;
+import com.mini.socialnetwork.modules.notification.event.NotificationEvent;
+import com.mini.socialnetwork.modules.notification.repository.NotificationDeadLetterRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Worker xử lý notification bất đồng bộ, tách khỏi request path.
+ * <p>
+ * Nhận {@link NotificationEvent} sau khi transaction nghiệp vụ commit (hoặc ngay
+ * lập tức nếu không có transaction), đưa vào hàng đợi có giới hạn và xử lý theo
+ * batch trên một thread riêng: mỗi batch được lưu trong một transaction rồi đưa
+ * vào {@link NotificationPushService}.
+ * </p>
+ *
+ * <h2>Backpressure:</h2>
+ * <p>
+ * Khi hàng đợi đầy quá {@code notification.worker.offer-timeout-ms}, event được
+ * xử lý ngay trên thread của caller thay vì bị bỏ, để làm chậm nguồn phát
+ * ({@code queue-capacity=0} tắt hàng đợi, mọi event được xử lý như vậy). Listener
+ * chạy sau commit, khi transaction nghiệp vụ vẫn còn gắn với thread, nên việc ghi
+ * chạy trong transaction mới (REQUIRES_NEW) và chỉ thử một lần: lỗi được đưa
+ * thẳng vào dead letter thay vì retry/sleep trên thread của request.
+ * </p>
+ *
+ * <h2>Retry / dead letter:</h2>
+ * <p>
+ * Nếu batch lỗi, từng event được thử lại tối đa
+ * {@code notification.worker.max-attempts} lần; event vẫn lỗi được lưu vào
+ * bảng notification_dead_letters.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationWorker {
+
+    private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${notification.worker.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${notification.worker.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.worker.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${notification.worker.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${notification.worker.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    private BlockingQueue<NotificationEvent> queue;
+    private Thread workerThread;
+    private volatile boolean running;
+
+    /** Transaction riêng cho xử lý trên thread caller và ghi dead letter */
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    void start() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (queueCapacity <= 0) {
+            log.info("Notification queue disabled, events are processed on the caller thread");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        workerThread = new Thread(this::runLoop, "notification-worker");
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    /**
+     * Dừng worker sau khi xử lý hết các event còn trong hàng đợi.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (workerThread != null) {
+            workerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Nhận event sau khi transaction nghiệp vụ commit.
+     * {@code fallbackExecution = true} để vẫn nhận event khi publish ngoài transaction.
+     *
+     * @param event event phát sinh notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationEvent(NotificationEvent event) {
+        if (queue != null) {
+            try {
+                if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                log.warn("Notification queue full ({}), processing on caller thread", queueCapacity);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        processOnCallerThread(event);
+    }
+
+    /**
+     * Xử lý event trên thread của caller: một lần, trong transaction mới, lỗi thì dead letter.
+     */
+    private void processOnCallerThread(NotificationEvent event) {
+        try {
+            Notification saved = newTransaction.execute(status -> notificationService.createFromEvent(event));
+            notificationPushService.schedulePush(saved);
+        } catch (Exception e) {
+            log.warn("Notification event {} failed on caller thread: {}",
+                    event.getClass().getSimpleName(), e.getMessage());
+            deadLetter(event, e, 1);
+        }
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationEvent first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<NotificationEvent> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in notification worker: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void processBatch(List<NotificationEvent> batch) {
+        try {
+            List<Notification> saved = notificationService.createFromEvents(batch);
+            saved.forEach(notificationPushService::schedulePush);
+        } catch (Exception e) {
+            log.warn("Notification batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            batch.forEach(this::processWithRetry);
+        }
+    }
+
+    private void processWithRetry(NotificationEvent event) {
+        Exception lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Notification saved = notificationService.createFromEvent(event);
+                notificationPushService.schedulePush(saved);
+                return;
+            } catch (Exception e) {
+                lastError = e;
+                log.warn("Notification event {} failed (attempt {}/{}): {}",
+                        event.getClass().getSimpleName(), attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts && !sleep(retryBackoffMs * attempt)) {
+                    break;
+                }
+            }
+        }
+        deadLetter(event, lastError, maxAttempts);
+    }
+
+    private void deadLetter(NotificationEvent event, Exception error, int attempts) {
+        try {
+            String message = error != null ? String.valueOf(error.getMessage()) : "unknown";
+            NotificationDeadLetter deadLetter = NotificationDeadLetter.builder()
+                    .eventType(event.getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .error(message.length() > 1000 ? message.substring(0, 1000) : message)
+                    .attempts(attempts)
+                    .createdAt(Instant.now())
+                    .build();
+            newTransaction.executeWithoutResult(status -> deadLetterRepository.save(deadLetter));
+            log.error("Notification event {} moved to dead letter: {} -> {}",
+                    event.getClass().getSimpleName(), event.senderId(), event.receiverId());
+        } catch (Exception e) {
+            log.error("Failed to store notification dead letter: {}", e.getMessage());
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
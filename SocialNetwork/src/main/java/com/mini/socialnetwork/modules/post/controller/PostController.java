@@ -3,8 +3,10 @@ package com.mini.socialnetwork.modules.post.controller;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -24,9 +26,10 @@ import com.mini.socialnetwork.modules.post.dto.PostResponse;
 import com.mini.socialnetwork.modules.post.entity.Post;
 import com.mini.socialnetwork.modules.post.service.PostService;
 import com.mini.socialnetwork.dto.SliceResponse;
-import com.mini.socialnetwork.modules.notification.entity.Notification;
 import com.mini.socialnetwork.modules.follow.repository.FollowRepository;
-import com.mini.socialnetwork.modules.notification.service.NotificationService;
+import com.mini.socialnetwork.modules.notification.event.PostLikedEvent;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+import com.mini.socialnetwork.modules.user.service.UserSummaryService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,9 +41,10 @@ import lombok.extern.slf4j.Slf4j;
 public class PostController {
 
     private final PostService postService;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
     private final SimpMessagingTemplate messagingTemplate;
     private final FollowRepository followRepository;
+    private final UserSummaryService userSummaryService;
 
     @PostMapping(consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
     public ResponseEntity<PostResponse> createPost(
@@ -53,7 +57,7 @@ public class PostController {
 
         List<MultipartFile> imageList = images != null ? Arrays.asList(images) : List.of();
         Post saved = postService.createPost(authorId, content, imageList);
-        PostResponse postResponse = PostResponse.from(saved);
+        PostResponse postResponse = toResponse(saved);
 
         // Broadcast bài viết mới đến tất cả followers qua WebSocket
         try {
@@ -64,7 +68,7 @@ public class PostController {
                         "/queue/feed",
                         postResponse);
             }
-            log.info("Broadcasted new post to {} followers", followerIds.size());
+            log.debug("Broadcasted new post to {} followers", followerIds.size());
         } catch (Exception e) {
             log.warn("Failed to broadcast new post: {}", e.getMessage());
         }
@@ -75,7 +79,7 @@ public class PostController {
     @GetMapping("/{id}")
     public ResponseEntity<PostResponse> getPostById(@PathVariable String id) {
         Post post = postService.getPostById(id);
-        return ResponseEntity.ok(PostResponse.from(post));
+        return ResponseEntity.ok(toResponse(post));
     }
 
     @GetMapping("/author/{authorId}")
@@ -85,9 +89,7 @@ public class PostController {
             @RequestParam(defaultValue = "10") int size) {
 
         var slice = postService.getPostsByAuthor(authorId, page, size);
-        List<PostResponse> content = slice.getContent().stream()
-                .map(PostResponse::from)
-                .collect(Collectors.toList());
+        List<PostResponse> content = toResponses(slice.getContent());
         return ResponseEntity.ok(SliceResponse.of(content, slice.hasNext()));
     }
 
@@ -121,26 +123,19 @@ public class PostController {
                 }
                 String senderAvatar = jwt.getClaimAsString("picture");
 
-                // Tạo notification
-                Notification notification = notificationService.createLikeNotification(
+                // Publish event, notification được tạo bất đồng bộ bởi NotificationWorker
+                eventPublisher.publishEvent(new PostLikedEvent(
                         userId,
                         authorId,
                         senderName != null ? senderName : "Someone",
                         senderAvatar,
-                        id);
-
-                // Gửi notification qua WebSocket
-                messagingTemplate.convertAndSendToUser(
-                        authorId,
-                        "/queue/notifications",
-                        notification);
-                log.info("Like notification sent to user {}", authorId);
+                        id));
             } catch (Exception e) {
-                log.error("Failed to send like notification: {}", e.getMessage());
+                log.error("Failed to publish like notification event: {}", e.getMessage());
             }
         }
 
-        return ResponseEntity.ok(PostResponse.from(post));
+        return ResponseEntity.ok(toResponse(post));
     }
 
     @PutMapping("/{id}")
@@ -150,7 +145,7 @@ public class PostController {
             @RequestParam("content") String content) {
         String userId = jwt.getSubject();
         Post post = postService.updatePost(id, userId, content);
-        return ResponseEntity.ok(PostResponse.from(post));
+        return ResponseEntity.ok(toResponse(post));
     }
 
     @DeleteMapping("/{id}")
@@ -172,9 +167,22 @@ public class PostController {
         String userId = jwt.getSubject();
 
         var slice = postService.getPostsByFollowing(userId, page, size);
-        List<PostResponse> content = slice.getContent().stream()
-                .map(PostResponse::from)
-                .collect(Collectors.toList());
+        List<PostResponse> content = toResponses(slice.getContent());
         return ResponseEntity.ok(SliceResponse.of(content, slice.hasNext()));
     }
+
+    private PostResponse toResponse(Post post) {
+        return PostResponse.from(post, userSummaryService.getSummary(post.getAuthorId()));
+    }
+
+    /**
+     * Hydrate tác giả cho cả trang bằng một lần tra cache/IN thay vì 1+N request từ client.
+     */
+    private List<PostResponse> toResponses(List<Post> posts) {
+        Map<UUID, UserSummary> authors = userSummaryService.getSummaries(
+                posts.stream().map(Post::getAuthorId).toList());
+        return posts.stream()
+                .map(post -> PostResponse.from(post, authors.get(post.getAuthorId())))
+                .toList();
+    }
 }
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
 
 public record PostResponse(
         String id,
@@ -17,9 +18,17 @@ public record PostResponse(
         int commentCount,
         Instant createdAt,
         Instant updatedAt,
-        boolean deleted) {
+        boolean deleted,
+        UserSummary author) {
 
     public static PostResponse from(Post post) {
+        return from(post, null);
+    }
+
+    /**
+     * Tạo response kèm thông tin tác giả đã hydrate (có thể null).
+     */
+    public static PostResponse from(Post post, UserSummary author) {
         String postId = post.getId() != null ? post.getId().toString() : null;
         String authorIdStr = post.getAuthorId() != null ? post.getAuthorId().toString() : null;
         List<String> likeIds = post.getLikes() != null
@@ -41,6 +50,7 @@ public record PostResponse(
                 commentCount,
                 post.getCreatedAt(),
                 post.getUpdatedAt(),
-                post.isDeleted());
+                post.isDeleted(),
+                author);
     }
 }
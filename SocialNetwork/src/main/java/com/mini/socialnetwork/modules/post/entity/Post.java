@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -21,7 +22,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_posts_author_deleted_created", columnList = "author_id, is_deleted, created_at"),
+        @Index(name = "idx_posts_deleted_created", columnList = "is_deleted, created_at")
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -1,12 +1,12 @@
 package com.mini.socialnetwork.modules.post.repository;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.mini.socialnetwork.modules.post.entity.Post;
 
-public interface PostRepository extends JpaRepository<Post, UUID> {
+public interface PostRepository extends JpaRepository<Post, UUID>, JpaSpecificationExecutor<Post> {
         // Count only non-deleted posts for dashboard statistics
         long countByIsDeletedFalse();
 
@@ -30,14 +30,12 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
         @Transactional
         void deleteByAuthorId(UUID authorId);
 
-        /**
-         * Đếm số bài đăng theo ngày trong khoảng thời gian
-         * Trả về danh sách [date, count] để vẽ biểu đồ thống kê
-         */
-        @Query("SELECT FUNCTION('DATE', p.createdAt) as date, COUNT(p) as count " +
-                        "FROM Post p WHERE p.createdAt >= :startDate AND p.createdAt <= :endDate " +
-                        "AND p.isDeleted = false " +
-                        "GROUP BY FUNCTION('DATE', p.createdAt) ORDER BY date ASC")
-        List<Object[]> countPostsByDateRange(@Param("startDate") Instant startDate,
-                        @Param("endDate") Instant endDate);
+        // Chunk of post IDs of an author (used by the user deletion job)
+        @Query("SELECT p.id FROM Post p WHERE p.authorId = :authorId")
+        List<UUID> findIdsByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
+
+
+        // Keyset scan over non-deleted posts by id (used to rebuild the search index)
+        @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (:after IS NULL OR p.id > :after) ORDER BY p.id")
+        List<Post> findActiveAfterId(@Param("after") UUID after, Pageable pageable);
 }
@@ -20,11 +20,15 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.mini.socialnetwork.infras.ExternalClientMetrics;
 import com.mini.socialnetwork.modules.post.entity.Post;
 import com.mini.socialnetwork.modules.post.dto.PostResponse;
 import com.mini.socialnetwork.modules.post.repository.PostRepository;
 import com.mini.socialnetwork.modules.comment.repository.CommentRepository;
 import com.mini.socialnetwork.modules.follow.repository.FollowRepository;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +45,9 @@ public class PostService {
     private final FollowRepository followRepository;
     private final CommentRepository commentRepository;
     private final Cloudinary cloudinary;
+    private final ExternalClientMetrics externalClientMetrics;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
 
     public Post createPost(String authorId, String content, List<MultipartFile> images) throws IOException {
         boolean hasContent = StringUtils.hasText(content);
@@ -62,8 +69,8 @@ public class PostService {
                 if (image.getSize() > MAX_IMAGE_SIZE_BYTES) {
                     throw new IllegalArgumentException("Each image must be 5MB or smaller.");
                 }
-                Map<?, ?> uploadResult = cloudinary.uploader()
-                        .upload(image.getBytes(), ObjectUtils.asMap("folder", "posts"));
+                Map<?, ?> uploadResult = externalClientMetrics.observe("cloudinary", "upload",
+                        () -> cloudinary.uploader().upload(image.getBytes(), ObjectUtils.asMap("folder", "posts")));
                 Object url = uploadResult.get("secure_url");
                 if (url != null) {
                     imageUrls.add(url.toString());
@@ -83,7 +90,10 @@ public class PostService {
                 .isDeleted(false)
                 .build();
 
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        statisticsService.record(StatisticMetric.POSTS, saved.getCreatedAt(), 1);
+        searchIndexService.indexPost(saved);
+        return saved;
     }
 
     public Post getPostById(String id) {
@@ -141,22 +151,30 @@ public class PostService {
         Post post = postRepository.findById(postObjectId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
 
-        List<UUID> likes = post.getLikes() != null ? new ArrayList<>(post.getLikes()) : new ArrayList<>();
-        Set<UUID> likeSet = new HashSet<>(likes);
-
-        boolean added = likeSet.add(userObjectId);
-        if (!added) {
-            likeSet.remove(userObjectId); // toggle off
-        }
+        Set<UUID> likeSet = toggleLike(post.getLikes(), userObjectId);
+        boolean added = likeSet.contains(userObjectId);
 
         post.setLikes(new ArrayList<>(likeSet));
         post.setLikeCount(likeSet.size());
         post.setUpdatedAt(Instant.now());
         post = postRepository.save(post);
+        statisticsService.recordToday(StatisticMetric.LIKES, added ? 1 : -1);
 
         return post;
     }
 
+    /**
+     * Thêm userId vào tập likes nếu chưa có, ngược lại bỏ ra (toggle).
+     * Package-private để benchmark được (src/jmh).
+     */
+    static Set<UUID> toggleLike(List<UUID> likes, UUID userId) {
+        Set<UUID> likeSet = likes != null ? new HashSet<>(likes) : new HashSet<>();
+        if (!likeSet.add(userId)) {
+            likeSet.remove(userId); // toggle off
+        }
+        return likeSet;
+    }
+
     /**
      * Update post content. Only the post author can update.
      */
@@ -174,47 +192,46 @@ public class PostService {
 
         post.setContent(newContent);
         post.setUpdatedAt(Instant.now());
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        searchIndexService.indexPost(saved);
+        return saved;
     }
 
     @org.springframework.transaction.annotation.Transactional
     public PostResponse deletePost(String postId, String userId) {
-        log.info("Deleting post {} by user {}", postId, userId);
-        try {
-            UUID postObjectId = UUID.fromString(postId);
-            UUID userObjectId = UUID.fromString(userId);
+        UUID postObjectId = UUID.fromString(postId);
+        UUID userObjectId = UUID.fromString(userId);
 
-            Post post = postRepository.findById(postObjectId)
-                    .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        Post post = postRepository.findById(postObjectId)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
 
-            // Check ownership
-            if (!post.getAuthorId().equals(userObjectId)) {
-                throw new IllegalArgumentException("You can only delete your own posts");
-            }
+        // Check ownership
+        if (!post.getAuthorId().equals(userObjectId)) {
+            throw new IllegalArgumentException("You can only delete your own posts");
+        }
 
-            // Create response before deletion
-            log.info("Creating response object");
-            if (post.getLikes() != null) {
-                post.getLikes().size();
-            }
-            PostResponse response = PostResponse.from(post);
+        // Create response before deletion
+        if (post.getLikes() != null) {
+            post.getLikes().size();
+        }
+        PostResponse response = PostResponse.from(post);
 
-            // Delete all comments
-            log.info("Deleting comments for post {}", postId);
-            commentRepository.deleteByPostId(postObjectId);
+        // Delete all comments
+        statisticsService.recordGrouped(StatisticMetric.COMMENTS,
+                commentRepository.countActiveByPostIdGroupByDate(postObjectId), -1);
+        commentRepository.deleteByPostId(postObjectId);
 
-            // Delete the post
-            log.info("Deleting post entity {}", postId);
-            postRepository.delete(post);
+        // Delete the post
+        postRepository.delete(post);
+        if (!post.isDeleted()) {
+            statisticsService.record(StatisticMetric.POSTS, post.getCreatedAt(), -1);
+        }
+        statisticsService.adjustTotal(StatisticMetric.LIKES, -response.likeCount());
+        searchIndexService.delete(SearchIndexService.DocType.POST, postObjectId);
 
-            log.info("Flushing changes");
-            postRepository.flush();
+        postRepository.flush();
 
-            log.info("Delete successful");
-            return response;
-        } catch (Exception e) {
-            log.error("Error deleting post: ", e);
-            throw e;
-        }
+        log.info("Deleted post {} by user {}", postId, userId);
+        return response;
     }
 }
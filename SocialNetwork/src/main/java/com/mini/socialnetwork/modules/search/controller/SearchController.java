@@ -0,0 +1,47 @@
+package com.mini.socialnetwork.modules.search.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mini.socialnetwork.modules.comment.dto.CommentResponse;
+import com.mini.socialnetwork.modules.post.dto.PostResponse;
+import com.mini.socialnetwork.modules.search.dto.SearchPage;
+import com.mini.socialnetwork.modules.search.service.SearchService;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST API tìm kiếm full-text, kết quả xếp hạng theo độ liên quan và phân trang.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping("/posts")
+    public ResponseEntity<SearchPage<PostResponse>> searchPosts(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.searchPosts(q, page, size));
+    }
+
+    @GetMapping("/comments")
+    public ResponseEntity<SearchPage<CommentResponse>> searchComments(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.searchComments(q, page, size));
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<SearchPage<UserSummary>> searchUsers(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.searchUsers(q, page, size));
+    }
+}
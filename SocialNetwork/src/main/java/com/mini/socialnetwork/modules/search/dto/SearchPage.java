@@ -0,0 +1,15 @@
+package com.mini.socialnetwork.modules.search.dto;
+
+import java.util.List;
+
+/**
+ * Một trang kết quả tìm kiếm, sắp xếp theo độ liên quan.
+ *
+ * @param items     kết quả của trang hiện tại
+ * @param page      số trang (bắt đầu từ 0)
+ * @param size      kích thước trang
+ * @param totalHits tổng số kết quả khớp (có thể xấp xỉ khi rất lớn)
+ * @param hasNext   còn trang tiếp theo hay không
+ */
+public record SearchPage<T>(List<T> items, int page, int size, long totalHits, boolean hasNext) {
+}
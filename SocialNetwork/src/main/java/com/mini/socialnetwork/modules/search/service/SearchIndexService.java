@@ -0,0 +1,325 @@
+package com.mini.socialnetwork.modules.search.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mini.socialnetwork.modules.comment.entity.Comment;
+import com.mini.socialnetwork.modules.comment.repository.CommentRepository;
+import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.post.repository.PostRepository;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.user.service.UserSummaryService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index (Lucene, in-process) cho posts, comments và users.
+ * <p>
+ * Index nằm trong bộ nhớ và được dựng lại từ MySQL khi ứng dụng khởi động
+ * (duyệt keyset theo id, chạy nền). Sau đó các service nghiệp vụ cập nhật index
+ * ngay khi ghi dữ liệu; searcher được refresh định kỳ
+ * ({@code search.refresh-interval-ms}) nên kết quả gần như realtime.
+ * </p>
+ * <p>
+ * Index chỉ trả về id theo thứ tự độ liên quan (BM25); dữ liệu hiển thị luôn
+ * được đọc lại từ MySQL, nên document cũ (ví dụ bị xóa hàng loạt) chỉ làm mất
+ * một kết quả chứ không trả về dữ liệu sai.
+ * </p>
+ * <p>
+ * Users đồng thời được đưa vào {@link UserPrefixIndex} cho tìm kiếm typeahead.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexService {
+
+    /** Loại document trong index */
+    public enum DocType {
+        POST, COMMENT, USER
+    }
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_USERNAME = "username";
+    private static final String FIELD_NAME = "name";
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final UserPrefixIndex userPrefixIndex;
+
+    @Value("${search.rebuild.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${search.max-results:1000}")
+    private int maxResults;
+
+    private final Analyzer analyzer = new SearchAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    /**
+     * Kết quả tìm kiếm: danh sách id theo thứ tự liên quan và tổng số kết quả.
+     */
+    public record Hits(List<UUID> ids, long totalHits) {
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = new ByteBuffersDirectory();
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        writer.commit();
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // ==================== DỰNG LẠI INDEX ====================
+
+    /**
+     * Dựng lại toàn bộ index từ MySQL (chạy nền khi khởi động).
+     */
+    @Async("adminJobExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            writer.deleteAll();
+            long posts = scan(after -> postRepository.findActiveAfterId(after, PageRequest.of(0, batchSize)),
+                    Post::getId, this::indexPost);
+            long comments = scan(after -> commentRepository.findActiveAfterId(after, PageRequest.of(0, batchSize)),
+                    Comment::getId, this::indexComment);
+            long users = scan(after -> userRepository.findActiveSummariesAfterId(after, PageRequest.of(0, batchSize)),
+                    UserSummary::id, this::indexUser);
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Search index rebuilt in {} ms: {} posts, {} comments, {} users",
+                    System.currentTimeMillis() - start, posts, comments, users);
+        } catch (Exception e) {
+            log.error("Failed to rebuild search index: {}", e.getMessage());
+        }
+    }
+
+    private <T> long scan(Function<UUID, List<T>> pageLoader, Function<T, UUID> idOf,
+            Consumer<T> indexer) {
+        long count = 0;
+        UUID after = null;
+        List<T> page;
+        do {
+            page = pageLoader.apply(after);
+            page.forEach(indexer);
+            count += page.size();
+            if (!page.isEmpty()) {
+                after = idOf.apply(page.get(page.size() - 1));
+            }
+        } while (page.size() == batchSize);
+        return count;
+    }
+
+    /**
+     * Làm mới searcher để thấy các thay đổi gần đây.
+     */
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to refresh search index: {}", e.getMessage());
+        }
+    }
+
+    // ==================== CẬP NHẬT INDEX ====================
+
+    /**
+     * Thêm/cập nhật post; post đã xóa bị gỡ khỏi index.
+     */
+    public void indexPost(Post post) {
+        if (post.isDeleted() || post.getContent() == null) {
+            delete(DocType.POST, post.getId());
+            return;
+        }
+        Document doc = baseDocument(DocType.POST, post.getId());
+        doc.add(new TextField(FIELD_CONTENT, post.getContent(), Field.Store.NO));
+        upsert(DocType.POST, post.getId(), doc);
+    }
+
+    /**
+     * Thêm/cập nhật comment; comment đã xóa bị gỡ khỏi index.
+     */
+    public void indexComment(Comment comment) {
+        if (comment.isDeleted() || comment.getContent() == null) {
+            delete(DocType.COMMENT, comment.getId());
+            return;
+        }
+        Document doc = baseDocument(DocType.COMMENT, comment.getId());
+        doc.add(new TextField(FIELD_CONTENT, comment.getContent(), Field.Store.NO));
+        upsert(DocType.COMMENT, comment.getId(), doc);
+    }
+
+    /**
+     * Thêm/cập nhật user; user bị vô hiệu hóa bị gỡ khỏi index.
+     */
+    public void indexUser(User user) {
+        if (!user.isActive()) {
+            delete(DocType.USER, user.getId());
+            return;
+        }
+        indexUser(UserSummaryService.toSummary(user));
+    }
+
+    private void indexUser(UserSummary user) {
+        Document doc = baseDocument(DocType.USER, user.id());
+        doc.add(new TextField(FIELD_USERNAME, user.username() != null ? user.username() : "", Field.Store.NO));
+        doc.add(new TextField(FIELD_NAME, user.name() != null ? user.name() : "", Field.Store.NO));
+        upsert(DocType.USER, user.id(), doc);
+        userPrefixIndex.put(user);
+    }
+
+    /**
+     * Gỡ một document khỏi index.
+     */
+    public void delete(DocType type, UUID id) {
+        if (id == null) {
+            return;
+        }
+        if (type == DocType.USER) {
+            userPrefixIndex.remove(id);
+        }
+        try {
+            writer.deleteDocuments(new Term(FIELD_KEY, key(type, id)));
+        } catch (IOException e) {
+            log.warn("Failed to remove {} {} from search index: {}", type, id, e.getMessage());
+        }
+    }
+
+    private void upsert(DocType type, UUID id, Document doc) {
+        try {
+            writer.updateDocument(new Term(FIELD_KEY, key(type, id)), doc);
+        } catch (IOException e) {
+            log.warn("Failed to index {} {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    private static Document baseDocument(DocType type, UUID id) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_KEY, key(type, id), Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, type.name(), Field.Store.NO));
+        doc.add(new StoredField(FIELD_ID, id.toString()));
+        return doc;
+    }
+
+    private static String key(DocType type, UUID id) {
+        return type.name() + ":" + id;
+    }
+
+    // ==================== TÌM KIẾM ====================
+
+    /**
+     * Tìm posts/comments theo nội dung (tất cả từ khóa phải xuất hiện).
+     */
+    public Hits searchContent(DocType type, String text, int page, int size) {
+        Query query = new QueryBuilder(analyzer).createBooleanQuery(FIELD_CONTENT, text, Occur.MUST);
+        return search(type, query, page, size);
+    }
+
+    /**
+     * Tìm users theo username hoặc tên hiển thị (username được ưu tiên hơn).
+     */
+    public Hits searchUsers(String text, int page, int size) {
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        Query byUsername = builder.createBooleanQuery(FIELD_USERNAME, text, Occur.MUST);
+        Query byName = builder.createBooleanQuery(FIELD_NAME, text, Occur.MUST);
+        if (byUsername == null && byName == null) {
+            return new Hits(List.of(), 0);
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().setMinimumNumberShouldMatch(1);
+        if (byUsername != null) {
+            query.add(new BoostQuery(byUsername, 2f), Occur.SHOULD);
+        }
+        if (byName != null) {
+            query.add(byName, Occur.SHOULD);
+        }
+        return search(DocType.USER, query.build(), page, size);
+    }
+
+    private Hits search(DocType type, Query textQuery, int page, int size) {
+        int limit = Math.min((page + 1) * size, maxResults);
+        if (textQuery == null || page * size >= limit) {
+            return new Hits(List.of(), 0);
+        }
+
+        Query query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, type.name())), Occur.FILTER)
+                .add(textQuery, Occur.MUST)
+                .build();
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(query, limit);
+            List<UUID> ids = new ArrayList<>(size);
+            ScoreDoc[] scoreDocs = top.scoreDocs;
+            for (int i = page * size; i < scoreDocs.length; i++) {
+                ids.add(UUID.fromString(searcher.storedFields().document(scoreDocs[i].doc).get(FIELD_ID)));
+            }
+            return new Hits(ids, top.totalHits.value);
+        } catch (IOException e) {
+            throw new RuntimeException("Search failed: " + e.getMessage());
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release searcher: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
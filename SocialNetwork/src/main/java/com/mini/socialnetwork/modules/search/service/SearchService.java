@@ -0,0 +1,103 @@
+package com.mini.socialnetwork.modules.search.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.mini.socialnetwork.modules.comment.dto.CommentResponse;
+import com.mini.socialnetwork.modules.comment.entity.Comment;
+import com.mini.socialnetwork.modules.comment.repository.CommentRepository;
+import com.mini.socialnetwork.modules.post.dto.PostResponse;
+import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.post.repository.PostRepository;
+import com.mini.socialnetwork.modules.search.dto.SearchPage;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService.DocType;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService.Hits;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.user.service.UserSummaryService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tìm kiếm full-text: lấy id đã xếp hạng từ {@link SearchIndexService} rồi
+ * hydrate từ MySQL bằng một câu IN theo khóa chính (không có LIKE '%x%').
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final SearchIndexService searchIndexService;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
+
+    public SearchPage<PostResponse> searchPosts(String q, int page, int size) {
+        int pageSize = normalizeSize(size);
+        Hits hits = searchIndexService.searchContent(DocType.POST, q, Math.max(page, 0), pageSize);
+        List<Post> posts = hydrate(DocType.POST, hits.ids(), postRepository.findAllById(hits.ids()),
+                Post::getId, post -> !post.isDeleted());
+        Map<UUID, UserSummary> authors = userSummaryService.getSummaries(posts.stream().map(Post::getAuthorId).toList());
+        return toPage(posts.stream().map(post -> PostResponse.from(post, authors.get(post.getAuthorId()))).toList(),
+                hits, page, pageSize);
+    }
+
+    public SearchPage<CommentResponse> searchComments(String q, int page, int size) {
+        int pageSize = normalizeSize(size);
+        Hits hits = searchIndexService.searchContent(DocType.COMMENT, q, Math.max(page, 0), pageSize);
+        List<Comment> comments = hydrate(DocType.COMMENT, hits.ids(), commentRepository.findAllById(hits.ids()),
+                Comment::getId, comment -> !comment.isDeleted());
+        Map<UUID, UserSummary> users = userSummaryService.getSummaries(
+                comments.stream().map(Comment::getUserId).toList());
+        return toPage(comments.stream()
+                .map(comment -> CommentResponse.from(comment, users.get(comment.getUserId()))).toList(),
+                hits, page, pageSize);
+    }
+
+    public SearchPage<UserSummary> searchUsers(String q, int page, int size) {
+        int pageSize = normalizeSize(size);
+        Hits hits = searchIndexService.searchUsers(q, Math.max(page, 0), pageSize);
+        List<UserSummary> users = hydrate(DocType.USER, hits.ids(),
+                hits.ids().isEmpty() ? List.of() : userRepository.findSummariesByIdIn(hits.ids()),
+                UserSummary::id, user -> true);
+        return toPage(users, hits, page, pageSize);
+    }
+
+    /**
+     * Giữ đúng thứ tự xếp hạng; id không còn hợp lệ trong DB được gỡ khỏi index.
+     */
+    private <T> List<T> hydrate(DocType type, List<UUID> ids, List<T> rows, Function<T, UUID> idOf,
+            Predicate<T> visible) {
+        Map<UUID, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(id -> {
+                    T row = byId.get(id);
+                    if (row == null || !visible.test(row)) {
+                        searchIndexService.delete(type, id);
+                        return null;
+                    }
+                    return row;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static <T> SearchPage<T> toPage(List<T> items, Hits hits, int page, int size) {
+        int current = Math.max(page, 0);
+        return new SearchPage<>(items, current, size, hits.totalHits(),
+                (long) (current + 1) * size < hits.totalHits());
+    }
+
+    private static int normalizeSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,140 @@
+package com.mini.socialnetwork.modules.search.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+
+/**
+ * Index tiền tố (typeahead) cho username và tên hiển thị của users.
+ * <p>
+ * Các khóa đã chuẩn hóa (chữ thường, bỏ dấu tiếng Việt) được giữ trong một
+ * {@link ConcurrentSkipListMap} đã sắp xếp; tra cứu tiền tố là một lần
+ * {@code subMap} và chỉ duyệt tối đa {@code limit} phần tử, nên độ trễ không
+ * phụ thuộc vào tổng số users. Mỗi user có một khóa cho username, một khóa
+ * cho tên đầy đủ và một khóa cho mỗi hậu tố theo từ của tên ("van an", "an"),
+ * để gõ tên riêng cũng tìm được.
+ * </p>
+ * <p>
+ * Kết quả khớp username đứng trước kết quả khớp tên; trong cùng nhóm, kết quả
+ * theo thứ tự từ điển của khóa (một khóa chỉ đứng trước các khóa dài hơn có
+ * nó làm tiền tố, không sắp theo độ dài). Index được nạp và cập nhật bởi
+ * {@link SearchIndexService}.
+ * </p>
+ */
+@Component
+public class UserPrefixIndex {
+
+    private static final char USERNAME = 'u';
+    private static final char NAME = 'n';
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    @Value("${search.prefix.max-results:10}")
+    private int maxResults;
+
+    private final ConcurrentSkipListMap<String, UserSummary> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, List<String>> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * Thêm/cập nhật user trong index.
+     */
+    public void put(UserSummary user) {
+        List<String> keys = keysFor(user);
+        keysById.compute(user.id(), (id, oldKeys) -> {
+            if (oldKeys != null) {
+                oldKeys.forEach(entries::remove);
+            }
+            keys.forEach(key -> entries.put(key, user));
+            return keys;
+        });
+    }
+
+    /**
+     * Gỡ user khỏi index.
+     */
+    public void remove(UUID userId) {
+        keysById.computeIfPresent(userId, (id, oldKeys) -> {
+            oldKeys.forEach(entries::remove);
+            return null;
+        });
+    }
+
+    /**
+     * Tìm users có username hoặc tên bắt đầu bằng tiền tố.
+     *
+     * @param prefix tiền tố (không phân biệt hoa thường/dấu)
+     * @param limit  số kết quả tối đa (bị giới hạn bởi {@code search.prefix.max-results})
+     */
+    public List<UserSummary> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int k = Math.min(Math.max(limit, 1), maxResults);
+        Map<UUID, UserSummary> result = new LinkedHashMap<>();
+        collect(USERNAME + normalized, k, result);
+        collect(NAME + normalized, k, result);
+        return List.copyOf(result.values());
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    private void collect(String from, int k, Map<UUID, UserSummary> result) {
+        if (result.size() >= k) {
+            return;
+        }
+        for (UserSummary user : entries.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            result.putIfAbsent(user.id(), user);
+            if (result.size() >= k) {
+                return;
+            }
+        }
+    }
+
+    private static List<String> keysFor(UserSummary user) {
+        List<String> keys = new ArrayList<>();
+        String username = normalize(user.username());
+        if (!username.isEmpty()) {
+            keys.add(key(USERNAME, username, user.id()));
+        }
+        String name = normalize(user.name());
+        if (!name.isEmpty()) {
+            keys.add(key(NAME, name, user.id()));
+            for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                keys.add(key(NAME, name.substring(i + 1), user.id()));
+            }
+        }
+        return keys;
+    }
+
+    private static String key(char field, String term, UUID id) {
+        return field + term + SEPARATOR + id;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .replace(SEPARATOR, ' ')
+                .toLowerCase(Locale.ROOT);
+        return SPACES.matcher(folded).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,33 @@
+package com.mini.socialnetwork.modules.statistics.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot metrics realtime được đẩy tới /topic/admin/metrics mỗi giây.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RealtimeMetricsDto {
+    private Instant timestamp;
+    private Counter posts;
+    private Counter likes;
+    private Counter messages;
+    private int connectedSessions; // số WebSocket session đang kết nối
+
+    /**
+     * Giá trị của một chỉ số.
+     *
+     * @param delta     số sự kiện kể từ lần đẩy trước
+     * @param perMinute số sự kiện trong 60 giây gần nhất
+     * @param total     tổng số sự kiện kể từ khi server khởi động
+     */
+    public record Counter(long delta, long perMinute, long total) {
+    }
+}
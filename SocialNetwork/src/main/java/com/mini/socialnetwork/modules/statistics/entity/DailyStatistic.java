@@ -0,0 +1,33 @@
+package com.mini.socialnetwork.modules.statistics.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Giá trị của một chỉ số trong một ngày (rollup).
+ * <p>
+ * Dashboard đọc tối đa một dòng mỗi ngày cho mỗi chỉ số thay vì
+ * GROUP BY trên bảng gốc.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "daily_statistics", indexes = @Index(name = "idx_daily_statistics_date", columnList = "stat_date"))
+public class DailyStatistic {
+
+    @EmbeddedId
+    private DailyStatisticId id;
+
+    @Column(nullable = false)
+    private long total;
+}
@@ -0,0 +1,44 @@
+package com.mini.socialnetwork.modules.statistics.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Khóa chính của {@link DailyStatistic}: (ngày, chỉ số).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class DailyStatisticId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate statDate; // ngày (UTC)
+
+    @Enumerated(EnumType.STRING)
+    private StatisticMetric metric;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DailyStatisticId that = (DailyStatisticId) o;
+        return Objects.equals(statDate, that.statDate) && metric == that.metric;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(statDate, metric);
+    }
+}
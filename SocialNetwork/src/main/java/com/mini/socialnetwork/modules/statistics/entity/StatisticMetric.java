@@ -0,0 +1,19 @@
+package com.mini.socialnetwork.modules.statistics.entity;
+
+/**
+ * Các chỉ số được tổng hợp theo ngày cho Admin Dashboard.
+ */
+public enum StatisticMetric {
+    /** Bài đăng chưa bị xóa, theo ngày tạo */
+    POSTS,
+    /** Bình luận chưa bị xóa, theo ngày tạo */
+    COMMENTS,
+    /** Số lượt like ròng (like - unlike) theo ngày thao tác */
+    LIKES,
+    /** Tin nhắn đã gửi, theo ngày gửi */
+    MESSAGES,
+    /** User mới, theo ngày tạo */
+    NEW_USERS,
+    /** Quan hệ follow còn tồn tại, theo ngày follow */
+    FOLLOWS
+}
@@ -0,0 +1,32 @@
+package com.mini.socialnetwork.modules.statistics.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tổng tích lũy của một chỉ số (một dòng mỗi chỉ số), dùng cho các ô tổng
+ * trên Dashboard thay vì COUNT(*) toàn bảng.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "statistic_totals")
+public class StatisticTotal {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private StatisticMetric metric;
+
+    @Column(nullable = false)
+    private long total;
+}
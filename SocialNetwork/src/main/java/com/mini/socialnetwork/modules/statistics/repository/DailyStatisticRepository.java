@@ -0,0 +1,99 @@
+package com.mini.socialnetwork.modules.statistics.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mini.socialnetwork.modules.statistics.entity.DailyStatistic;
+import com.mini.socialnetwork.modules.statistics.entity.DailyStatisticId;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+
+/**
+ * Repository cho bảng rollup daily_statistics.
+ * <p>
+ * Các câu {@code count*ByDay} đếm lại giá trị của các ngày trong [from, to) từ
+ * bảng gốc ({@code [date, count]}). Chúng chỉ đọc (READ COMMITTED, không khóa
+ * bảng gốc như INSERT ... SELECT); StatisticsService ghi kết quả trong một
+ * transaction riêng.
+ * </p>
+ */
+@Repository
+public interface DailyStatisticRepository extends JpaRepository<DailyStatistic, DailyStatisticId> {
+
+    /**
+     * Cộng delta vào giá trị của (ngày, chỉ số), tạo dòng mới nếu chưa có.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO daily_statistics (stat_date, metric, total) VALUES (:statDate, :metric, :delta)
+            ON DUPLICATE KEY UPDATE total = total + :delta
+            """, nativeQuery = true)
+    void increment(@Param("statDate") LocalDate statDate, @Param("metric") String metric,
+            @Param("delta") long delta);
+
+    /**
+     * Lấy giá trị theo ngày của một chỉ số trong khoảng [from, to].
+     */
+    @Query("SELECT d FROM DailyStatistic d WHERE d.id.metric = :metric " +
+            "AND d.id.statDate BETWEEN :from AND :to ORDER BY d.id.statDate ASC")
+    List<DailyStatistic> findSeries(@Param("metric") StatisticMetric metric,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Xóa các dòng trong [from, to) của những chỉ số tính lại được từ bảng gốc
+     * (LIKES không có thời điểm like nên không thể tính lại).
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailyStatistic d WHERE d.id.statDate >= :from AND d.id.statDate < :to " +
+            "AND d.id.metric <> com.mini.socialnetwork.modules.statistics.entity.StatisticMetric.LIKES")
+    int deleteRecomputable(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Query(value = """
+            SELECT DATE(p.created_at), COUNT(*) FROM posts p
+            WHERE p.is_deleted = false AND p.created_at >= :from AND p.created_at < :to
+            GROUP BY DATE(p.created_at)
+            """, nativeQuery = true)
+    List<Object[]> countPostsByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Query(value = """
+            SELECT DATE(c.created_at), COUNT(*) FROM comments c
+            WHERE c.is_deleted = false AND c.created_at >= :from AND c.created_at < :to
+            GROUP BY DATE(c.created_at)
+            """, nativeQuery = true)
+    List<Object[]> countCommentsByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Query(value = """
+            SELECT DATE(m.created_at), COUNT(*) FROM messages m
+            WHERE m.created_at >= :from AND m.created_at < :to
+            GROUP BY DATE(m.created_at)
+            """, nativeQuery = true)
+    List<Object[]> countMessagesByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Query(value = """
+            SELECT DATE(u.created_at), COUNT(*) FROM users u
+            WHERE u.created_at >= :from AND u.created_at < :to
+            GROUP BY DATE(u.created_at)
+            """, nativeQuery = true)
+    List<Object[]> countNewUsersByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Query(value = """
+            SELECT DATE(f.created_at), COUNT(*) FROM user_follows f
+            WHERE f.created_at >= :from AND f.created_at < :to
+            GROUP BY DATE(f.created_at)
+            """, nativeQuery = true)
+    List<Object[]> countFollowsByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,58 @@
+package com.mini.socialnetwork.modules.statistics.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticTotal;
+
+/**
+ * Repository cho bảng statistic_totals (một dòng mỗi chỉ số).
+ */
+@Repository
+public interface StatisticTotalRepository extends JpaRepository<StatisticTotal, StatisticMetric> {
+
+    /**
+     * Cộng delta vào tổng của chỉ số, tạo dòng mới nếu chưa có.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO statistic_totals (metric, total) VALUES (:metric, :delta)
+            ON DUPLICATE KEY UPDATE total = total + :delta
+            """, nativeQuery = true)
+    void increment(@Param("metric") String metric, @Param("delta") long delta);
+
+    /**
+     * Ghi đè tổng của chỉ số (kết quả đối soát), tạo dòng mới nếu chưa có.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO statistic_totals (metric, total) VALUES (:metric, :total)
+            ON DUPLICATE KEY UPDATE total = :total
+            """, nativeQuery = true)
+    void set(@Param("metric") String metric, @Param("total") long total);
+
+    /**
+     * Đếm lại toàn bộ tổng từ bảng gốc ({@code [metric, total]}) trong một câu SELECT
+     * (READ COMMITTED, đọc không khóa), dùng khi rebuild / đối soát định kỳ.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Query(value = """
+            SELECT 'POSTS' AS metric, COUNT(*) AS total FROM posts WHERE is_deleted = false
+            UNION ALL SELECT 'COMMENTS', COUNT(*) FROM comments WHERE is_deleted = false
+            UNION ALL SELECT 'LIKES', COUNT(*) FROM post_likes
+            UNION ALL SELECT 'MESSAGES', COUNT(*) FROM messages
+            UNION ALL SELECT 'NEW_USERS', COUNT(*) FROM users
+            UNION ALL SELECT 'FOLLOWS', COUNT(*) FROM user_follows
+            """, nativeQuery = true)
+    List<Object[]> countSourceTotals();
+}
@@ -0,0 +1,151 @@
+package com.mini.socialnetwork.modules.statistics.service;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import com.mini.socialnetwork.modules.statistics.dto.RealtimeMetricsDto;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tổng hợp metrics realtime trong bộ nhớ và đẩy tới admin qua WebSocket.
+ * <p>
+ * Đếm số bài đăng, like và tin nhắn mới (delta, tốc độ trong cửa sổ 60 giây,
+ * tổng kể từ khi khởi động) cùng số WebSocket session đang kết nối. Mỗi giây,
+ * nếu có admin đang subscribe {@value #TOPIC} và số liệu thay đổi, một
+ * snapshot được đẩy đi; dashboard không tốn truy vấn MySQL nào.
+ * </p>
+ * <p>
+ * Sự kiện được ghi nhận qua {@link StatisticsService#record}; chỉ các delta
+ * dương (tạo mới) được tính là hoạt động.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class RealtimeMetricsService {
+
+    public static final String TOPIC = "/topic/admin/metrics";
+
+    private static final int WINDOW_SECONDS = 60;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+
+    private final Map<StatisticMetric, Tracker> trackers = createTrackers();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    /** Snapshot đã đẩy gần nhất, để bỏ qua khi không có gì thay đổi */
+    private volatile RealtimeMetricsDto lastPublished;
+
+    private static final class Tracker {
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final SlidingWindowCounter window = new SlidingWindowCounter(WINDOW_SECONDS);
+    }
+
+    private static Map<StatisticMetric, Tracker> createTrackers() {
+        Map<StatisticMetric, Tracker> map = new EnumMap<>(StatisticMetric.class);
+        map.put(StatisticMetric.POSTS, new Tracker());
+        map.put(StatisticMetric.LIKES, new Tracker());
+        map.put(StatisticMetric.MESSAGES, new Tracker());
+        return map;
+    }
+
+    /**
+     * Ghi nhận sự kiện cho chỉ số (bỏ qua chỉ số không theo dõi realtime).
+     *
+     * @param metric chỉ số
+     * @param count  số sự kiện (> 0)
+     */
+    public void increment(StatisticMetric metric, long count) {
+        Tracker tracker = trackers.get(metric);
+        if (tracker == null || count <= 0) {
+            return;
+        }
+        tracker.pending.add(count);
+        tracker.total.add(count);
+        tracker.window.add(Instant.now().getEpochSecond(), count);
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (sessionId != null) {
+            sessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        // Disconnect có thể được phát nhiều lần cho cùng một session
+        sessions.remove(event.getSessionId());
+    }
+
+    /**
+     * Snapshot hiện tại (không reset delta), dùng cho lần tải đầu của dashboard.
+     */
+    public RealtimeMetricsDto snapshot() {
+        return buildSnapshot(false);
+    }
+
+    /**
+     * Đẩy snapshot tới admin mỗi giây.
+     */
+    @Scheduled(fixedRateString = "${admin.metrics.push-interval-ms:1000}")
+    public void publish() {
+        RealtimeMetricsDto current = buildSnapshot(true);
+        if (!hasSubscribers()) {
+            lastPublished = null;
+            return;
+        }
+        RealtimeMetricsDto previous = lastPublished;
+        if (previous != null && !changed(previous, current)) {
+            return;
+        }
+        lastPublished = current;
+        messagingTemplate.convertAndSend(TOPIC, current);
+    }
+
+    private boolean hasSubscribers() {
+        return !simpUserRegistry.findSubscriptions(s -> TOPIC.equals(s.getDestination())).isEmpty();
+    }
+
+    private RealtimeMetricsDto buildSnapshot(boolean resetDelta) {
+        long now = Instant.now().getEpochSecond();
+        return RealtimeMetricsDto.builder()
+                .timestamp(Instant.now())
+                .posts(counter(trackers.get(StatisticMetric.POSTS), now, resetDelta))
+                .likes(counter(trackers.get(StatisticMetric.LIKES), now, resetDelta))
+                .messages(counter(trackers.get(StatisticMetric.MESSAGES), now, resetDelta))
+                .connectedSessions(sessions.size())
+                .build();
+    }
+
+    private static RealtimeMetricsDto.Counter counter(Tracker tracker, long now, boolean resetDelta) {
+        long delta = resetDelta ? tracker.pending.sumThenReset() : tracker.pending.sum();
+        return new RealtimeMetricsDto.Counter(delta, tracker.window.sum(now), tracker.total.sum());
+    }
+
+    private static boolean changed(RealtimeMetricsDto previous, RealtimeMetricsDto current) {
+        return current.getPosts().delta() != 0
+                || current.getLikes().delta() != 0
+                || current.getMessages().delta() != 0
+                || current.getPosts().perMinute() != previous.getPosts().perMinute()
+                || current.getLikes().perMinute() != previous.getLikes().perMinute()
+                || current.getMessages().perMinute() != previous.getMessages().perMinute()
+                || current.getConnectedSessions() != previous.getConnectedSessions();
+    }
+}
@@ -0,0 +1,41 @@
+package com.mini.socialnetwork.modules.statistics.service;
+
+/**
+ * Bộ đếm cửa sổ trượt theo giây (ring buffer), dùng để tính tốc độ
+ * (số sự kiện trong N giây gần nhất) mà không giữ từng sự kiện.
+ */
+class SlidingWindowCounter {
+
+    private final long[] counts;
+    private final long[] seconds;
+
+    SlidingWindowCounter(int windowSeconds) {
+        this.counts = new long[windowSeconds];
+        this.seconds = new long[windowSeconds];
+    }
+
+    /**
+     * Cộng delta vào bucket của giây hiện tại.
+     */
+    synchronized void add(long epochSecond, long delta) {
+        int index = (int) (epochSecond % counts.length);
+        if (seconds[index] != epochSecond) {
+            seconds[index] = epochSecond;
+            counts[index] = 0;
+        }
+        counts[index] += delta;
+    }
+
+    /**
+     * Tổng các bucket còn nằm trong cửa sổ tính tới giây hiện tại.
+     */
+    synchronized long sum(long epochSecond) {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (epochSecond - seconds[i] < counts.length) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+}
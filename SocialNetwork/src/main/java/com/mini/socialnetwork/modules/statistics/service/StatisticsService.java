@@ -0,0 +1,301 @@
+package com.mini.socialnetwork.modules.statistics.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.modules.statistics.entity.DailyStatistic;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.repository.DailyStatisticRepository;
+import com.mini.socialnetwork.modules.statistics.repository.StatisticTotalRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Duy trì các bảng rollup thống kê theo ngày (daily_statistics) và tổng
+ * (statistic_totals) cho Admin Dashboard.
+ * <p>
+ * Các service nghiệp vụ gọi {@code record*} khi tạo/xóa dữ liệu. Delta được gom
+ * trong bộ nhớ và ghi xuống DB định kỳ ({@code statistics.flush-interval-ms})
+ * bằng upsert cộng dồn, nên mỗi request chỉ tốn một thao tác trên map.
+ * </p>
+ * <p>
+ * Job đối soát hằng đêm tính lại các ngày gần nhất đã đóng và toàn bộ tổng từ
+ * bảng gốc, để sửa sai lệch từ các thao tác xóa hàng loạt không đếm theo ngày.
+ * Endpoint rebuild tính lại toàn bộ lịch sử. Bảng gốc được đếm bằng SELECT
+ * READ COMMITTED (không khóa, không chặn ghi); ngay trước mỗi câu đếm, delta
+ * đang chờ của phần được đếm lại bị bỏ đi vì đã nằm trong kết quả, rồi kết quả
+ * được ghi đè trong một transaction ngắn.
+ * </p>
+ * <p>
+ * Ngày được tính theo UTC, khớp với {@code DATE(created_at)} của MySQL
+ * (kết nối dùng {@code serverTimezone=UTC}).
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsService {
+
+    private final DailyStatisticRepository dailyStatisticRepository;
+    private final StatisticTotalRepository statisticTotalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RealtimeMetricsService realtimeMetricsService;
+
+    @Value("${statistics.compact-days:2}")
+    private int compactDays;
+
+    /** Delta chưa ghi xuống DB, theo (ngày, chỉ số) và theo chỉ số */
+    private final ConcurrentHashMap<DayMetric, Long> pendingDaily = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<StatisticMetric, Long> pendingTotals = new ConcurrentHashMap<>();
+
+    /** Tuần tự hóa flush với đối soát/rebuild */
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    private record DayMetric(LocalDate day, StatisticMetric metric) {
+    }
+
+    // ==================== GHI NHẬN ====================
+
+    /**
+     * Ghi nhận delta cho chỉ số vào ngày chỉ định (cập nhật cả giá trị ngày và tổng).
+     *
+     * @param metric chỉ số
+     * @param day    ngày phát sinh dữ liệu (ngày tạo của bản ghi)
+     * @param delta  +1 khi tạo, -1 khi xóa
+     */
+    public void record(StatisticMetric metric, LocalDate day, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        pendingDaily.merge(new DayMetric(day, metric), delta, Long::sum);
+        pendingTotals.merge(metric, delta, Long::sum);
+        if (delta > 0) {
+            realtimeMetricsService.increment(metric, delta);
+        }
+    }
+
+    /**
+     * Ghi nhận delta theo thời điểm tạo của bản ghi.
+     */
+    public void record(StatisticMetric metric, Instant createdAt, long delta) {
+        record(metric, createdAt != null ? toDay(createdAt) : today(), delta);
+    }
+
+    /**
+     * Ghi nhận delta vào ngày hôm nay.
+     */
+    public void recordToday(StatisticMetric metric, long delta) {
+        record(metric, today(), delta);
+    }
+
+    /**
+     * Ghi nhận kết quả một câu GROUP BY ngày ({@code [date, count]}), nhân với sign.
+     * Dùng khi xóa hàng loạt.
+     */
+    public void recordGrouped(StatisticMetric metric, List<Object[]> dateCounts, int sign) {
+        for (Object[] row : dateCounts) {
+            record(metric, toLocalDate(row[0]), sign * ((Number) row[1]).longValue());
+        }
+    }
+
+    /**
+     * Chỉ điều chỉnh tổng, không gắn với ngày nào (ví dụ: likes bị xóa theo bài đăng).
+     */
+    public void adjustTotal(StatisticMetric metric, long delta) {
+        if (delta != 0) {
+            pendingTotals.merge(metric, delta, Long::sum);
+        }
+    }
+
+    // ==================== ĐỌC ====================
+
+    /**
+     * Tổng hiện tại của chỉ số (đã ghi + đang chờ ghi).
+     */
+    public long getTotal(StatisticMetric metric) {
+        long stored = statisticTotalRepository.findById(metric).map(t -> t.getTotal()).orElse(0L);
+        return stored + pendingTotals.getOrDefault(metric, 0L);
+    }
+
+    /**
+     * Giá trị theo ngày trong khoảng [from, to], ngày không có dữ liệu có giá trị 0.
+     */
+    public Map<LocalDate, Long> getDailySeries(StatisticMetric metric, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> series = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            series.put(day, pendingDaily.getOrDefault(new DayMetric(day, metric), 0L));
+        }
+        for (DailyStatistic row : dailyStatisticRepository.findSeries(metric, from, to)) {
+            series.merge(row.getId().getStatDate(), row.getTotal(), Long::sum);
+        }
+        return series;
+    }
+
+    /**
+     * Ngày hiện tại theo UTC.
+     */
+    public LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    // ==================== GHI XUỐNG DB / ĐỐI SOÁT ====================
+
+    /**
+     * Ghi các delta đang chờ xuống DB.
+     */
+    @Scheduled(fixedDelayString = "${statistics.flush-interval-ms:5000}")
+    public void flush() {
+        maintenanceLock.lock();
+        try {
+            flushPending();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Đối soát hằng đêm: tính lại {@code statistics.compact-days} ngày gần nhất
+     * (không gồm hôm nay) và toàn bộ tổng từ bảng gốc.
+     */
+    @Scheduled(cron = "${statistics.compact-cron:0 15 3 * * *}")
+    public void compact() {
+        LocalDate today = today();
+        recompute(today.minusDays(compactDays), today);
+        log.info("Statistics compacted for {} closed days", compactDays);
+    }
+
+    /**
+     * Tính lại toàn bộ rollup từ bảng gốc. Giao dịch chưa commit lúc đếm có thể
+     * làm lệch vài đơn vị cho tới lần đối soát tiếp theo.
+     * LIKES không có lịch sử theo ngày nên chỉ tổng được tính lại.
+     */
+    public void rebuild() {
+        log.info("Rebuilding statistics rollups from source tables...");
+        recompute(LocalDate.of(1970, 1, 1), today().plusDays(1));
+        log.info("Statistics rebuild completed");
+    }
+
+    /**
+     * Khởi tạo rollup lần đầu khi bảng tổng còn trống.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        try {
+            if (statisticTotalRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to initialize statistics rollups: {}", e.getMessage());
+        }
+    }
+
+    private void recompute(LocalDate from, LocalDate to) {
+        maintenanceLock.lock();
+        try {
+            flushPending();
+
+            // Đếm ngoài transaction ghi; flush bị chặn bởi maintenanceLock nên delta
+            // ghi nhận sau câu đếm vẫn nằm trong buffer và được cộng sau khi ghi đè
+            Map<DayMetric, Long> daily = new HashMap<>();
+            countDaily(StatisticMetric.POSTS, from, to, daily, dailyStatisticRepository::countPostsByDay);
+            countDaily(StatisticMetric.COMMENTS, from, to, daily, dailyStatisticRepository::countCommentsByDay);
+            countDaily(StatisticMetric.MESSAGES, from, to, daily, dailyStatisticRepository::countMessagesByDay);
+            countDaily(StatisticMetric.NEW_USERS, from, to, daily, dailyStatisticRepository::countNewUsersByDay);
+            countDaily(StatisticMetric.FOLLOWS, from, to, daily, dailyStatisticRepository::countFollowsByDay);
+
+            for (StatisticMetric metric : StatisticMetric.values()) {
+                pendingTotals.remove(metric);
+            }
+            Map<StatisticMetric, Long> totals = new HashMap<>();
+            for (Object[] row : statisticTotalRepository.countSourceTotals()) {
+                totals.put(StatisticMetric.valueOf(row[0].toString()), ((Number) row[1]).longValue());
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                dailyStatisticRepository.deleteRecomputable(from, to);
+                daily.forEach((key, total) -> dailyStatisticRepository.increment(key.day(), key.metric().name(), total));
+                totals.forEach((metric, total) -> statisticTotalRepository.set(metric.name(), total));
+            });
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    /**
+     * Đếm lại một chỉ số theo ngày trong [from, to), bỏ trước delta đang chờ của các ngày đó.
+     */
+    private void countDaily(StatisticMetric metric, LocalDate from, LocalDate to, Map<DayMetric, Long> target,
+            BiFunction<LocalDate, LocalDate, List<Object[]>> query) {
+        pendingDaily.keySet().removeIf(key -> key.metric() == metric
+                && !key.day().isBefore(from) && key.day().isBefore(to));
+        for (Object[] row : query.apply(from, to)) {
+            target.put(new DayMetric(toLocalDate(row[0]), metric), ((Number) row[1]).longValue());
+        }
+    }
+
+    private void flushPending() {
+        Map<DayMetric, Long> daily = drain(pendingDaily);
+        Map<StatisticMetric, Long> totals = drain(pendingTotals);
+        if (daily.isEmpty() && totals.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                daily.forEach((key, delta) -> dailyStatisticRepository.increment(key.day(), key.metric().name(), delta));
+                totals.forEach((metric, delta) -> statisticTotalRepository.increment(metric.name(), delta));
+            });
+        } catch (Exception e) {
+            // Trả delta về buffer để lần flush sau ghi lại
+            log.warn("Failed to flush statistics, will retry: {}", e.getMessage());
+            daily.forEach((key, delta) -> pendingDaily.merge(key, delta, Long::sum));
+            totals.forEach((metric, delta) -> pendingTotals.merge(metric, delta, Long::sum));
+        }
+    }
+
+    private static <K> Map<K, Long> drain(ConcurrentHashMap<K, Long> pending) {
+        Map<K, Long> drained = new HashMap<>();
+        for (K key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) {
+                drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static LocalDate toDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        } else if (value instanceof LocalDate date) {
+            return date;
+        }
+        return LocalDate.parse(value.toString());
+    }
+}
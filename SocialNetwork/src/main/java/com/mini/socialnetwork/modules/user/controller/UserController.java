@@ -4,14 +4,21 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.mini.socialnetwork.modules.search.service.UserPrefixIndex;
+import com.mini.socialnetwork.modules.user.dto.ProfileResponse;
 import com.mini.socialnetwork.modules.user.dto.UpdateProfileRequest;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
 import com.mini.socialnetwork.modules.user.entity.User;
 import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.user.service.AvatarService;
 import com.mini.socialnetwork.modules.user.service.UserProfileService;
 import com.mini.socialnetwork.modules.auth.service.KeycloakAdminService;
 
@@ -27,13 +34,15 @@ public class UserController {
     private final UserRepository userRepository;
     private final UserProfileService userProfileService;
     private final KeycloakAdminService keycloakAdminService;
+    private final UserPrefixIndex userPrefixIndex;
+    private final AvatarService avatarService;
 
     /**
      * Get current user's profile
      * GET /api/users/me
      */
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUserProfile(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<?> getCurrentUserProfile(@AuthenticationPrincipal Jwt jwt, WebRequest webRequest) {
         if (jwt == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
@@ -47,8 +56,17 @@ public class UserController {
             return ResponseEntity.badRequest().body("Username not found in token");
         }
 
-        User user = userProfileService.getOrCreateProfile(keycloakId, username, email, name);
-        return ResponseEntity.ok(user);
+        ProfileResponse profile = userProfileService.getOrCreateProfile(keycloakId, username, email, name);
+
+        // Client gửi If-None-Match khớp ETag: trả 304 không kèm body
+        String etag = profile.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile);
     }
 
     /**
@@ -74,12 +92,34 @@ public class UserController {
 
         try {
             User updatedUser = userProfileService.updateProfile(keycloakId, username, email, request);
-            return ResponseEntity.ok(updatedUser);
+            return ResponseEntity.ok(ProfileResponse.from(updatedUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(500).body("Error updating profile: " + e.getMessage());
         }
     }
 
+    /**
+     * Upload avatar for current user (resized and stored in object storage)
+     * POST /api/users/me/avatar
+     */
+    @PostMapping("/me/avatar")
+    public ResponseEntity<?> uploadAvatar(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam("file") MultipartFile file) {
+        if (jwt == null) {
+            return ResponseEntity.status(401).body("Unauthorized");
+        }
+
+        try {
+            User updatedUser = avatarService.upload(UUID.fromString(jwt.getSubject()), file);
+            return ResponseEntity.ok(ProfileResponse.from(updatedUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Get all users (for debugging)
      * GET /api/users
@@ -90,6 +130,17 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Typeahead search by username/name prefix (in-memory index)
+     * GET /api/users/search?prefix=
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSummary>> searchByPrefix(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userPrefixIndex.search(prefix, limit));
+    }
+
     /**
      * Get user count
      * GET /api/users/count
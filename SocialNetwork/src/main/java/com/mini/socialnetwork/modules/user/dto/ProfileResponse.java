@@ -0,0 +1,39 @@
+package com.mini.socialnetwork.modules.user.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.mini.socialnetwork.modules.user.entity.User;
+
+/**
+ * Profile gọn của user hiện tại (không gồm roles/followers/following).
+ */
+public record ProfileResponse(
+        UUID id,
+        String username,
+        String email,
+        String name,
+        String bio,
+        String avatarUrl,
+        Instant createdAt,
+        Instant updatedAt) {
+
+    public static ProfileResponse from(User user) {
+        return new ProfileResponse(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getName(),
+                user.getBio(),
+                user.getAvatarUrl(),
+                user.getCreatedAt(),
+                user.getUpdatedAt());
+    }
+
+    /**
+     * ETag theo phiên bản profile: mọi thao tác cập nhật user đều đổi updatedAt.
+     */
+    public String etag() {
+        return "\"" + id + "-" + (updatedAt != null ? updatedAt.toEpochMilli() : 0) + "\"";
+    }
+}
@@ -0,0 +1,14 @@
+package com.mini.socialnetwork.modules.user.dto;
+
+import java.util.UUID;
+
+/**
+ * Thông tin tóm tắt của user (id, username, tên hiển thị, URL avatar).
+ * Dùng để hydrate tác giả theo batch thay vì load toàn bộ entity User.
+ */
+public record UserSummary(
+        UUID id,
+        String username,
+        String name,
+        String avatarUrl) {
+}
@@ -19,7 +19,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_users_name", columnList = "name")
+})
 public class User {
 
     @Id
@@ -34,18 +37,27 @@ public class User {
     private String name;
     private String bio;
 
-    @Lob
-    @Column(columnDefinition = "LONGTEXT")
+    /**
+     * URL công khai của avatar (ảnh đã upload lên object storage hoặc URL ngoài).
+     * Không chứa dữ liệu ảnh inline.
+     */
+    @Column(length = 1024)
     private String avatarUrl;
 
+    /** Prefix object key của avatar đã upload ({@code avatars/{userId}/{uuid}}) */
+    @Column(length = 100)
+    private String avatarKey;
+
     @ElementCollection
     private List<String> roles;
 
-    @ElementCollection
-    private List<UUID> followers;
+    /** Số followers, cập nhật cùng transaction với user_follows (FollowService) */
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long followersCount;
 
-    @ElementCollection
-    private List<UUID> following;
+    /** Số users đang follow, cập nhật cùng transaction với user_follows (FollowService) */
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long followingCount;
 
     private Instant createdAt;
     private Instant updatedAt;
@@ -0,0 +1,10 @@
+package com.mini.socialnetwork.modules.user.event;
+
+import java.util.UUID;
+
+/**
+ * Sự kiện thông tin hiển thị của user (tên, username, avatar, trạng thái...)
+ * đã thay đổi. Các cache theo user lắng nghe để xóa entry sau khi commit.
+ */
+public record UserProfileChangedEvent(UUID userId) {
+}
@@ -1,16 +1,22 @@
 package com.mini.socialnetwork.modules.user.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
 import com.mini.socialnetwork.modules.user.entity.User;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
 
     /**
      * Find user by username
@@ -31,4 +37,70 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findAllExceptUser(@Param("userId") UUID userId);
 
     Optional<User> findById(UUID id);
+
+    /**
+     * Lấy thông tin tóm tắt của nhiều user trong một câu IN, không load các cột/collection nặng.
+     * Avatar inline (data-URL chưa migrate) bị bỏ qua để không kéo dữ liệu ảnh qua JDBC.
+     */
+    @Query("SELECT new com.mini.socialnetwork.modules.user.dto.UserSummary(u.id, u.username, u.name, " +
+            "CASE WHEN u.avatarUrl LIKE 'data:%' THEN NULL ELSE u.avatarUrl END) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Duyệt keyset theo id các user đang hoạt động (dùng để dựng lại index tìm kiếm).
+     */
+    @Query("SELECT new com.mini.socialnetwork.modules.user.dto.UserSummary(u.id, u.username, u.name, " +
+            "CASE WHEN u.avatarUrl LIKE 'data:%' THEN NULL ELSE u.avatarUrl END) " +
+            "FROM User u WHERE u.isActive = true AND (:after IS NULL OR u.id > :after) ORDER BY u.id")
+    List<UserSummary> findActiveSummariesAfterId(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Cộng/trừ số followers của các user (một câu UPDATE cho cả nhóm).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.followersCount = u.followersCount + :delta WHERE u.id IN :ids")
+    int adjustFollowersCount(@Param("ids") Collection<UUID> ids, @Param("delta") long delta);
+
+    /**
+     * Cộng/trừ số following của các user (một câu UPDATE cho cả nhóm).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id IN :ids")
+    int adjustFollowingCount(@Param("ids") Collection<UUID> ids, @Param("delta") long delta);
+
+    /**
+     * Ghi đè bộ đếm follow (dùng khi backfill/đếm lại).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.followersCount = :followers, u.followingCount = :following WHERE u.id = :id")
+    int setFollowCounts(@Param("id") UUID id, @Param("followers") long followers, @Param("following") long following);
+
+    /**
+     * Lấy bộ đếm follow của nhiều user: [id, followersCount, followingCount].
+     */
+    @Query("SELECT u.id, u.followersCount, u.followingCount FROM User u WHERE u.id IN :ids")
+    List<Object[]> findFollowCountsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Khóa (SELECT ... FOR UPDATE) các dòng users theo thứ tự id trước khi đếm lại bộ
+     * đếm follow, để follow/unfollow đồng thời chờ tới khi ghi xong thay vì bị ghi đè.
+     */
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Duyệt keyset theo id toàn bộ users, chỉ lấy id.
+     */
+    @Query("SELECT u.id FROM User u WHERE (:after IS NULL OR u.id > :after) ORDER BY u.id")
+    List<UUID> findIdsAfterId(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Duyệt keyset theo id các user còn avatar inline (data-URL), chỉ lấy id.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.avatarUrl LIKE 'data:%' AND (:after IS NULL OR u.id > :after) ORDER BY u.id")
+    List<UUID> findIdsWithInlineAvatarAfterId(@Param("after") UUID after, Pageable pageable);
 }
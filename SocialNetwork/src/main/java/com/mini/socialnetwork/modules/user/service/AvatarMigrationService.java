@@ -0,0 +1,97 @@
+package com.mini.socialnetwork.modules.user.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Job một lần: chuyển các avatar inline (data-URL base64 trong cột avatar_url)
+ * sang object storage qua {@link AvatarService}.
+ * <p>
+ * Duyệt keyset theo id và chỉ đọc id ở bước duyệt; avatar của mỗi user được
+ * đọc riêng nên cột LONGTEXT chỉ được đọc một dòng mỗi lần, rồi upload ngoài
+ * transaction (xem {@link AvatarService#migrateDataUrl}). User
+ * đã chuyển không còn khớp điều kiện, nên chạy lại job chỉ xử lý phần còn lại.
+ * Avatar lỗi (dữ liệu hỏng, định dạng không hỗ trợ) được bỏ qua và ghi log.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvatarMigrationService {
+
+    private final UserRepository userRepository;
+    private final AvatarService avatarService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${avatar.migration.batch-size:100}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Chạy migration nền (bỏ qua nếu đang chạy).
+     */
+    @Async("adminJobExecutor")
+    public void migrateInlineAvatars() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Avatar migration is already running");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int migrated = 0;
+        int failed = 0;
+        try {
+            UUID after = null;
+            List<UUID> ids;
+            do {
+                ids = userRepository.findIdsWithInlineAvatarAfterId(after, PageRequest.of(0, batchSize));
+                for (UUID id : ids) {
+                    if (migrate(id)) {
+                        migrated++;
+                    } else {
+                        failed++;
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    after = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == batchSize);
+            log.info("Avatar migration completed in {} ms: migrated={}, failed={}",
+                    System.currentTimeMillis() - start, migrated, failed);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean migrate(UUID userId) {
+        try {
+            String dataUrl = transactionTemplate.execute(status -> userRepository.findById(userId)
+                    .map(User::getAvatarUrl)
+                    .orElse(null));
+            if (dataUrl != null) {
+                avatarService.migrateDataUrl(userId, dataUrl);
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to migrate avatar of user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.mini.socialnetwork.modules.user.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.mini.socialnetwork.infras.StorageService;
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Xử lý avatar: resize ảnh về các kích thước cố định, lưu lên object storage
+ * (MinIO) và chỉ lưu key/URL ngắn trong bảng users.
+ * <p>
+ * Mỗi lần upload tạo các object {@code avatars/{userId}/{uuid}_{size}.jpg}
+ * (ảnh vuông, cắt giữa). {@code avatarUrl} trỏ tới bản lớn nhất; bản nhỏ hơn
+ * có cùng prefix, thay hậu tố kích thước. Vì key luôn mới nên object được
+ * cache vĩnh viễn.
+ * </p>
+ * <p>
+ * Resize và upload chạy ngoài transaction; dòng users được cập nhật trong một
+ * transaction ngắn sau đó. Ảnh cũ chỉ bị xóa sau khi transaction commit; nếu
+ * cập nhật thất bại, các object vừa upload bị xóa. Ảnh lớn hơn
+ * {@value #MAX_DIMENSION}x{@value #MAX_DIMENSION} px bị từ chối trước khi giải
+ * mã (giới hạn bộ nhớ, không chỉ dung lượng file).
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvatarService {
+
+    /** Các kích thước (px) được tạo, bản đầu tiên là bản mặc định */
+    public static final int[] SIZES = { 256, 64 };
+
+    private static final long MAX_UPLOAD_SIZE = 5 * 1024 * 1024;
+    /** Kích thước tối đa (px) mỗi chiều của ảnh gốc */
+    static final int MAX_DIMENSION = 4096;
+    private static final int MAX_URL_LENGTH = 1024;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final StorageService storageService;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Upload avatar mới cho user.
+     *
+     * @throws IllegalArgumentException nếu file rỗng, quá lớn hoặc không phải ảnh
+     */
+    public User upload(UUID userId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Avatar file is empty");
+        }
+        if (file.getSize() > MAX_UPLOAD_SIZE) {
+            throw new IllegalArgumentException("Avatar exceeds 5MB");
+        }
+        BufferedImage source;
+        try {
+            source = decode(file.getBytes());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read avatar upload", e);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found: " + userId);
+        }
+        User saved = store(userId, source, user -> true);
+        if (saved == null) {
+            throw new RuntimeException("User not found: " + userId);
+        }
+        return saved;
+    }
+
+    /**
+     * Chuyển avatar dạng data-URL (base64 inline) sang object storage (job migration).
+     * User chỉ được cập nhật nếu avatar_url vẫn là data-URL này.
+     *
+     * @return true nếu đã cập nhật user
+     * @throws IllegalArgumentException nếu data-URL không hợp lệ
+     */
+    public boolean migrateDataUrl(UUID userId, String dataUrl) {
+        int comma = dataUrl != null ? dataUrl.indexOf(',') : -1;
+        if (comma < 0 || !dataUrl.startsWith("data:") || !dataUrl.substring(0, comma).endsWith(";base64")) {
+            throw new IllegalArgumentException("Not a base64 data URL");
+        }
+        BufferedImage source = decode(Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1)));
+        return store(userId, source, user -> dataUrl.equals(user.getAvatarUrl())) != null;
+    }
+
+    /**
+     * Kiểm tra URL avatar do client gửi lên (profile/admin): chỉ chấp nhận URL
+     * http(s) ngắn, không chấp nhận dữ liệu ảnh inline.
+     *
+     * @throws IllegalArgumentException nếu URL không hợp lệ
+     */
+    public static void validateExternalUrl(String url) {
+        if (url.startsWith("data:")) {
+            throw new IllegalArgumentException("Inline avatar data is not supported, upload via POST /api/users/me/avatar");
+        }
+        if (url.length() > MAX_URL_LENGTH || !(url.startsWith("https://") || url.startsWith("http://"))) {
+            throw new IllegalArgumentException("Avatar URL must be an http(s) URL of at most " + MAX_URL_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Upload các kích thước (ngoài transaction) rồi trỏ user sang avatar mới trong một
+     * transaction ngắn. Ảnh cũ bị xóa sau commit; object mới bị xóa nếu không cập nhật được.
+     *
+     * @return user đã lưu, hoặc null nếu user không còn / không thỏa {@code applies}
+     */
+    private User store(UUID userId, BufferedImage source, Predicate<User> applies) {
+        String newKey = "avatars/" + userId + "/" + UUID.randomUUID();
+        User saved;
+        try {
+            String defaultUrl = null;
+            for (int size : SIZES) {
+                String url = storageService.uploadBytes(objectKey(newKey, size),
+                        encodeJpeg(resizeSquare(source, size)), "image/jpeg");
+                if (defaultUrl == null) {
+                    defaultUrl = url;
+                }
+            }
+            String url = defaultUrl;
+            saved = transactionTemplate.execute(status -> userRepository.findById(userId)
+                    .filter(applies)
+                    .map(user -> switchAvatar(user, newKey, url))
+                    .orElse(null));
+        } catch (RuntimeException e) {
+            deleteAvatarObjects(newKey);
+            throw e;
+        }
+        if (saved == null) {
+            deleteAvatarObjects(newKey);
+            return null;
+        }
+        log.info("Stored avatar {} for user {}", newKey, userId);
+        return saved;
+    }
+
+    private User switchAvatar(User user, String newKey, String url) {
+        String oldKey = user.getAvatarKey();
+        user.setAvatarKey(newKey);
+        user.setAvatarUrl(url);
+        user.setUpdatedAt(Instant.now());
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(saved.getId()));
+        if (oldKey != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteAvatarObjects(oldKey);
+                }
+            });
+        }
+        return saved;
+    }
+
+    private void deleteAvatarObjects(String avatarKey) {
+        List<String> objects = new ArrayList<>();
+        for (int size : SIZES) {
+            objects.add(objectKey(avatarKey, size));
+        }
+        storageService.deleteObjects(objects);
+    }
+
+    private static String objectKey(String avatarKey, int size) {
+        return avatarKey + "_" + size + ".jpg";
+    }
+
+    /**
+     * Giải mã ảnh sau khi kiểm tra kích thước trong header: ảnh nén tốt có thể nhỏ
+     * về dung lượng nhưng cần hàng GB heap khi giải mã.
+     */
+    private static BufferedImage decode(byte[] data) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if (reader.getWidth(0) > MAX_DIMENSION || reader.getHeight(0) > MAX_DIMENSION) {
+                    throw new IllegalArgumentException(
+                            "Avatar exceeds " + MAX_DIMENSION + "x" + MAX_DIMENSION + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid image: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cắt vùng vuông ở giữa và thu nhỏ về size x size. Thu nhỏ nhiều bước (mỗi
+     * bước một nửa) để giữ chất lượng với nội suy bilinear.
+     */
+    private static BufferedImage resizeSquare(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage((source.getWidth() - side) / 2,
+                (source.getHeight() - side) / 2, side, side);
+        int currentSize = side;
+        do {
+            currentSize = Math.max(currentSize / 2, size);
+            current = draw(current, currentSize);
+        } while (currentSize > size);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int size) {
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Nền trắng cho ảnh có kênh alpha (JPEG không hỗ trợ trong suốt)
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+            g.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode avatar", e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,14 +1,26 @@
 package com.mini.socialnetwork.modules.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mini.socialnetwork.modules.user.dto.ProfileResponse;
 import com.mini.socialnetwork.modules.user.dto.UpdateProfileRequest;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
 import com.mini.socialnetwork.modules.user.entity.User;
 import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.statistics.entity.StatisticMetric;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,18 +34,89 @@ import java.util.UUID;
 public class UserProfileService {
 
     private final UserRepository userRepository;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${user.profile-cache.max-size:10000}")
+    private long profileCacheMaxSize;
+
+    @Value("${user.profile-cache.ttl-seconds:600}")
+    private long profileCacheTtlSeconds;
 
     /**
-     * Lấy profile theo username, nếu chưa có thì tạo mới
+     * Cache profile theo id của dòng users (khóa của {@link UserProfileChangedEvent}),
+     * riêng cho mỗi node
      */
-    @Transactional
-    public User getOrCreateProfile(String keycloakId, String username, String email, String name) {
-        Optional<User> existingUser = userRepository.findByUsername(username);
+    private Cache<UUID, ProfileResponse> profileCache;
+
+    /** Keycloak sub -> id của dòng users cũ (id khác sub, tìm qua username) */
+    private Cache<UUID, UUID> legacyIdCache;
+
+    @PostConstruct
+    void initProfileCache() {
+        profileCache = Caffeine.newBuilder()
+                .maximumSize(profileCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(profileCacheTtlSeconds))
+                .build();
+        legacyIdCache = Caffeine.newBuilder()
+                .maximumSize(profileCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(profileCacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Lấy profile của user hiện tại theo id (Keycloak sub, khóa chính), nếu chưa
+     * có thì tạo mới. Đây là hot path khi mở app: lần gọi lặp lại được trả từ
+     * cache mà không chạm DB.
+     * <p>
+     * Profile luôn được đọc từ DB bên trong {@code profileCache.get(key, loader)}:
+     * invalidate trong lúc đang nạp sẽ chờ lần nạp xong rồi mới xóa, nên bản đọc
+     * trước một cập nhật đồng thời không thể được ghi vào cache sau khi đã invalidate.
+     * </p>
+     */
+    public ProfileResponse getOrCreateProfile(String keycloakId, String username, String email, String name) {
+        UUID id = UUID.fromString(keycloakId);
+        UUID legacyId = legacyIdCache.getIfPresent(id);
+        if (legacyId != null) {
+            ProfileResponse legacy = profileCache.get(legacyId, this::loadProfile);
+            if (legacy != null) {
+                return legacy;
+            }
+            legacyIdCache.invalidate(id);
+        }
 
-        if (existingUser.isPresent()) {
-            return existingUser.get();
+        ProfileResponse profile = profileCache.get(id, this::loadProfile);
+        if (profile != null) {
+            return profile;
         }
 
+        // Fallback theo username cho dữ liệu cũ có id khác Keycloak sub
+        User user = userRepository.findByUsername(username)
+                .orElseGet(() -> createProfile(keycloakId, username, email, name));
+        if (!user.getId().equals(id)) {
+            legacyIdCache.put(id, user.getId());
+        }
+        ProfileResponse loaded = profileCache.get(user.getId(), this::loadProfile);
+        return loaded != null ? loaded : ProfileResponse.from(user);
+    }
+
+    /**
+     * Loader của profileCache; null (không cache) nếu user không tồn tại.
+     */
+    private ProfileResponse loadProfile(UUID id) {
+        return userRepository.findById(id).map(ProfileResponse::from).orElse(null);
+    }
+
+    /**
+     * Xóa profile khỏi cache sau khi transaction cập nhật user đã commit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        profileCache.invalidate(event.userId());
+    }
+
+    private User createProfile(String keycloakId, String username, String email, String name) {
         // Tạo user mới nếu chưa tồn tại
         User newUser = User.builder()
                 .id(UUID.fromString(keycloakId))
@@ -47,7 +130,10 @@ public class UserProfileService {
                 .updatedAt(Instant.now())
                 .build();
 
-        return userRepository.save(newUser);
+        User saved = userRepository.save(newUser);
+        statisticsService.record(StatisticMetric.NEW_USERS, saved.getCreatedAt(), 1);
+        searchIndexService.indexUser(saved);
+        return saved;
     }
 
     /**
@@ -84,7 +170,9 @@ public class UserProfileService {
                             .createdAt(Instant.now())
                             .updatedAt(Instant.now())
                             .build();
-                    return userRepository.save(newUser);
+                    User saved = userRepository.save(newUser);
+                    statisticsService.record(StatisticMetric.NEW_USERS, saved.getCreatedAt(), 1);
+                    return saved;
                 });
 
         // Cập nhật các trường
@@ -95,7 +183,9 @@ public class UserProfileService {
             user.setBio(request.getBio());
         }
         if (request.getAvatarUrl() != null && !request.getAvatarUrl().isBlank()) {
+            AvatarService.validateExternalUrl(request.getAvatarUrl());
             user.setAvatarUrl(request.getAvatarUrl());
+            user.setAvatarKey(null);
         }
 
         user.setUpdatedAt(Instant.now());
@@ -103,6 +193,9 @@ public class UserProfileService {
         log.info("Updating profile for user {}: id={}, name={}, bio={}, avatarUrl={}",
                 username, user.getId(), user.getName(), user.getBio(), user.getAvatarUrl());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchIndexService.indexUser(saved);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(saved.getId()));
+        return saved;
     }
 }
@@ -0,0 +1,97 @@
+package com.mini.socialnetwork.modules.user.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mini.socialnetwork.modules.user.dto.UserSummary;
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cung cấp {@link UserSummary} để nhúng thông tin tác giả vào posts/comments.
+ * <p>
+ * Summary được giữ trong cache bộ nhớ có giới hạn
+ * ({@code user.summary-cache.max-size}, hết hạn sau
+ * {@code user.summary-cache.ttl-seconds}). Các id chưa có trong cache được
+ * load bằng một câu IN duy nhất, nên hydrate một trang feed tốn tối đa một
+ * truy vấn. Khi user đổi tên/avatar, entry bị xóa khi nhận
+ * {@link UserProfileChangedEvent} (sau commit); TTL là lưới an toàn cho các
+ * thay đổi ngoài luồng (ví dụ sửa trực tiếp DB).
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSummaryService {
+
+    private final UserRepository userRepository;
+
+    @Value("${user.summary-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${user.summary-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<UUID, UserSummary> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Lấy summary của nhiều user (user không tồn tại không có trong kết quả).
+     */
+    public Map<UUID, UserSummary> getSummaries(Collection<UUID> userIds) {
+        Set<UUID> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return cache.getAll(ids, missing -> userRepository.findSummariesByIdIn(Set.copyOf(missing)).stream()
+                .collect(Collectors.toMap(UserSummary::id, Function.identity())));
+    }
+
+    /**
+     * Lấy summary của một user (null nếu không tồn tại).
+     */
+    public UserSummary getSummary(UUID userId) {
+        return userId != null ? getSummaries(Set.of(userId)).get(userId) : null;
+    }
+
+    /**
+     * Xóa entry khỏi cache sau khi transaction cập nhật user đã commit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    /**
+     * Tạo summary từ entity (bỏ qua avatar inline chưa migrate).
+     */
+    public static UserSummary toSummary(User user) {
+        String avatarUrl = user.getAvatarUrl() != null && user.getAvatarUrl().startsWith("data:")
+                ? null
+                : user.getAvatarUrl();
+        return new UserSummary(user.getId(), user.getUsername(), user.getName(), avatarUrl);
+    }
+}
@@ -0,0 +1,169 @@
+-- Schema gốc (baseline): đúng schema mà ddl-auto=update đã tạo từ các entity trước khi chuyển
+-- sang Flyway. DB đã có sẵn bảng được baseline ở version 1 (spring.flyway.baseline-on-migrate)
+-- nên script này chỉ chạy trên DB trống; mọi bảng/cột/index thêm sau đó nằm trong các migration
+-- V2+ (idempotent, chạy trên cả DB trống lẫn DB cũ).
+
+create table attachments (
+    id bigint not null auto_increment,
+    file_name varchar(255),
+    file_size bigint not null,
+    file_type varchar(255),
+    file_url TEXT,
+    object_key varchar(255),
+    message_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table comments (
+    id binary(16) not null,
+    content varchar(255),
+    created_at datetime(6),
+    image_url varchar(255),
+    is_deleted bit not null,
+    post_id binary(16),
+    updated_at datetime(6),
+    user_id binary(16),
+    primary key (id)
+) engine=InnoDB;
+
+create table conversation_participants (
+    conversation_id bigint not null,
+    user_id varchar(255)
+) engine=InnoDB;
+
+create table conversations (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255),
+    last_message_content varchar(255),
+    last_message_sender_id varchar(255),
+    last_message_type enum ('TEXT','IMAGE','FILE','ATTACHMENT'),
+    name varchar(255),
+    type enum ('ONE_TO_ONE','GROUP'),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table messages (
+    id bigint not null auto_increment,
+    content TEXT,
+    conversation_id bigint,
+    created_at datetime(6) not null,
+    is_deleted bit not null,
+    message_type enum ('TEXT','IMAGE','FILE','ATTACHMENT'),
+    sender_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table notifications (
+    id binary(16) not null,
+    conversation_id varchar(255),
+    created_at datetime(6),
+    is_read bit not null,
+    message varchar(255),
+    post_id binary(16),
+    receiver_id binary(16),
+    sender_avatar_url varchar(255),
+    sender_id binary(16),
+    sender_name varchar(255),
+    type enum ('LIKE','COMMENT','FOLLOW','MESSAGE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table post_image_urls (
+    post_id binary(16) not null,
+    image_urls varchar(255)
+) engine=InnoDB;
+
+create table post_likes (
+    post_id binary(16) not null,
+    likes binary(16)
+) engine=InnoDB;
+
+create table posts (
+    id binary(16) not null,
+    author_id binary(16),
+    comment_count integer not null,
+    content varchar(255),
+    created_at datetime(6),
+    is_deleted bit not null,
+    like_count integer not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_followers (
+    user_id binary(16) not null,
+    followers binary(16)
+) engine=InnoDB;
+
+create table user_following (
+    user_id binary(16) not null,
+    following binary(16)
+) engine=InnoDB;
+
+create table user_follows (
+    follower_id varchar(255) not null,
+    following_id varchar(255) not null,
+    created_at datetime(6),
+    primary key (follower_id, following_id)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id binary(16) not null,
+    roles varchar(255)
+) engine=InnoDB;
+
+create table users (
+    id binary(16) not null,
+    avatar_url LONGTEXT,
+    bio varchar(255),
+    created_at datetime(6),
+    email varchar(255),
+    is_active bit not null,
+    name varchar(255),
+    updated_at datetime(6),
+    username varchar(50) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table users
+   add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+   add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table attachments
+   add constraint FKcf4ta8qdkixetfy7wnqfv3vkv
+   foreign key (message_id)
+   references messages (id);
+
+alter table conversation_participants
+   add constraint FK84npv3fo2vwl7ut63im0p417q
+   foreign key (conversation_id)
+   references conversations (id);
+
+alter table post_image_urls
+   add constraint FKi092hc01bm5mp5cig1uas74x1
+   foreign key (post_id)
+   references posts (id);
+
+alter table post_likes
+   add constraint FKa5wxsgl4doibhbed9gm7ikie2
+   foreign key (post_id)
+   references posts (id);
+
+alter table user_followers
+   add constraint FKox7c2m7d9qhhpu45d83luq19q
+   foreign key (user_id)
+   references users (id);
+
+alter table user_following
+   add constraint FKiauj02dmro0awb3hetthnrlye
+   foreign key (user_id)
+   references users (id);
+
+alter table user_roles
+   add constraint FKhfh9dx7w3ubf1co1vdev94g3f
+   foreign key (user_id)
+   references users (id);
@@ -1,11 +1,12 @@
--- Indexes for user_follows table to optimize Recursive CTE query
--- Run this in MySQL to improve F1-F2-F3 query performance
+-- Indexes cho user_follows.
+-- PK (follower_id, following_id) đã phục vụ lookup theo follower_id (Recursive CTE F1-F2-F3).
+-- Hai composite index dưới đây phục vụ lookup theo following_id và danh sách
+-- followers/following phân trang keyset theo created_at; InnoDB tự nối PK vào cuối index
+-- nên ORDER BY created_at, <id còn lại> không cần filesort.
 
--- Primary index for follower lookup (most important for the recursive query)
-CREATE INDEX IF NOT EXISTS idx_follows_follower ON user_follows(follower_id);
+CALL sn_create_index('user_follows', 'idx_user_follows_following_created', 'following_id, created_at');
+CALL sn_create_index('user_follows', 'idx_user_follows_follower_created', 'follower_id, created_at');
 
--- Secondary index for following lookup
-CREATE INDEX IF NOT EXISTS idx_follows_following ON user_follows(following_id);
-
--- Composite index for faster joins (optional, for further optimization)
--- CREATE INDEX idx_follows_composite ON user_follows(follower_id, following_id);
+-- Index đơn cột của phiên bản script trước (nếu đã tạo tay) trùng với các index trên
+CALL sn_drop_index('user_follows', 'idx_follows_follower');
+CALL sn_drop_index('user_follows', 'idx_follows_following');
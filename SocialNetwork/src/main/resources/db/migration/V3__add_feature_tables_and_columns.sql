@@ -0,0 +1,80 @@
+-- Bảng và cột thêm sau baseline (V1).
+-- DB cũ có thể đã được ddl-auto=update tạo một phần các bảng/cột này trước khi chuyển sang
+-- Flyway nên mọi thao tác đều idempotent (CREATE TABLE IF NOT EXISTS, sn_add_column).
+
+-- notification_counters: bộ đếm unread theo user (NotificationCounterRepository)
+CREATE TABLE IF NOT EXISTS notification_counters (
+    user_id binary(16) not null,
+    unread_count bigint not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+-- notification_dead_letters: event notification xử lý thất bại sau khi hết số lần retry
+CREATE TABLE IF NOT EXISTS notification_dead_letters (
+    id binary(16) not null,
+    attempts integer not null,
+    created_at datetime(6),
+    error varchar(1000),
+    event_type varchar(255),
+    payload TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+-- conversation_read_receipts: tin nhắn cuối cùng đã đọc theo (conversation, user)
+CREATE TABLE IF NOT EXISTS conversation_read_receipts (
+    conversation_id bigint not null,
+    user_id varchar(255) not null,
+    last_read_message_id bigint,
+    read_at datetime(6),
+    primary key (conversation_id, user_id)
+) engine=InnoDB;
+
+-- user_deletion_jobs: job xóa user chạy theo chunk, resume được
+CREATE TABLE IF NOT EXISTS user_deletion_jobs (
+    id binary(16) not null,
+    completed_at datetime(6),
+    created_at datetime(6),
+    last_error varchar(1000),
+    processed_count bigint not null,
+    stage enum ('KEYCLOAK','COMMENTS','POST_COMMENTS','POSTS','MESSAGES','NOTIFICATIONS','FOLLOWS','USER','DONE'),
+    status enum ('PENDING','RUNNING','COMPLETED','FAILED'),
+    updated_at datetime(6),
+    user_id binary(16),
+    username varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+-- daily_statistics / statistic_totals: thống kê pre-aggregate cho admin dashboard
+CREATE TABLE IF NOT EXISTS daily_statistics (
+    metric enum ('POSTS','COMMENTS','LIKES','MESSAGES','NEW_USERS','FOLLOWS') not null,
+    stat_date date not null,
+    total bigint not null,
+    primary key (metric, stat_date)
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS statistic_totals (
+    metric enum ('POSTS','COMMENTS','LIKES','MESSAGES','NEW_USERS','FOLLOWS') not null,
+    total bigint not null,
+    primary key (metric)
+) engine=InnoDB;
+
+-- notifications: notification gộp (số actor, tên các actor gần nhất). Notification cũ có một actor.
+CALL sn_add_column('notifications', 'actor_count', 'INT NOT NULL DEFAULT 1');
+CALL sn_add_column('notifications', 'recent_actor_names', 'VARCHAR(500)');
+
+-- users: bộ đếm follow, key avatar trên object storage
+CALL sn_add_column('users', 'followers_count', 'BIGINT NOT NULL DEFAULT 0');
+CALL sn_add_column('users', 'following_count', 'BIGINT NOT NULL DEFAULT 0');
+CALL sn_add_column('users', 'avatar_key', 'VARCHAR(100)');
+
+-- users.avatar_url: cột LONGTEXT cũ (avatar data-URL inline) thu về VARCHAR(1024) khi không
+-- còn avatar inline; nếu còn, chạy POST /api/admin/jobs/avatar-migration rồi đổi kiểu thủ công.
+SET @sn_ddl = IF((SELECT COUNT(*) FROM users WHERE CHAR_LENGTH(avatar_url) > 1024) = 0,
+        'ALTER TABLE users MODIFY avatar_url VARCHAR(1024)', 'DO 0');
+PREPARE sn_stmt FROM @sn_ddl;
+EXECUTE sn_stmt;
+DEALLOCATE PREPARE sn_stmt;
+
+-- Bảng collection cũ của User.followers/following, đã thay bằng users.followers_count/following_count
+DROP TABLE IF EXISTS user_followers;
+DROP TABLE IF EXISTS user_following;
@@ -0,0 +1,49 @@
+-- Composite indexes cho các repository query nóng (khớp với @Table indexes trên entity).
+-- Một phần có thể đã do ddl-auto tạo trên DB cũ; mọi thao tác đều idempotent (xem beforeMigrate.sql).
+
+-- posts: trang cá nhân / feed (author_id [IN], is_deleted = false ORDER BY created_at DESC).
+-- Prefix author_id vẫn phục vụ findByAuthorId / deleteByAuthorId / findIdsByAuthorId.
+CALL sn_create_index('posts', 'idx_posts_author_deleted_created', 'author_id, is_deleted, created_at');
+CALL sn_drop_index('posts', 'idx_posts_author_created');
+-- posts: keyset page admin (created_at, id), đếm/rebuild thống kê theo is_deleted + created_at
+CALL sn_create_index('posts', 'idx_posts_created_id', 'created_at, id');
+CALL sn_create_index('posts', 'idx_posts_deleted_created', 'is_deleted, created_at');
+
+-- comments: comment của post, comment của user, keyset page admin, rebuild thống kê
+CALL sn_create_index('comments', 'idx_comments_post_deleted_created', 'post_id, is_deleted, created_at');
+CALL sn_create_index('comments', 'idx_comments_user_created', 'user_id, created_at');
+CALL sn_create_index('comments', 'idx_comments_created_id', 'created_at, id');
+CALL sn_create_index('comments', 'idx_comments_deleted_created', 'is_deleted, created_at');
+
+-- notifications: danh sách theo receiver, unread count / mark all as read, gộp notification
+-- (theo post / theo conversation), retention theo type + created_at, xóa theo sender
+CALL sn_create_index('notifications', 'idx_notifications_receiver_created', 'receiver_id, created_at');
+CALL sn_create_index('notifications', 'idx_notifications_receiver_read', 'receiver_id, is_read');
+CALL sn_create_index('notifications', 'idx_notifications_aggregate_post', 'receiver_id, type, post_id');
+CALL sn_create_index('notifications', 'idx_notifications_receiver_conversation_read',
+        'receiver_id, conversation_id, is_read');
+CALL sn_create_index('notifications', 'idx_notifications_type_created', 'type, created_at');
+CALL sn_create_index('notifications', 'idx_notifications_sender', 'sender_id');
+
+-- messages: lịch sử hội thoại (conversation_id ORDER BY id DESC, cursor id < ?), MAX(id) khi đánh
+-- dấu đã đọc, xóa theo sender, rebuild thống kê theo created_at
+CALL sn_create_index('messages', 'idx_messages_conversation_id', 'conversation_id, id');
+CALL sn_create_index('messages', 'idx_messages_sender', 'sender_id');
+CALL sn_create_index('messages', 'idx_messages_created', 'created_at');
+
+-- conversations: danh sách hội thoại của user (:userId MEMBER OF participantIds)
+CALL sn_create_index('conversation_participants', 'idx_conversation_participants_user', 'user_id, conversation_id');
+
+-- conversation_read_receipts: xóa theo user (PK bắt đầu bằng conversation_id)
+CALL sn_create_index('conversation_read_receipts', 'idx_read_receipts_user', 'user_id');
+
+-- user_deletion_jobs: job đang chạy theo user / theo trạng thái
+CALL sn_create_index('user_deletion_jobs', 'idx_user_deletion_jobs_user_status', 'user_id, status');
+CALL sn_create_index('user_deletion_jobs', 'idx_user_deletion_jobs_status', 'status');
+
+-- daily_statistics: compaction xóa theo khoảng stat_date (PK bắt đầu bằng metric)
+CALL sn_create_index('daily_statistics', 'idx_daily_statistics_date', 'stat_date');
+
+-- users: keyset page admin (created_at, id), tìm theo tên
+CALL sn_create_index('users', 'idx_users_created_id', 'created_at, id');
+CALL sn_create_index('users', 'idx_users_name', 'name');
@@ -0,0 +1,7 @@
+-- keycloak_sync_state: mốc event Keycloak đã đồng bộ incremental (KeycloakUserSyncService)
+CREATE TABLE IF NOT EXISTS keycloak_sync_state (
+    name varchar(50) not null,
+    last_event_time bigint not null,
+    updated_at datetime(6),
+    primary key (name)
+) engine=InnoDB;
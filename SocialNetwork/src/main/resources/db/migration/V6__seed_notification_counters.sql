@@ -0,0 +1,11 @@
+-- Khởi tạo notification_counters từ số notification chưa đọc hiện có.
+-- Sau migration này user không có dòng counter nghĩa là không có notification chưa đọc, nên
+-- increment() tạo dòng mới với delta là đúng. Counter đã có (DB chạy ddl-auto trước đây) được
+-- ghi đè bằng giá trị thật.
+INSERT INTO notification_counters (user_id, unread_count)
+SELECT s.receiver_id, s.unread
+FROM (SELECT receiver_id, COUNT(*) AS unread
+      FROM notifications
+      WHERE is_read = 0 AND receiver_id IS NOT NULL
+      GROUP BY receiver_id) AS s
+ON DUPLICATE KEY UPDATE unread_count = s.unread;
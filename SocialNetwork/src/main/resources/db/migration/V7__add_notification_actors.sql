@@ -0,0 +1,9 @@
+-- notification_actors: các actor đã gộp vào một notification, để actor_count đếm người khác nhau
+-- (A thích, B thích, A bỏ thích rồi thích lại vẫn là 2). Dòng bị xóa cùng notification.
+CREATE TABLE IF NOT EXISTS notification_actors (
+    notification_id binary(16) not null,
+    actor_id binary(16) not null,
+    primary key (notification_id, actor_id),
+    constraint fk_notification_actors_notification
+        foreign key (notification_id) references notifications (id) on delete cascade
+) engine=InnoDB;
@@ -0,0 +1,13 @@
+-- Backfill users.followers_count/following_count từ user_follows (cột thêm ở V3).
+-- user_follows lưu id dạng chuỗi UUID còn users.id là binary(16); chuỗi được dựng bằng HEX
+-- (BIN_TO_UUID không có trên MariaDB) để subquery dùng index theo following_id / follower_id.
+-- Chạy trước khi ứng dụng nhận request nên không tranh chấp với follow/unfollow.
+UPDATE users u
+SET u.followers_count = (SELECT COUNT(*) FROM user_follows f
+                         WHERE f.following_id = LOWER(CONCAT_WS('-', SUBSTR(HEX(u.id), 1, 8),
+                                 SUBSTR(HEX(u.id), 9, 4), SUBSTR(HEX(u.id), 13, 4),
+                                 SUBSTR(HEX(u.id), 17, 4), SUBSTR(HEX(u.id), 21)))),
+    u.following_count = (SELECT COUNT(*) FROM user_follows f
+                         WHERE f.follower_id = LOWER(CONCAT_WS('-', SUBSTR(HEX(u.id), 1, 8),
+                                 SUBSTR(HEX(u.id), 9, 4), SUBSTR(HEX(u.id), 13, 4),
+                                 SUBSTR(HEX(u.id), 17, 4), SUBSTR(HEX(u.id), 21))));
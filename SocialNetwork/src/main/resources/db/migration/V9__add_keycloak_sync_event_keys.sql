@@ -0,0 +1,3 @@
+-- keycloak_sync_state.last_event_keys: khóa các event đã xử lý tại đúng mốc last_event_time,
+-- để event khác cùng mili giây đến sau vẫn được xử lý mà không xử lý lại event cũ
+CALL sn_add_column('keycloak_sync_state', 'last_event_keys', 'TEXT');
@@ -0,0 +1,5 @@
+-- Flyway callback: xóa các procedure tạm tạo ở beforeMigrate.sql.
+
+DROP PROCEDURE IF EXISTS sn_create_index;
+DROP PROCEDURE IF EXISTS sn_drop_index;
+DROP PROCEDURE IF EXISTS sn_add_column;
@@ -0,0 +1,45 @@
+-- Flyway callback: procedure tạm cho các migration idempotent.
+-- MySQL không có CREATE INDEX IF NOT EXISTS / ADD COLUMN IF NOT EXISTS, trong khi các DB
+-- được tạo trước đây bằng ddl-auto=update có thể đã có sẵn một phần index/cột.
+-- Các procedure bị xóa ở afterMigrate.sql.
+
+DROP PROCEDURE IF EXISTS sn_create_index;
+DROP PROCEDURE IF EXISTS sn_drop_index;
+DROP PROCEDURE IF EXISTS sn_add_column;
+
+DELIMITER //
+
+CREATE PROCEDURE sn_create_index(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = p_table AND index_name = p_index) THEN
+        SET @sn_ddl = CONCAT('CREATE INDEX ', p_index, ' ON ', p_table, ' (', p_columns, ')');
+        PREPARE sn_stmt FROM @sn_ddl;
+        EXECUTE sn_stmt;
+        DEALLOCATE PREPARE sn_stmt;
+    END IF;
+END //
+
+CREATE PROCEDURE sn_drop_index(IN p_table VARCHAR(64), IN p_index VARCHAR(64))
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = p_table AND index_name = p_index) THEN
+        SET @sn_ddl = CONCAT('DROP INDEX ', p_index, ' ON ', p_table);
+        PREPARE sn_stmt FROM @sn_ddl;
+        EXECUTE sn_stmt;
+        DEALLOCATE PREPARE sn_stmt;
+    END IF;
+END //
+
+CREATE PROCEDURE sn_add_column(IN p_table VARCHAR(64), IN p_column VARCHAR(64), IN p_definition VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = DATABASE() AND table_name = p_table AND column_name = p_column) THEN
+        SET @sn_ddl = CONCAT('ALTER TABLE ', p_table, ' ADD COLUMN ', p_column, ' ', p_definition);
+        PREPARE sn_stmt FROM @sn_ddl;
+        EXECUTE sn_stmt;
+        DEALLOCATE PREPARE sn_stmt;
+    END IF;
+END //
+
+DELIMITER ;
@@ -0,0 +1,129 @@
+package com.mini.socialnetwork.avatar;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mini.socialnetwork.infras.StorageService;
+import com.mini.socialnetwork.modules.auth.service.KeycloakAdminService;
+import com.mini.socialnetwork.modules.search.service.UserPrefixIndex;
+import com.mini.socialnetwork.modules.user.controller.UserController;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.user.service.AvatarService;
+import com.mini.socialnetwork.modules.user.service.UserProfileService;
+
+/**
+ * Ảnh avatar có kích thước pixel quá lớn bị từ chối từ header, trước khi giải mã
+ * bitmap (file PNG nén tốt chỉ vài KB nhưng cần hàng GB heap khi giải mã).
+ */
+class AvatarUploadLimitTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final StorageService storageService = mock(StorageService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AvatarService avatarService = new AvatarService(storageService, userRepository,
+                mock(ApplicationEventPublisher.class), mock(TransactionTemplate.class));
+        UserController controller = new UserController(userRepository, mock(UserProfileService.class),
+                mock(KeycloakAdminService.class), mock(UserPrefixIndex.class), avatarService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(userId.toString())
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsImageLargerThanPixelLimit() throws Exception {
+        byte[] png = grayPng(20000, 20000);
+        MockMultipartFile file = new MockMultipartFile("file", "huge.png", "image/png", png);
+
+        mockMvc.perform(multipart("/api/users/me/avatar").file(file))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Avatar exceeds 4096x4096 pixels"));
+
+        verifyNoInteractions(storageService);
+        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * PNG xám 8 bit width x height, toàn điểm đen: nén còn vài chục KB.
+     */
+    private static byte[] grayPng(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' });
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream ihdr = new DataOutputStream(header);
+        ihdr.writeInt(width);
+        ihdr.writeInt(height);
+        ihdr.write(new byte[] { 8, 0, 0, 0, 0 });
+        writeChunk(data, "IHDR", header.toByteArray());
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(new byte[(width + 1) * height]);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] buffer = new byte[64 * 1024];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        writeChunk(data, "IDAT", compressed.toByteArray());
+        writeChunk(data, "IEND", new byte[0]);
+        return out.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] body) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(body);
+        out.writeInt(body.length);
+        out.write(typeBytes);
+        out.write(body);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,331 @@
+package com.mini.socialnetwork.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Chạy các migration Flyway trên MySQL thật, seed dữ liệu và kiểm tra bằng EXPLAIN
+ * rằng mỗi query nóng của các repository dùng index (không full table scan).
+ * <p>
+ * Migration được chạy trên hai database: một database trống ({@code fresh}) và
+ * một database có sẵn schema baseline như DB cũ do ddl-auto tạo
+ * ({@code upgraded}, baseline ở V1 rồi chạy V2+). Hai schema sau migration phải
+ * giống hệt nhau. Các câu SQL bám theo SQL mà Hibernate sinh ra cho repository
+ * method tương ứng. Test bị bỏ qua khi không có Docker.
+ * </p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanIndexTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final String FRESH = "fresh";
+    private static final String UPGRADED = "upgraded";
+
+    private static final String USER = "UNHEX(LPAD(HEX(7), 32, '0'))";
+    private static final String OTHER_USER = "UNHEX(LPAD(HEX(8), 32, '0'))";
+    private static final String POST = "UNHEX(MD5('post7'))";
+    private static final String KC_USER = "'kc-7'";
+
+    private static final List<String> SEED = List.of(
+            "SET SESSION cte_max_recursion_depth = 10000",
+            "CREATE TABLE seq (n INT PRIMARY KEY)",
+            "INSERT INTO seq WITH RECURSIVE s (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM s WHERE n < 2000) "
+                    + "SELECT n FROM s",
+            "INSERT INTO users (id, username, email, name, is_active, created_at, updated_at, "
+                    + "followers_count, following_count) "
+                    + "SELECT UNHEX(LPAD(HEX(n), 32, '0')), CONCAT('user', n), CONCAT('user', n, '@example.com'), "
+                    + "CONCAT('User ', n), 1, NOW(6) - INTERVAL n MINUTE, NOW(6), 0, 0 FROM seq",
+            "INSERT INTO posts (id, author_id, content, comment_count, like_count, is_deleted, created_at, updated_at) "
+                    + "SELECT UNHEX(MD5(CONCAT('post', n))), UNHEX(LPAD(HEX(n % 100), 32, '0')), 'x', 0, 0, "
+                    + "n % 10 = 0, NOW(6) - INTERVAL n MINUTE, NOW(6) FROM seq",
+            "INSERT INTO comments (id, post_id, user_id, content, is_deleted, created_at, updated_at) "
+                    + "SELECT UNHEX(MD5(CONCAT('comment', n))), UNHEX(MD5(CONCAT('post', n % 200))), "
+                    + "UNHEX(LPAD(HEX(n % 100), 32, '0')), 'x', n % 10 = 0, NOW(6) - INTERVAL n MINUTE, NOW(6) FROM seq",
+            "INSERT INTO notifications (id, receiver_id, sender_id, type, post_id, conversation_id, is_read, "
+                    + "actor_count, created_at) "
+                    + "SELECT UNHEX(MD5(CONCAT('notification', n))), UNHEX(LPAD(HEX(n % 100), 32, '0')), "
+                    + "UNHEX(LPAD(HEX((n + 1) % 100), 32, '0')), ELT(n % 4 + 1, 'LIKE', 'COMMENT', 'FOLLOW', 'MESSAGE'), "
+                    + "UNHEX(MD5(CONCAT('post', n % 200))), CAST(n % 50 AS CHAR), n % 3 = 0, 1, "
+                    + "NOW(6) - INTERVAL n MINUTE FROM seq",
+            "INSERT INTO conversations (id, type, name, created_at, updated_at) "
+                    + "SELECT n, 'ONE_TO_ONE', NULL, NOW(6) - INTERVAL n MINUTE, NOW(6) - INTERVAL n SECOND FROM seq",
+            "INSERT INTO conversation_participants (conversation_id, user_id) "
+                    + "SELECT n, CONCAT('kc-', n % 500) FROM seq "
+                    + "UNION ALL SELECT n, CONCAT('kc-', (n + 1) % 500) FROM seq",
+            "INSERT INTO messages (id, conversation_id, sender_id, content, message_type, is_deleted, created_at) "
+                    + "SELECT n, n % 100 + 1, CONCAT('kc-', n % 100), 'x', 'TEXT', 0, NOW(6) - INTERVAL n MINUTE FROM seq",
+            "INSERT INTO conversation_read_receipts (conversation_id, user_id, last_read_message_id, read_at) "
+                    + "SELECT n % 100 + 1, CONCAT('kc-', n), n, NOW(6) FROM seq",
+            "INSERT INTO user_follows (follower_id, following_id, created_at) "
+                    + "SELECT CONCAT('kc-', n % 100), CONCAT('kc-', n DIV 100), NOW(6) - INTERVAL n MINUTE FROM seq",
+            "INSERT INTO user_deletion_jobs (id, user_id, username, status, stage, processed_count, created_at) "
+                    + "SELECT UNHEX(MD5(CONCAT('job', n))), UNHEX(LPAD(HEX(n), 32, '0')), CONCAT('user', n), "
+                    + "IF(n % 100 = 0, 'RUNNING', 'COMPLETED'), 'DONE', 0, NOW(6) FROM seq",
+            "INSERT INTO daily_statistics (metric, stat_date, total) "
+                    + "SELECT ELT(n % 6 + 1, 'POSTS', 'COMMENTS', 'LIKES', 'MESSAGES', 'NEW_USERS', 'FOLLOWS'), "
+                    + "CURDATE() - INTERVAL (n DIV 6) DAY, n FROM seq",
+            "ANALYZE TABLE users, posts, comments, notifications, conversations, conversation_participants, "
+                    + "messages, conversation_read_receipts, user_follows, user_deletion_jobs, daily_statistics");
+
+    /** Dữ liệu có sẵn trong DB cũ trước khi chuyển sang Flyway */
+    private static final List<String> LEGACY_ROWS = List.of(
+            "INSERT INTO users (id, username, email, name, is_active, avatar_url, created_at) "
+                    + "VALUES (UNHEX(LPAD(HEX(9001), 32, '0')), 'legacy', 'legacy@example.com', 'Legacy', 1, "
+                    + "'https://example.com/a.jpg', NOW(6))",
+            "INSERT INTO user_followers (user_id, followers) "
+                    + "VALUES (UNHEX(LPAD(HEX(9001), 32, '0')), UNHEX(LPAD(HEX(9002), 32, '0')))",
+            "INSERT INTO notifications (id, receiver_id, sender_id, type, is_read, created_at) "
+                    + "VALUES (UNHEX(MD5('legacy')), UNHEX(LPAD(HEX(9001), 32, '0')), "
+                    + "UNHEX(LPAD(HEX(9002), 32, '0')), 'LIKE', 0, NOW(6))");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        try (Connection root = DriverManager.getConnection(MYSQL.getJdbcUrl(), "root", MYSQL.getPassword());
+                Statement statement = root.createStatement()) {
+            for (String database : List.of(FRESH, UPGRADED)) {
+                statement.execute("CREATE DATABASE " + database);
+                statement.execute("GRANT ALL ON " + database + ".* TO '" + MYSQL.getUsername() + "'@'%'");
+            }
+        }
+        // DB cũ: schema baseline do ddl-auto tạo (không có flyway_schema_history) cùng dữ liệu sẵn có
+        try (Connection connection = connect(UPGRADED); Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+            for (String sql : LEGACY_ROWS) {
+                statement.execute(sql);
+            }
+        }
+        for (String database : List.of(FRESH, UPGRADED)) {
+            // Cùng cấu hình với spring.flyway.* trong application.properties
+            Flyway.configure()
+                    .dataSource(jdbcUrl(database), MYSQL.getUsername(), MYSQL.getPassword())
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+        }
+        assertLegacyRowsMigrated();
+        for (String database : List.of(FRESH, UPGRADED)) {
+            try (Connection connection = connect(database); Statement statement = connection.createStatement()) {
+                for (String sql : SEED) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    @Test
+    void upgradedSchemaMatchesFreshSchema() throws SQLException {
+        String columns = "SELECT CONCAT_WS(' ', table_name, column_name, column_type, is_nullable, column_default) "
+                + "FROM information_schema.columns WHERE table_schema = DATABASE() "
+                + "AND table_name <> 'flyway_schema_history' ORDER BY 1";
+        String indexes = "SELECT CONCAT_WS(' ', table_name, index_name, non_unique, "
+                + "GROUP_CONCAT(column_name ORDER BY seq_in_index)) "
+                + "FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                + "AND table_name <> 'flyway_schema_history' GROUP BY table_name, index_name, non_unique ORDER BY 1";
+        String tables = "SELECT table_name FROM information_schema.tables WHERE table_schema = DATABASE() "
+                + "AND table_name <> 'flyway_schema_history' ORDER BY 1";
+        for (String sql : List.of(tables, columns, indexes)) {
+            assertEquals(list(FRESH, sql), list(UPGRADED, sql), sql);
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(FRESH, UPGRADED)
+                .flatMap(database -> hotQueriesSql().map(q -> Arguments.of(database, q[0], q[1])));
+    }
+
+    private static Stream<String[]> hotQueriesSql() {
+        return Stream.of(
+                // PostRepository
+                query("posts of author (profile)",
+                        "SELECT * FROM posts WHERE author_id = " + USER
+                                + " AND is_deleted = 0 ORDER BY created_at DESC LIMIT 20"),
+                query("posts of followed authors (feed)",
+                        "SELECT * FROM posts WHERE author_id IN (" + USER + ", " + OTHER_USER
+                                + ") AND is_deleted = 0 ORDER BY created_at DESC LIMIT 20"),
+                query("post ids of author (user deletion)",
+                        "SELECT id FROM posts WHERE author_id = " + USER + " LIMIT 500"),
+                query("active posts count",
+                        "SELECT COUNT(*) FROM posts WHERE is_deleted = 0"),
+                query("active posts after id (search rebuild)",
+                        "SELECT * FROM posts WHERE is_deleted = 0 AND id > " + POST + " ORDER BY id LIMIT 1000"),
+                query("posts keyset page (admin)",
+                        "SELECT * FROM posts WHERE created_at < NOW(6) - INTERVAL 1 HOUR "
+                                + "ORDER BY created_at DESC, id DESC LIMIT 21"),
+                query("posts per day (statistics rebuild)",
+                        "SELECT DATE(created_at), COUNT(*) FROM posts WHERE is_deleted = 0 "
+                                + "AND created_at >= NOW(6) - INTERVAL 1 HOUR AND created_at < NOW(6) "
+                                + "GROUP BY DATE(created_at)"),
+                // CommentRepository
+                query("comments of post",
+                        "SELECT * FROM comments WHERE post_id = " + POST
+                                + " AND is_deleted = 0 ORDER BY created_at DESC LIMIT 20"),
+                query("comment count of post",
+                        "SELECT COUNT(*) FROM comments WHERE post_id = " + POST + " AND is_deleted = 0"),
+                query("comments of user",
+                        "SELECT * FROM comments WHERE user_id = " + USER + " AND is_deleted = 0"),
+                query("comment ids on posts of author (user deletion)",
+                        "SELECT c.id FROM comments c WHERE c.post_id IN "
+                                + "(SELECT p.id FROM posts p WHERE p.author_id = " + USER + ") LIMIT 500"),
+                query("comments per day (statistics rebuild)",
+                        "SELECT DATE(created_at), COUNT(*) FROM comments WHERE is_deleted = 0 "
+                                + "AND created_at >= NOW(6) - INTERVAL 1 HOUR AND created_at < NOW(6) "
+                                + "GROUP BY DATE(created_at)"),
+                // NotificationRepository
+                query("notifications of receiver",
+                        "SELECT * FROM notifications WHERE receiver_id = " + USER
+                                + " ORDER BY created_at DESC LIMIT 20"),
+                query("unread notification count",
+                        "SELECT COUNT(*) FROM notifications WHERE receiver_id = " + USER + " AND is_read = 0"),
+                query("aggregate like notification",
+                        "SELECT * FROM notifications WHERE receiver_id = " + USER + " AND type = 'LIKE' AND post_id = "
+                                + POST + " AND is_read = 0 AND created_at > NOW(6) - INTERVAL 1 HOUR "
+                                + "ORDER BY created_at DESC LIMIT 1"),
+                query("aggregate message notification",
+                        "SELECT * FROM notifications WHERE receiver_id = " + USER
+                                + " AND type = 'MESSAGE' AND conversation_id = '7' AND is_read = 0 "
+                                + "AND created_at > NOW(6) - INTERVAL 1 HOUR ORDER BY created_at DESC LIMIT 1"),
+                query("notification ids of sender (user deletion)",
+                        "SELECT id FROM notifications WHERE sender_id = " + USER + " LIMIT 500"),
+                query("expired notifications (retention)",
+                        "SELECT id FROM notifications WHERE type = 'LIKE' "
+                                + "AND created_at < NOW(6) - INTERVAL 30 HOUR LIMIT 500"),
+                // MessageRepository / ConversationReadReceiptRepository / ConversationRepository
+                query("latest messages of conversation",
+                        "SELECT * FROM messages WHERE conversation_id = 7 ORDER BY id DESC LIMIT 30"),
+                query("messages of conversation before cursor",
+                        "SELECT * FROM messages WHERE conversation_id = 7 AND id < 1500 ORDER BY id DESC LIMIT 30"),
+                query("message ids of sender (user deletion)",
+                        "SELECT id FROM messages WHERE sender_id = " + KC_USER + " LIMIT 500"),
+                query("latest message id for read receipt",
+                        "SELECT m.conversation_id, MAX(m.id) FROM messages m WHERE m.conversation_id = 7 "
+                                + "AND EXISTS (SELECT 1 FROM conversation_participants p "
+                                + "WHERE p.conversation_id = 7 AND p.user_id = " + KC_USER + ") "
+                                + "GROUP BY m.conversation_id"),
+                query("read receipts of user (user deletion)",
+                        "SELECT * FROM conversation_read_receipts WHERE user_id = " + KC_USER),
+                query("conversations of participant",
+                        "SELECT c.* FROM conversations c WHERE " + KC_USER + " IN "
+                                + "(SELECT p.user_id FROM conversation_participants p WHERE c.id = p.conversation_id) "
+                                + "ORDER BY c.updated_at DESC, c.id DESC"),
+                // FollowRepository
+                query("followers page",
+                        "SELECT * FROM user_follows WHERE following_id = " + KC_USER
+                                + " ORDER BY created_at DESC, follower_id DESC LIMIT 21"),
+                query("followers page after cursor",
+                        "SELECT * FROM user_follows WHERE following_id = " + KC_USER
+                                + " AND (created_at < NOW(6) - INTERVAL 1 HOUR OR (created_at = NOW(6) - INTERVAL 1 HOUR "
+                                + "AND follower_id < 'kc-50')) ORDER BY created_at DESC, follower_id DESC LIMIT 21"),
+                query("following page",
+                        "SELECT * FROM user_follows WHERE follower_id = " + KC_USER
+                                + " ORDER BY created_at DESC, following_id DESC LIMIT 21"),
+                query("follower counts of users",
+                        "SELECT following_id, COUNT(*) FROM user_follows WHERE following_id IN ('kc-7', 'kc-8') "
+                                + "GROUP BY following_id"),
+                query("follows chunk of user (user deletion)",
+                        "SELECT * FROM user_follows WHERE follower_id = " + KC_USER + " OR following_id = " + KC_USER
+                                + " LIMIT 500"),
+                // UserRepository
+                query("user by username",
+                        "SELECT * FROM users WHERE username = 'user7'"),
+                query("user summaries by ids",
+                        "SELECT id, username, name, avatar_url FROM users WHERE id IN (" + USER + ", " + OTHER_USER
+                                + ")"),
+                // UserDeletionJobRepository / DailyStatisticRepository
+                query("active deletion job of user",
+                        "SELECT * FROM user_deletion_jobs WHERE user_id = " + USER
+                                + " AND status IN ('PENDING', 'RUNNING') LIMIT 1"),
+                query("deletion jobs by status",
+                        "SELECT * FROM user_deletion_jobs WHERE status IN ('PENDING', 'RUNNING')"),
+                query("statistics series",
+                        "SELECT * FROM daily_statistics WHERE metric = 'POSTS' "
+                                + "AND stat_date BETWEEN CURDATE() - INTERVAL 30 DAY AND CURDATE() ORDER BY stat_date"),
+                query("recomputable statistics (compaction)",
+                        "SELECT * FROM daily_statistics WHERE stat_date >= CURDATE() - INTERVAL 2 DAY "
+                                + "AND stat_date < CURDATE() AND metric <> 'LIKES'"));
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("hotQueries")
+    void queryPlanUsesIndex(String database, String name, String sql) throws SQLException {
+        try (Connection connection = connect(database);
+                Statement statement = connection.createStatement();
+                ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            boolean hasRows = false;
+            while (plan.next()) {
+                hasRows = true;
+                String extra = plan.getString("Extra");
+                if (extra != null && extra.contains("Select tables optimized away")) {
+                    continue; // MIN/MAX đọc thẳng từ index
+                }
+                String table = plan.getString("table");
+                assertNotEquals("ALL", plan.getString("type"), name + ": full scan on " + table);
+                assertNotNull(plan.getString("key"), name + ": no index used on " + table);
+            }
+            assertTrue(hasRows, name + ": empty plan");
+        }
+    }
+
+    private static void assertLegacyRowsMigrated() throws SQLException {
+        assertEquals(List.of("1"), list(UPGRADED, "SELECT actor_count FROM notifications"),
+                "legacy notifications have one actor");
+        assertEquals(List.of("1"), list(UPGRADED, "SELECT unread_count FROM notification_counters"),
+                "unread counters seeded from existing notifications");
+        assertEquals(List.of("https://example.com/a.jpg"), list(UPGRADED, "SELECT avatar_url FROM users"));
+        assertEquals(List.of("varchar(1024)"), list(UPGRADED, "SELECT column_type FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'avatar_url'"));
+        assertFalse(list(UPGRADED, "SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE()").contains("user_followers"), "user_followers dropped");
+    }
+
+    private static String[] query(String name, String sql) {
+        return new String[] { name, sql };
+    }
+
+    private static List<String> list(String database, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = connect(database);
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getString(1));
+            }
+        }
+        return rows;
+    }
+
+    private static String jdbcUrl(String database) {
+        return "jdbc:mysql://" + MYSQL.getHost() + ":" + MYSQL.getMappedPort(MySQLContainer.MYSQL_PORT) + "/"
+                + database;
+    }
+
+    private static Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection(jdbcUrl(database), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
@@ -0,0 +1,93 @@
+package com.mini.socialnetwork.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mini.socialnetwork.modules.notification.entity.Notification;
+import com.mini.socialnetwork.modules.notification.event.PostLikedEvent;
+import com.mini.socialnetwork.modules.notification.repository.NotificationDeadLetterRepository;
+import com.mini.socialnetwork.modules.notification.repository.NotificationRepository;
+import com.mini.socialnetwork.modules.notification.service.NotificationPushService;
+import com.mini.socialnetwork.modules.notification.service.NotificationService;
+import com.mini.socialnetwork.modules.notification.service.NotificationWorker;
+
+/**
+ * Event xử lý trên thread của caller (hàng đợi đầy, ở đây tắt hẳn bằng
+ * {@code queue-capacity=0}) chạy trong listener AFTER_COMMIT: notification phải
+ * được ghi trong transaction mới chứ không nhập vào transaction đã commit.
+ * <p>
+ * Chạy trên MySQL thật (schema từ Flyway); bị bỏ qua khi không có Docker.
+ * </p>
+ */
+@DataJpaTest(properties = "notification.worker.queue-capacity=0")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ NotificationWorker.class, NotificationService.class })
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationWorkerCallerThreadTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @MockBean
+    private NotificationPushService notificationPushService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationDeadLetterRepository deadLetterRepository;
+
+    @Test
+    void notificationProcessedAfterCommitIsPersisted() {
+        UUID senderId = UUID.randomUUID();
+        UUID receiverId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(new PostLikedEvent(
+                senderId.toString(), receiverId.toString(), "Alice", null, UUID.randomUUID().toString())));
+
+        List<Notification> saved = notificationRepository.findAll().stream()
+                .filter(n -> receiverId.equals(n.getReceiverId()))
+                .toList();
+        assertEquals(1, saved.size());
+        assertEquals(senderId, saved.get(0).getSenderId());
+        assertEquals(0, deadLetterRepository.count());
+        verify(notificationPushService).schedulePush(any());
+    }
+}
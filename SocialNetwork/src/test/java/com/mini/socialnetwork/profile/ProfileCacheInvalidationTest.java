@@ -0,0 +1,85 @@
+package com.mini.socialnetwork.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mini.socialnetwork.modules.search.service.SearchIndexService;
+import com.mini.socialnetwork.modules.statistics.service.StatisticsService;
+import com.mini.socialnetwork.modules.user.dto.ProfileResponse;
+import com.mini.socialnetwork.modules.user.entity.User;
+import com.mini.socialnetwork.modules.user.event.UserProfileChangedEvent;
+import com.mini.socialnetwork.modules.user.repository.UserRepository;
+import com.mini.socialnetwork.modules.user.service.UserProfileService;
+
+/**
+ * Profile đọc từ DB trước một cập nhật đồng thời không được ghi vào cache sau
+ * khi {@link UserProfileChangedEvent} đã invalidate (nếu không, bản cũ và ETag
+ * cũ được trả tới hết TTL).
+ */
+class ProfileCacheInvalidationTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserProfileService service = new UserProfileService(userRepository,
+            mock(StatisticsService.class), mock(SearchIndexService.class), mock(ApplicationEventPublisher.class));
+
+    @Test
+    void invalidationDuringLoadIsNotOverwrittenByStaleProfile() throws Exception {
+        ReflectionTestUtils.setField(service, "profileCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "profileCacheTtlSeconds", 600L);
+        ReflectionTestUtils.invokeMethod(service, "initProfileCache");
+
+        User stale = user("Old name", Instant.parse("2026-01-01T00:00:00Z"));
+        User fresh = user("New name", Instant.parse("2026-01-01T00:00:01Z"));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findById(userId))
+                .thenAnswer(invocation -> {
+                    // Reader đã đọc dòng cũ, bị chậm trước khi đưa vào cache
+                    loading.countDown();
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                    return Optional.of(stale);
+                })
+                .thenReturn(Optional.of(fresh));
+
+        CompletableFuture<ProfileResponse> reader = CompletableFuture.supplyAsync(
+                () -> service.getOrCreateProfile(userId.toString(), "alice", "alice@example.com", "Alice"));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Cập nhật commit và invalidate trong lúc reader vẫn đang nạp bản cũ
+        CompletableFuture<Void> invalidation = CompletableFuture.runAsync(
+                () -> service.onUserProfileChanged(new UserProfileChangedEvent(userId)));
+        Thread.sleep(100);
+        release.countDown();
+        assertEquals("Old name", reader.get(5, TimeUnit.SECONDS).name());
+        invalidation.get(5, TimeUnit.SECONDS);
+
+        ProfileResponse next = service.getOrCreateProfile(userId.toString(), "alice", "alice@example.com", "Alice");
+        assertEquals("New name", next.name());
+        assertEquals(ProfileResponse.from(fresh).etag(), next.etag());
+    }
+
+    private User user(String name, Instant updatedAt) {
+        return User.builder()
+                .id(userId)
+                .username("alice")
+                .email("alice@example.com")
+                .name(name)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
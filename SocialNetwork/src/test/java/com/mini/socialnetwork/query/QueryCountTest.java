@@ -0,0 +1,130 @@
+package com.mini.socialnetwork.query;
+
+import static com.mini.socialnetwork.support.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mini.socialnetwork.modules.chat.entity.Conversation;
+import com.mini.socialnetwork.modules.chat.entity.Message;
+import com.mini.socialnetwork.modules.chat.repository.MessageRepository;
+import com.mini.socialnetwork.modules.post.dto.PostResponse;
+import com.mini.socialnetwork.modules.post.entity.Post;
+import com.mini.socialnetwork.modules.post.repository.PostRepository;
+
+/**
+ * Chặn N+1 trên các đường đọc nóng: số câu SQL của một trang không được tăng
+ * theo số phần tử trong trang (lazy collection được nạp theo lô,
+ * {@code hibernate.default_batch_fetch_size}).
+ * <p>
+ * Chạy trên MySQL thật (schema từ Flyway); bị bỏ qua khi không có Docker.
+ * </p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryCountTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final int PAGE_SIZE = 20;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Test
+    void feedPageLoadsLikesAndImagesInBatches() {
+        UUID authorId = UUID.randomUUID();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            entityManager.persist(Post.builder()
+                    .authorId(authorId)
+                    .content("post " + i)
+                    .imageUrls(new ArrayList<>(List.of("https://img.example/" + i)))
+                    .likes(new ArrayList<>(List.of(UUID.randomUUID(), UUID.randomUUID())))
+                    .likeCount(2)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 1 câu cho trang posts + 1 câu cho likes + 1 câu cho imageUrls
+        List<PostResponse> page = assertMaxQueries(3, () -> postRepository
+                .findByAuthorIdInAndIsDeletedFalse(List.of(authorId),
+                        PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")))
+                .map(PostResponse::from)
+                .toList());
+
+        assertEquals(PAGE_SIZE, page.size());
+    }
+
+    @Test
+    void messagePageLoadsAttachmentsInBatches() {
+        Conversation conversation = entityManager.persist(Conversation.builder()
+                .type(Conversation.ConversationType.ONE_TO_ONE)
+                .participantIds(Set.of("kc-1", "kc-2"))
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Message message = Message.builder()
+                    .conversationId(conversation.getId())
+                    .senderId("kc-1")
+                    .content("message " + i)
+                    .messageType(Message.MessageType.ATTACHMENT)
+                    .createdAt(Instant.now())
+                    .build();
+            message.getAttachments().add(Message.Attachment.builder()
+                    .fileName("file" + i + ".txt")
+                    .objectKey("chat/file" + i)
+                    .fileType("text/plain")
+                    .fileSize(1)
+                    .message(message)
+                    .build());
+            entityManager.persist(message);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 1 câu cho trang messages + 1 câu cho attachments (như khi serialize response)
+        int attachments = assertMaxQueries(2, () -> messageRepository
+                .findByConversationIdOrderByIdDesc(conversation.getId(), PageRequest.of(0, PAGE_SIZE))
+                .stream()
+                .mapToInt(message -> message.getAttachments().size())
+                .sum());
+
+        assertEquals(PAGE_SIZE, attachments);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mini.socialnetwork.support;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+import com.mini.socialnetwork.infras.QueryCounter;
+
+/**
+ * Assertion số câu SQL cho test: chạy đoạn code trong một {@link QueryCounter.Scope}
+ * và fail nếu số câu vượt {@code max}, để N+1 mới làm hỏng build.
+ * <p>
+ * Cần {@code hibernate.session_factory.statement_inspector} trỏ tới
+ * {@link QueryCounter} (đã khai báo trong application.properties).
+ * </p>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertMaxQueries(long max, Runnable action) {
+        assertMaxQueries(max, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T assertMaxQueries(long max, Supplier<T> action) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            T result = action.get();
+            assertTrue(scope.count() <= max,
+                    () -> "Expected at most " + max + " SQL statements but " + scope.count() + " were executed");
+            return result;
+        }
+    }
+}